@@ -2,6 +2,7 @@ plugins {
     application
     java
     alias(libs.plugins.gradle.git.properties)
+    alias(libs.plugins.jmh)
     alias(libs.plugins.shadow)
 }
 
@@ -63,6 +64,17 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// ********** benchmarks **********
+
+dependencies {
+    jmhCompileOnly(libs.jetbrains.annotations)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    resultFormat = "JSON"
+}
+
 // ********** git properties **********
 
 gitProperties {
@@ -0,0 +1,133 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class BenchmarkUtil {
+
+    private static final long SEED = 42L;
+    private static final int CLASSES_PER_PACKAGE = 50;
+
+    private BenchmarkUtil() {
+    }
+
+    public static @NotNull String className(final int index) {
+        return "de.donnerbart.benchmark.p" + (index / CLASSES_PER_PACKAGE) + ".Benchmark" + index + "Test";
+    }
+
+    /**
+     * Creates a deterministic synthetic test suite with a long-tail distribution of test times.
+     */
+    public static @NotNull Set<TestCase> createTestCases(final int testCount) {
+        final var random = new Random(SEED);
+        final var testCases = new HashSet<TestCase>(testCount * 2);
+        for (int i = 0; i < testCount; i++) {
+            testCases.add(new TestCase(className(i), testTime(random)));
+        }
+        return testCases;
+    }
+
+    /**
+     * Writes a synthetic test source file for each test class and returns the written paths.
+     */
+    public static @NotNull Set<Path> createTestSources(final @NotNull Path rootPath, final int testCount)
+            throws IOException {
+        final var paths = new HashSet<Path>(testCount * 2);
+        for (int i = 0; i < testCount; i++) {
+            final var packageName = "de.donnerbart.benchmark.p" + (i / CLASSES_PER_PACKAGE);
+            final var simpleName = "Benchmark" + i + "Test";
+            final var directory = rootPath.resolve(packageName.replace('.', '/'));
+            Files.createDirectories(directory);
+            final var path = directory.resolve(simpleName + ".java");
+            Files.writeString(path, """
+                    package %s;
+
+                    import org.junit.jupiter.api.Test;
+
+                    import static org.assertj.core.api.Assertions.assertThat;
+
+                    class %s {
+
+                        @Test
+                        void first() {
+                            assertThat(1 + 1).isEqualTo(2);
+                        }
+
+                        @Test
+                        void second() {
+                            assertThat("split").hasSize(5);
+                        }
+                    }
+                    """.formatted(packageName, simpleName));
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    /**
+     * Writes a synthetic JUnit report for each test class and returns the written paths.
+     */
+    public static @NotNull Set<Path> createJUnitReports(final @NotNull Path rootPath, final int testCount)
+            throws IOException {
+        final var random = new Random(SEED);
+        final var paths = new HashSet<Path>(testCount * 2);
+        Files.createDirectories(rootPath);
+        for (int i = 0; i < testCount; i++) {
+            final var className = className(i);
+            final var time = testTime(random);
+            final var path = rootPath.resolve("TEST-" + className + ".xml");
+            Files.writeString(path, """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <testsuite name="%s" tests="2" skipped="0" failures="0" errors="0" time="%.3f">
+                      <properties/>
+                      <testcase name="first()" classname="%s" time="%.3f"/>
+                      <testcase name="second()" classname="%s" time="%.3f"/>
+                      <system-out><![CDATA[%s]]></system-out>
+                      <system-err><![CDATA[]]></system-err>
+                    </testsuite>
+                    """.formatted(className,
+                    time,
+                    className,
+                    time / 2d,
+                    className,
+                    time / 2d,
+                    "INFO some log output of the test\n".repeat(100)));
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    public static void deleteRecursively(final @NotNull Path rootPath) throws IOException {
+        Files.walkFileTree(rootPath, new SimpleFileVisitor<>() {
+            @Override
+            public @NotNull FileVisitResult visitFile(
+                    final @NotNull Path path,
+                    final @NotNull BasicFileAttributes attributes) throws IOException {
+                Files.delete(path);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public @NotNull FileVisitResult postVisitDirectory(final @NotNull Path path, final IOException e)
+                    throws IOException {
+                Files.delete(path);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static double testTime(final @NotNull Random random) {
+        // most tests are fast, a few are very slow
+        return Math.round(Math.exp(random.nextGaussian() * 1.5d + 1d) * 1000d) / 1000d;
+    }
+}
@@ -0,0 +1,85 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TestLoaderBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int testCount;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Path rootPath;
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Set<Path> testPaths;
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Set<Path> junitPaths;
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Set<String> classNames;
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Path cacheFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        rootPath = Files.createTempDirectory("split-tests-java-benchmark");
+        testPaths = BenchmarkUtil.createTestSources(rootPath.resolve("src"), testCount);
+        junitPaths = BenchmarkUtil.createJUnitReports(rootPath.resolve("reports"), testCount);
+        classNames = fileToClassName();
+        cacheFile = rootPath.resolve("cache").resolve("test-classes.cache");
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        TestLoader.fileToClassName(testPaths, exitCode -> {
+            throw new IllegalStateException("Unexpected exit code " + exitCode);
+        }, threads, testClassCache);
+        testClassCache.save();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkUtil.deleteRecursively(rootPath);
+    }
+
+    @Benchmark
+    public @NotNull Set<String> fileToClassName() {
+        return TestLoader.fileToClassName(testPaths, exitCode -> {
+            throw new IllegalStateException("Unexpected exit code " + exitCode);
+        }, threads, null);
+    }
+
+    @Benchmark
+    public @NotNull Set<String> fileToClassName_withCache() {
+        return TestLoader.fileToClassName(testPaths, exitCode -> {
+            throw new IllegalStateException("Unexpected exit code " + exitCode);
+        }, threads, TestClassCache.load(cacheFile, false));
+    }
+
+    @Benchmark
+    public @NotNull Set<TestCase> loadJUnitReports() throws Exception {
+        return TestLoader.loadJUnitReports(junitPaths, classNames, threads);
+    }
+}
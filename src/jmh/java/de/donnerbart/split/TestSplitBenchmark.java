@@ -0,0 +1,47 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.Splits;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TestSplitBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int testCount;
+
+    @Param({"2", "10", "100", "1000"})
+    private int splitTotal;
+
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull Set<TestCase> testCases;
+
+    @Setup
+    public void setUp() {
+        testCases = BenchmarkUtil.createTestCases(testCount);
+    }
+
+    @Benchmark
+    public @NotNull Splits split() {
+        return new TestSplit(testCases, splitTotal, FormatOption.LIST, false).split();
+    }
+}
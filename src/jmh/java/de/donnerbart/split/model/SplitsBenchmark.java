@@ -0,0 +1,65 @@
+package de.donnerbart.split.model;
+
+import de.donnerbart.split.BenchmarkUtil;
+import de.donnerbart.split.FormatOption;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SplitsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int testCount;
+
+    @Param({"2", "10", "100", "1000"})
+    private int splitTotal;
+
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull TestCase @NotNull [] sortedTestCases;
+
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    private @NotNull TestTable table;
+
+    @Setup
+    public void setUp() {
+        final var testCases = BenchmarkUtil.createTestCases(testCount);
+        sortedTestCases = testCases.stream().sorted(Comparator.reverseOrder()).toArray(TestCase[]::new);
+        table = TestTable.of(testCases);
+    }
+
+    @Benchmark
+    public @NotNull Splits add() {
+        final var splits = new Splits(splitTotal, FormatOption.LIST);
+        for (final var testCase : sortedTestCases) {
+            splits.add(testCase);
+        }
+        return splits;
+    }
+
+    @Benchmark
+    public @NotNull Splits addById() {
+        final var splits = new Splits(table, splitTotal, FormatOption.LIST, CostModel.NONE, null);
+        for (int id = 0; id < table.size(); id++) {
+            splits.add(id);
+        }
+        return splits;
+    }
+}
@@ -3,12 +3,16 @@ package de.donnerbart.split;
 import com.beust.jcommander.IDefaultProvider;
 import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.IParameterSplitter;
 import com.beust.jcommander.converters.PathConverter;
+import de.donnerbart.split.model.CostModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 class Arguments {
 
@@ -25,15 +29,17 @@ class Arguments {
     int splitTotal;
 
     @Parameter(names = {"--glob", "-g"},
-               description = "Glob pattern to find test files. Make sure to single-quote the pattern to avoid shell expansion.",
+               description = "Glob pattern to find test files (Java source files or compiled class files). Can be used multiple times. Make sure to single-quote the pattern to avoid shell expansion.",
+               splitter = NoParameterSplitter.class,
                required = true,
                order = 2)
     @SuppressWarnings("NotNullFieldNotInitialized")
-    @NotNull String glob;
+    @NotNull List<String> globs;
 
     @Parameter(names = {"--exclude-glob", "-e"},
-               description = "Glob pattern to exclude test files. Make sure to single-quote the pattern to avoid shell expansion.")
-    @Nullable String excludeGlob;
+               description = "Glob pattern to exclude test files. Can be used multiple times. Make sure to single-quote the pattern to avoid shell expansion.",
+               splitter = NoParameterSplitter.class)
+    @NotNull List<String> excludeGlobs = new ArrayList<>();
 
     @Parameter(names = {"--junit-glob", "-j"},
                description = "Glob pattern to find JUnit reports. Make sure to single-quote the pattern to avoid shell expansion.")
@@ -42,6 +48,20 @@ class Arguments {
     @Parameter(names = {"--format", "-f"}, description = "The output format.", converter = FormatOptionConverter.class)
     @NotNull FormatOption formatOption = FormatOption.LIST;
 
+    @Parameter(names = {"--output-file", "-o"},
+               description = "Writes the test split to this file with one entry per line, instead of printing it.",
+               converter = PathConverter.class)
+    @Nullable Path outputFile;
+
+    @Parameter(names = {"--output-file-format"},
+               description = "The format of the --output-file.",
+               converter = OutputFileOptionConverter.class)
+    @NotNull OutputFileOption outputFileOption = OutputFileOption.LIST;
+
+    @Parameter(names = {"--compact-packages"},
+               description = "Replaces the test classes of packages, which are completely in this test split, by a package wildcard like com.example.*. Cannot be used with --exclude-glob or --git-index, since the wildcard would match the excluded tests.")
+    boolean compactPackages = false;
+
     @Deprecated
     @Parameter(names = {"--average-time", "-a"},
                description = "This option is deprecated and should no longer be used. Use --newTestTimeOption instead.",
@@ -59,6 +79,82 @@ class Arguments {
     @SuppressWarnings("NotNullFieldNotInitialized")
     @NotNull Path workingDirectory;
 
+    @Parameter(names = {"--timing-index"},
+               description = "The timing index with the recorded test times (see the index command). Replaces --junit-glob.",
+               converter = PathConverter.class)
+    @Nullable Path timingIndex;
+
+    @Parameter(names = {"--test-overhead"},
+               description = "The fixed overhead in seconds of each test class, e.g. class loading or Spring context setup.")
+    double testOverhead = 0;
+
+    @Parameter(names = {"--split-overhead"},
+               description = "The fixed overhead in seconds of each split, e.g. JVM and Gradle startup.")
+    double splitOverhead = 0;
+
+    @Parameter(names = {"--split-weights"},
+               description = "The comma separated relative speeds of the runners of all splits, e.g. 1,1,2 if the third runner is twice as fast. Defaults to equally fast runners.")
+    @Nullable List<Double> splitWeights;
+
+    @Parameter(names = {"--method-split-threshold"},
+               description = "Splits test classes with a recorded time above this threshold in seconds into groups of test methods (requires --junit-glob). Disabled by default.")
+    double methodSplitThreshold = 0;
+
+    @Parameter(names = {"--threads", "-p"},
+               description = "The number of threads to walk the working directory and to parse the test files and JUnit reports.")
+    int threads = 1;
+
+    @Parameter(names = {"--pipeline"},
+               description = "Walks the working directory, parses the test files and reads the JUnit reports concurrently in a pipeline of bounded queues. Only these stages overlap: the class names, the recorded times and, with --method-split-threshold, the test files are collected before the tests are split.")
+    boolean pipeline = false;
+
+    @Parameter(names = {"--git-index"},
+               description = "Finds the test files in the index of the git repository instead of walking the working directory. Untracked test files are not found. Falls back to walking the working directory without a git index.")
+    boolean gitIndex = false;
+
+    @Parameter(names = {"--cache-file"},
+               description = "The cache file for the discovered test classes. Unchanged test files are not parsed again.",
+               converter = PathConverter.class)
+    @Nullable Path cacheFile;
+
+    @Parameter(names = {"--cache-content-hash"},
+               description = "Validates the cached test classes by the content hash of the test files instead of their modification time.")
+    boolean cacheContentHash = false;
+
+    @Parameter(names = {"--refine-steps"},
+               description = "The maximum number of moves and swaps of tests of the slowest split to refine the test split. Disabled by default.")
+    int refineSteps = 0;
+
+    @Parameter(names = {"--refine-time-budget"},
+               description = "The time budget in milliseconds of the --refine-steps. The test split fails with exit code 1 if the refinement takes longer. Unlimited by default.")
+    int refineTimeBudget = 0;
+
+    @Parameter(names = {"--refine-seed"}, description = "The random seed to refine the test split.")
+    long refineSeed = 0;
+
+    @Parameter(names = {"--plan-output"},
+               description = "Writes all test splits with their predicted times to this test plan file (see the consume command).",
+               converter = PathConverter.class)
+    @Nullable Path planOutput;
+
+    @Parameter(names = {"--metrics"},
+               description = "Writes the durations, file counts, read bytes and allocated bytes of the phases as JSON to this file.",
+               converter = PathConverter.class)
+    @Nullable Path metrics;
+
+    @Parameter(names = {"--pool-directory"},
+               description = "Shares the fastest tests of all splits in this directory on a shared filesystem (see the claim command).",
+               converter = PathConverter.class)
+    @Nullable Path poolDirectory;
+
+    @Parameter(names = {"--pool-run-id"},
+               description = "The unique id of this run of all splits, e.g. the pipeline id. Required by --pool-directory, which keeps the tests of each run separately.")
+    @Nullable String poolRunId;
+
+    @Parameter(names = {"--pool-share"},
+               description = "The share of the predicted time of a split, which is not published to the --pool-directory.")
+    double poolShare = 0.8;
+
     @Parameter(names = {"--calculate-optimal-total-split", "-c"},
                description = "Calculates the optimal test split (only on the first split index). Logs a warning if --split-total does not match.")
     boolean calculateOptimalTotalSplit = false;
@@ -70,6 +166,10 @@ class Arguments {
     @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
     boolean debug = false;
 
+    @NotNull CostModel costModel() {
+        return new CostModel(testOverhead, splitOverhead);
+    }
+
     public static class FormatOptionConverter implements IStringConverter<FormatOption> {
 
         @Override
@@ -81,6 +181,17 @@ class Arguments {
         }
     }
 
+    public static class OutputFileOptionConverter implements IStringConverter<OutputFileOption> {
+
+        @Override
+        public @NotNull OutputFileOption convert(final @NotNull String value) {
+            return Arrays.stream(OutputFileOption.values())
+                    .filter(option -> option.toString().equals(value))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
     public static class NewTestTimeOptionConverter implements IStringConverter<NewTestTimeOption> {
 
         @Override
@@ -92,6 +203,14 @@ class Arguments {
         }
     }
 
+    public static class NoParameterSplitter implements IParameterSplitter {
+
+        @Override
+        public @NotNull List<String> split(final @NotNull String value) {
+            return List.of(value);
+        }
+    }
+
     public static class WorkingDirectoryOptionConverter extends PathConverter {
 
         public WorkingDirectoryOptionConverter(final @NotNull String optionName) {
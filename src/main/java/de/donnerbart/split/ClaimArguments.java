@@ -0,0 +1,50 @@
+package de.donnerbart.split;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.PathConverter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+class ClaimArguments {
+
+    @Parameter(names = {"--help", "-h"}, description = "Prints the usage.", help = true)
+    boolean help;
+
+    @Parameter(names = {"--split-index", "-i"}, description = "This test split index.", required = true, order = 0)
+    int splitIndex;
+
+    @Parameter(names = {"--pool-directory"},
+               description = "The directory of the tail pool (see --pool-directory of the test split).",
+               converter = PathConverter.class,
+               required = true,
+               order = 1)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path poolDirectory;
+
+    @Parameter(names = {"--pool-run-id"},
+               description = "The unique id of this run of all splits (see --pool-run-id of the test split).",
+               required = true,
+               order = 2)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull String poolRunId;
+
+    @Parameter(names = {"--format", "-f"},
+               description = "The output format.",
+               converter = Arguments.FormatOptionConverter.class)
+    @NotNull FormatOption formatOption = FormatOption.LIST;
+
+    @Parameter(names = {"--batch-size"}, description = "The number of test classes to claim.")
+    int batchSize = 1;
+
+    @Parameter(names = {"--lease-timeout"},
+               description = "The time in seconds a split has to run its claimed tests before it claims the next tests. Afterward, the tests are claimed by another split. Must be the same for all splits.")
+    int leaseTimeout = 3600;
+
+    @Parameter(names = {"--wait-timeout"},
+               description = "The maximum time in seconds to wait for the claimed tests of other splits after the tail pool is empty. Afterward, the command fails.")
+    int waitTimeout = 900;
+
+    @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
+    boolean debug = false;
+}
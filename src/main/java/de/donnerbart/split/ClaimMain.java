@@ -0,0 +1,104 @@
+package de.donnerbart.split;
+
+import ch.qos.logback.classic.Level;
+import com.beust.jcommander.JCommander;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static de.donnerbart.split.util.FormatUtil.formatTime;
+
+/**
+ * Claims the next tests from a {@link TailPool} and prints them, or nothing if the tail pool is empty and no tests are
+ * claimed by other splits.
+ */
+public class ClaimMain {
+
+    static final @NotNull String COMMAND = "claim";
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(ClaimMain.class);
+
+    private ClaimMain() {
+    }
+
+    @VisibleForTesting
+    static @Nullable List<String> run(
+            final @NotNull Consumer<Integer> exitConsumer,
+            final @Nullable String @NotNull [] args) throws Exception {
+        final var arguments = new ClaimArguments();
+        final var jCommander = JCommander.newBuilder().programName(COMMAND).addObject(arguments).build();
+        jCommander.parse(args);
+        if (arguments.help) {
+            jCommander.usage();
+            exitConsumer.accept(0);
+            return null;
+        }
+        if (arguments.debug) {
+            final var root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.setLevel(Level.DEBUG);
+        }
+        if (arguments.batchSize < 1) {
+            LOG.error("--batch-size must be greater than 0");
+            exitConsumer.accept(1);
+            return null;
+        }
+        if (arguments.leaseTimeout < 1) {
+            LOG.error("--lease-timeout must be greater than 0");
+            exitConsumer.accept(1);
+            return null;
+        }
+        if (arguments.waitTimeout < 0) {
+            LOG.error("--wait-timeout must not be negative");
+            exitConsumer.accept(1);
+            return null;
+        }
+        if (!TailPool.isValidRunId(arguments.poolRunId)) {
+            LOG.error("--pool-run-id must only contain letters, digits, dots, underscores and hyphens");
+            exitConsumer.accept(1);
+            return null;
+        }
+        final var tailPool = new TailPool(arguments.poolDirectory, arguments.poolRunId);
+        final var leaseTimeout = Duration.ofSeconds(arguments.leaseTimeout);
+        List<TestCase> testCases;
+        try {
+            // the tests of other splits are claimed again, if their leases expire
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(arguments.waitTimeout);
+            while ((testCases = tailPool.claim(arguments.splitIndex, arguments.batchSize, leaseTimeout)) == null) {
+                if (System.nanoTime() - deadline >= 0) {
+                    LOG.error("The tests of other splits are still claimed after the --wait-timeout of {} s",
+                            arguments.waitTimeout);
+                    exitConsumer.accept(1);
+                    return null;
+                }
+                LOG.debug("Waiting for the claimed tests of other splits");
+                TimeUnit.SECONDS.sleep(1);
+            }
+        } catch (final Exception e) {
+            LOG.error("Failed to claim tests from tail pool {}", arguments.poolDirectory, e);
+            exitConsumer.accept(1);
+            return null;
+        }
+        if (testCases.isEmpty()) {
+            LOG.info("The tail pool is empty");
+            return List.of();
+        }
+        final var tests = testCases.stream()
+                .flatMap(testCase -> testCase.tests().stream())
+                .map(arguments.formatOption::format)
+                .distinct()
+                .toList();
+        LOG.info("Claimed {} tests ({}) from the tail pool",
+                testCases.size(),
+                formatTime(testCases.stream().mapToDouble(TestCase::time).sum()));
+        System.out.print(String.join(arguments.formatOption.delimiter(), tests));
+        return tests;
+    }
+}
@@ -0,0 +1,264 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans a compiled Java class file for the class name, the access flags and the class annotations, without loading the
+ * class.
+ * <p>
+ * Only the constant pool, the access flags and the class attributes are read; the fields and methods are skipped. The
+ * annotations are returned with their fully qualified names, e.g. {@code org.junit.jupiter.api.Disabled}.
+ */
+class ClassFileScanner {
+
+    private static final int MAGIC = 0xcafebabe;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * @param className   the fully qualified class name, with {@code $} as separator of nested classes
+     * @param isNested    {@code true} for a nested, local or anonymous class, which is run by its enclosing class
+     * @param annotations the fully qualified names of the visible and invisible class annotations
+     */
+    record Header(
+            @NotNull String className,
+            boolean isInterface,
+            boolean isAbstract,
+            boolean isNested,
+            @NotNull List<String> annotations) {
+    }
+
+    private final @NotNull Path path;
+    private final @NotNull ByteBuffer buffer;
+    /**
+     * The offsets of the constant pool entries in the class file, or {@code 0} for unused indexes.
+     */
+    private int @NotNull [] constantOffsets = new int[0];
+
+    private ClassFileScanner(final @NotNull Path path, final @NotNull ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the header of the given class file.
+     *
+     * @throws IOException if the file is not a valid class file
+     */
+    static @NotNull Header scan(final @NotNull Path path) throws IOException {
+        final var scanner = new ClassFileScanner(path, ByteBuffer.wrap(Files.readAllBytes(path)));
+        try {
+            return scanner.scan();
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated class file " + path, e);
+        }
+    }
+
+    private @NotNull Header scan() throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Invalid class file " + path);
+        }
+        // minor and major version
+        buffer.getInt();
+        readConstantPool();
+        final var accessFlags = readU2();
+        final var thisClass = readU2();
+        final var className = className(thisClass);
+        // super class
+        readU2();
+        final var interfaceCount = readU2();
+        skip(2 * interfaceCount);
+        skipMembers();
+        skipMembers();
+        var isNested = false;
+        final var annotations = new ArrayList<String>();
+        final var attributeCount = readU2();
+        for (int i = 0; i < attributeCount; i++) {
+            final var name = utf8(readU2());
+            final var length = buffer.getInt();
+            final var end = buffer.position() + length;
+            switch (name) {
+                case "RuntimeVisibleAnnotations", "RuntimeInvisibleAnnotations" -> readAnnotations(annotations);
+                case "InnerClasses" -> isNested |= isInnerClass(thisClass);
+                default -> {
+                }
+            }
+            buffer.position(end);
+        }
+        return new Header(className,
+                (accessFlags & ACC_INTERFACE) != 0,
+                (accessFlags & ACC_ABSTRACT) != 0,
+                isNested,
+                annotations);
+    }
+
+    private void readConstantPool() throws IOException {
+        final var count = readU2();
+        constantOffsets = new int[count];
+        for (int i = 1; i < count; i++) {
+            constantOffsets[i] = buffer.position();
+            final var tag = Byte.toUnsignedInt(buffer.get());
+            switch (tag) {
+                case CONSTANT_UTF8 -> skip(readU2());
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(2);
+                case CONSTANT_METHOD_HANDLE -> skip(3);
+                case CONSTANT_INTEGER,
+                     CONSTANT_FLOAT,
+                     CONSTANT_FIELDREF,
+                     CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF,
+                     CONSTANT_NAME_AND_TYPE,
+                     CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> skip(4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    // 8-byte constants take up two entries
+                    skip(8);
+                    i++;
+                }
+                default -> throw new IOException("Invalid constant pool tag " + tag + " in class file " + path);
+            }
+        }
+    }
+
+    /**
+     * Skips the fields or methods, which have the same structure.
+     */
+    private void skipMembers() {
+        final var count = readU2();
+        for (int i = 0; i < count; i++) {
+            // access flags, name and descriptor
+            skip(6);
+            final var attributeCount = readU2();
+            for (int j = 0; j < attributeCount; j++) {
+                skip(2);
+                skip(buffer.getInt());
+            }
+        }
+    }
+
+    private void readAnnotations(final @NotNull List<String> annotations) throws IOException {
+        final var count = readU2();
+        for (int i = 0; i < count; i++) {
+            annotations.add(descriptorToClassName(utf8(readU2())));
+            skipElementValuePairs();
+        }
+    }
+
+    private void skipAnnotation() {
+        // type
+        skip(2);
+        skipElementValuePairs();
+    }
+
+    private void skipElementValuePairs() {
+        final var count = readU2();
+        for (int i = 0; i < count; i++) {
+            // name
+            skip(2);
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        final var tag = (char) buffer.get();
+        switch (tag) {
+            case 'e' -> skip(4);
+            case '@' -> skipAnnotation();
+            case '[' -> {
+                final var count = readU2();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue();
+                }
+            }
+            // a constant or a class
+            default -> skip(2);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the InnerClasses attribute has an entry for the given class, so it's not top-level.
+     */
+    private boolean isInnerClass(final int thisClass) {
+        final var count = readU2();
+        for (int i = 0; i < count; i++) {
+            final var innerClass = readU2();
+            // outer class, name and access flags
+            skip(6);
+            if (innerClass == thisClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private @NotNull String className(final int index) throws IOException {
+        final var offset = constantOffset(index, CONSTANT_CLASS);
+        return utf8(Short.toUnsignedInt(buffer.getShort(offset + 1))).replace('/', '.');
+    }
+
+    private @NotNull String utf8(final int index) throws IOException {
+        final var offset = constantOffset(index, CONSTANT_UTF8);
+        final var length = Short.toUnsignedInt(buffer.getShort(offset + 1));
+        // the length and the modified UTF-8 bytes are the format of DataInput.readUTF()
+        final var input = new DataInputStream(new ByteArrayInputStream(buffer.array(), offset + 1, length + 2));
+        return input.readUTF();
+    }
+
+    private int constantOffset(final int index, final int tag) throws IOException {
+        if (index <= 0 || index >= constantOffsets.length || constantOffsets[index] == 0) {
+            throw new IOException("Invalid constant pool index " + index + " in class file " + path);
+        }
+        final var offset = constantOffsets[index];
+        if (Byte.toUnsignedInt(buffer.get(offset)) != tag) {
+            throw new IOException("Unexpected constant pool entry " + index + " in class file " + path);
+        }
+        return offset;
+    }
+
+    private int readU2() {
+        return Short.toUnsignedInt(buffer.getShort());
+    }
+
+    private void skip(final int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Converts a field descriptor like {@code Lorg/junit/Ignore;} to a class name like {@code org.junit.Ignore}.
+     */
+    private static @NotNull String descriptorToClassName(final @NotNull String descriptor) {
+        if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+}
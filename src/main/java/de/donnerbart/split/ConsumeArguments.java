@@ -0,0 +1,27 @@
+package de.donnerbart.split;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.PathConverter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+class ConsumeArguments {
+
+    @Parameter(names = {"--help", "-h"}, description = "Prints the usage.", help = true)
+    boolean help;
+
+    @Parameter(names = {"--split-index", "-i"}, description = "This test split index.", required = true, order = 0)
+    int splitIndex;
+
+    @Parameter(names = {"--plan"},
+               description = "The test plan file (see --plan-output).",
+               converter = PathConverter.class,
+               required = true,
+               order = 1)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path plan;
+
+    @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
+    boolean debug = false;
+}
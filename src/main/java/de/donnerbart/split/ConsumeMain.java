@@ -0,0 +1,57 @@
+package de.donnerbart.split;
+
+import ch.qos.logback.classic.Level;
+import com.beust.jcommander.JCommander;
+import de.donnerbart.split.model.Split;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+import static de.donnerbart.split.util.FormatUtil.formatTime;
+
+/**
+ * Prints a single test split from a {@link TestPlan}, without looking at the test files or JUnit reports.
+ */
+public class ConsumeMain {
+
+    static final @NotNull String COMMAND = "consume";
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(ConsumeMain.class);
+
+    private ConsumeMain() {
+    }
+
+    @VisibleForTesting
+    static @Nullable Split run(final @NotNull Consumer<Integer> exitConsumer, final @Nullable String @NotNull [] args)
+            throws Exception {
+        final var arguments = new ConsumeArguments();
+        final var jCommander = JCommander.newBuilder().programName(COMMAND).addObject(arguments).build();
+        jCommander.parse(args);
+        if (arguments.help) {
+            jCommander.usage();
+            exitConsumer.accept(0);
+            return null;
+        }
+        if (arguments.debug) {
+            final var root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.setLevel(Level.DEBUG);
+        }
+        LOG.info("Split index {}", arguments.splitIndex);
+        LOG.info("Test plan: {}", arguments.plan);
+        final Split split;
+        try {
+            split = TestPlan.read(arguments.plan, arguments.splitIndex);
+        } catch (final Exception e) {
+            LOG.error("Failed to read test plan {}", arguments.plan, e);
+            exitConsumer.accept(1);
+            return null;
+        }
+        LOG.info("This test split has {} tests ({})", split.testCount(), formatTime(split.predictedTime()));
+        System.out.print(String.join(split.formatOption().delimiter(), split.sortedTests()));
+        return split;
+    }
+}
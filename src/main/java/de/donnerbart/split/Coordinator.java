@@ -0,0 +1,251 @@
+package de.donnerbart.split;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves the tests to runners, which ask for the next batch of tests until all tests are served.
+ * <p>
+ * The slowest tests are served first, so the fast tests at the end can absorb the variance of the runners.
+ * <p>
+ * The protocol is a single HTTP endpoint: {@code GET /next?ack=<lease id>} returns the next batch of tests as
+ * {@code text/plain}, one test class or test filter per line, with the id of its lease in the {@code Lease-Id} header,
+ * or {@code 204 No Content} if all tests have been served.
+ * <p>
+ * Each batch is leased until the runner acknowledges it with the lease id in its next request. If the response of a
+ * request was lost, the runner retries with the same acknowledged lease id and gets the same batch again, so a batch is
+ * never acknowledged without being received. If a runner doesn't ask again within the lease timeout, e.g. because it
+ * died, its batch is served to another runner. As long as all tests have been served, but some batches are still
+ * leased, the other runners get a {@code 503 Service Unavailable} with a {@code Retry-After} header, so they can pick
+ * up a batch of a dead runner.
+ * <p>
+ * This class is thread-safe.
+ */
+class Coordinator implements AutoCloseable {
+
+    static final @NotNull String NEXT_PATH = "/next";
+    static final @NotNull String ACKNOWLEDGE_PARAMETER = "ack";
+    static final @NotNull String LEASE_HEADER = "Lease-Id";
+    static final int RETRY_AFTER_SECONDS = 1;
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(Coordinator.class);
+
+    private final @NotNull PriorityQueue<TestCase> queue;
+    private final int batchSize;
+    private final long leaseTimeoutNanos;
+    private final @NotNull LongSupplier nanoTime;
+    private final @NotNull Map<String, Lease> leases = new HashMap<>();
+    /**
+     * The lease, which was served with the acknowledgement of a lease, by the id of the acknowledged lease.
+     */
+    private final @NotNull Map<String, String> nextLeases = new HashMap<>();
+    private long leaseCount;
+    private final @NotNull CountDownLatch drained = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    Coordinator(
+            final @NotNull Collection<TestCase> testCases,
+            final int batchSize,
+            final @NotNull Duration leaseTimeout) {
+        this(testCases, batchSize, leaseTimeout, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    Coordinator(
+            final @NotNull Collection<TestCase> testCases,
+            final int batchSize,
+            final @NotNull Duration leaseTimeout,
+            final @NotNull LongSupplier nanoTime) {
+        this.queue = new PriorityQueue<>(Math.max(testCases.size(), 1), Comparator.reverseOrder());
+        this.queue.addAll(testCases);
+        this.batchSize = batchSize;
+        this.leaseTimeoutNanos = leaseTimeout.toNanos();
+        this.nanoTime = nanoTime;
+        if (queue.isEmpty()) {
+            drained.countDown();
+        }
+    }
+
+    /**
+     * A batch of tests.
+     *
+     * @param leaseId the id of the lease, which acknowledges the batch with the next request, or {@code null} if all
+     *                tests have been served
+     */
+    record Batch(@Nullable String leaseId, @NotNull List<TestCase> tests) {
+    }
+
+    /**
+     * Acknowledges the given lease and leases the next batch of tests, the slowest test first. If the lease was already
+     * acknowledged and its next batch is still leased, the request is a retry and the same batch is returned again.
+     *
+     * @param acknowledgedLeaseId the id of the previous lease of the runner, or {@code null} for the first request
+     * @return the next batch of tests, an empty batch if all tests have been served and acknowledged, or {@code null}
+     * if all tests have been served, but some batches are still leased to other runners
+     */
+    synchronized @Nullable Batch nextBatch(final @Nullable String acknowledgedLeaseId) {
+        final var now = nanoTime.getAsLong();
+        if (acknowledgedLeaseId != null && leases.remove(acknowledgedLeaseId) == null) {
+            final var nextLeaseId = nextLeases.get(acknowledgedLeaseId);
+            final var nextLease = nextLeaseId != null ? leases.get(nextLeaseId) : null;
+            if (nextLease != null) {
+                LOG.info("Serving the tests of lease {} again, since its response was not received", nextLeaseId);
+                leases.put(nextLeaseId, new Lease(nextLease.batch(), now + leaseTimeoutNanos));
+                return new Batch(nextLeaseId, nextLease.batch());
+            }
+        }
+        requeueExpiredLeases(now);
+        if (queue.isEmpty()) {
+            if (leases.isEmpty()) {
+                drained.countDown();
+                return new Batch(null, List.of());
+            }
+            return null;
+        }
+        final var batch = new ArrayList<TestCase>(Math.min(batchSize, queue.size()));
+        while (batch.size() < batchSize && !queue.isEmpty()) {
+            batch.add(queue.remove());
+        }
+        final var leaseId = Long.toString(++leaseCount);
+        leases.put(leaseId, new Lease(batch, now + leaseTimeoutNanos));
+        if (acknowledgedLeaseId != null) {
+            nextLeases.put(acknowledgedLeaseId, leaseId);
+        }
+        return new Batch(leaseId, batch);
+    }
+
+    synchronized int remaining() {
+        return queue.size();
+    }
+
+    synchronized int leased() {
+        return leases.size();
+    }
+
+    private void requeueExpiredLeases(final long now) {
+        final var iterator = leases.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (now - entry.getValue().expiresAt() >= 0) {
+                LOG.warn("The lease {} expired, serving its {} tests again",
+                        entry.getKey(),
+                        entry.getValue().batch().size());
+                queue.addAll(entry.getValue().batch());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Starts the HTTP server on the given address. Use port {@code 0} to bind to a free port.
+     */
+    synchronized void start(final @NotNull InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The coordinator is already started");
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext(NEXT_PATH, this::handleNext);
+        server.start();
+    }
+
+    synchronized int port() {
+        if (server == null) {
+            throw new IllegalStateException("The coordinator is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Waits until all tests have been served and acknowledged.
+     *
+     * @return {@code true} if all tests have been served and acknowledged, {@code false} if the timeout elapsed before
+     */
+    boolean awaitDrained(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException {
+        return drained.await(timeout, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void handleNext(final @NotNull HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final var acknowledgedLeaseId = acknowledgedLeaseId(exchange);
+            final var batch = nextBatch(acknowledgedLeaseId);
+            if (batch == null) {
+                LOG.debug("Runner {} has to wait for the leased tests of other runners", exchange.getRemoteAddress());
+                exchange.getResponseHeaders().set("Retry-After", Integer.toString(RETRY_AFTER_SECONDS));
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            LOG.debug("Serving {} tests with lease {} to runner {}",
+                    batch.tests().size(),
+                    batch.leaseId(),
+                    exchange.getRemoteAddress());
+            if (batch.leaseId() == null) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            final var response = new StringBuilder();
+            for (final var testCase : batch.tests()) {
+                for (final var test : testCase.tests()) {
+                    response.append(test).append('\n');
+                }
+            }
+            final var bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.getResponseHeaders().set(LEASE_HEADER, batch.leaseId());
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    private static @Nullable String acknowledgedLeaseId(final @NotNull HttpExchange exchange) {
+        final var query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (final var parameter : query.split("&")) {
+            final var separator = parameter.indexOf('=');
+            if (separator > 0 && ACKNOWLEDGE_PARAMETER.equals(parameter.substring(0, separator))) {
+                final var leaseId = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+                return leaseId.isEmpty() ? null : leaseId;
+            }
+        }
+        return null;
+    }
+
+    private record Lease(@NotNull List<TestCase> batch, long expiresAt) {
+    }
+}
@@ -0,0 +1,78 @@
+package de.donnerbart.split;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.PathConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class CoordinatorArguments {
+
+    @Parameter(names = {"--help", "-h"}, description = "Prints the usage.", help = true)
+    boolean help;
+
+    @Parameter(names = {"--glob", "-g"},
+               description = "Glob pattern to find test files (Java source files or compiled class files). Can be used multiple times. Make sure to single-quote the pattern to avoid shell expansion.",
+               splitter = Arguments.NoParameterSplitter.class,
+               required = true,
+               order = 0)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull List<String> globs;
+
+    @Parameter(names = {"--exclude-glob", "-e"},
+               description = "Glob pattern to exclude test files. Can be used multiple times. Make sure to single-quote the pattern to avoid shell expansion.",
+               splitter = Arguments.NoParameterSplitter.class)
+    @NotNull List<String> excludeGlobs = new ArrayList<>();
+
+    @Parameter(names = {"--junit-glob", "-j"},
+               description = "Glob pattern to find JUnit reports. Make sure to single-quote the pattern to avoid shell expansion.")
+    @Nullable String junitGlob;
+
+    @Parameter(names = {"--timing-index"},
+               description = "The timing index with the recorded test times (see the index command). Replaces --junit-glob.",
+               converter = PathConverter.class)
+    @Nullable Path timingIndex;
+
+    @Parameter(names = {"--new-test-time", "-n"},
+               description = "Configures the calculation of the test time for tests without JUnit reports.",
+               converter = Arguments.NewTestTimeOptionConverter.class)
+    @NotNull NewTestTimeOption newTestTimeOption = NewTestTimeOption.AVERAGE;
+
+    @Parameter(names = {"--working-directory", "-w"},
+               description = "The working directory. Defaults to the current directory.",
+               converter = Arguments.WorkingDirectoryOptionConverter.class)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path workingDirectory;
+
+    @Parameter(names = {"--threads", "-p"},
+               description = "The number of threads to walk the working directory and to parse the test files and JUnit reports.")
+    int threads = 1;
+
+    @Parameter(names = {"--bind-address"},
+               description = "The address the coordinator listens on, e.g. 0.0.0.0 to serve runners on other hosts. The coordinator has no authentication, so only use a trusted network. Defaults to the loopback address.")
+    @Nullable String bindAddress;
+
+    @Parameter(names = {"--port"}, description = "The port of the coordinator. Defaults to a free port.")
+    int port = 0;
+
+    @Parameter(names = {"--batch-size"}, description = "The number of test classes per batch.")
+    int batchSize = 1;
+
+    @Parameter(names = {"--lease-timeout"},
+               description = "The time in seconds a runner has to run a batch before it asks for the next batch. Afterward, the batch is served to another runner.")
+    int leaseTimeout = 3600;
+
+    @Parameter(names = {"--timeout"},
+               description = "The maximum time in seconds to serve all tests. Afterward, the coordinator fails.")
+    int timeout = 21600;
+
+    @Parameter(names = {"--linger"},
+               description = "The time in seconds to keep answering runners after all tests have been served.")
+    int linger = 60;
+
+    @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
+    boolean debug = false;
+}
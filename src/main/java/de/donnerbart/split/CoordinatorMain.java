@@ -0,0 +1,152 @@
+package de.donnerbart.split;
+
+import ch.qos.logback.classic.Level;
+import com.beust.jcommander.JCommander;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Loads the tests and serves them with a {@link Coordinator} to runners, which use the {@code next} command.
+ */
+public class CoordinatorMain {
+
+    static final @NotNull String COMMAND = "coordinate";
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(CoordinatorMain.class);
+
+    private CoordinatorMain() {
+    }
+
+    @VisibleForTesting
+    static int run(final @NotNull Consumer<Integer> exitConsumer, final @Nullable String @NotNull [] args)
+            throws Exception {
+        final var arguments = new CoordinatorArguments();
+        final var defaultProvider = new Arguments.DefaultProvider();
+        final var jCommander = JCommander.newBuilder()
+                .programName(COMMAND)
+                .addObject(arguments)
+                .defaultProvider(defaultProvider)
+                .build();
+        jCommander.parse(args);
+        if (arguments.help) {
+            jCommander.usage();
+            exitConsumer.accept(0);
+            return 0;
+        }
+        if (arguments.debug) {
+            final var root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.setLevel(Level.DEBUG);
+        }
+        if (!validateArguments(arguments)) {
+            exitConsumer.accept(1);
+            return 0;
+        }
+        LOG.info("Working directory: {}", arguments.workingDirectory);
+        arguments.globs.forEach(glob -> LOG.info("Glob: {}", glob));
+        arguments.excludeGlobs.forEach(excludeGlob -> LOG.info("Exclude glob: {}", excludeGlob));
+        if (arguments.junitGlob != null) {
+            LOG.info("JUnit glob: {}", arguments.junitGlob);
+        }
+        if (arguments.timingIndex != null) {
+            LOG.info("Timing index: {}", arguments.timingIndex);
+        }
+        final InetAddress bindAddress;
+        try {
+            bindAddress = arguments.bindAddress != null ?
+                    InetAddress.getByName(arguments.bindAddress) :
+                    InetAddress.getLoopbackAddress();
+        } catch (final UnknownHostException e) {
+            LOG.error("Invalid --bind-address: {}", arguments.bindAddress);
+            exitConsumer.accept(1);
+            return 0;
+        }
+        LOG.info("Bind address: {}", bindAddress.getHostAddress());
+        if (!bindAddress.isLoopbackAddress()) {
+            LOG.warn("The coordinator is reachable from other hosts and serves the tests without authentication");
+        }
+        LOG.info("Batch size: {}", arguments.batchSize);
+        LOG.info("Lease timeout: {} s", arguments.leaseTimeout);
+        LOG.info("Timeout: {} s", arguments.timeout);
+
+        final var testLoader = new TestLoader(arguments.globs,
+                arguments.excludeGlobs,
+                arguments.junitGlob,
+                arguments.newTestTimeOption,
+                arguments.workingDirectory,
+                arguments.threads,
+                null,
+                false,
+                arguments.timingIndex,
+                0,
+                false,
+                false,
+                exitConsumer);
+        final var testCases = testLoader.load();
+        try (final var coordinator = new Coordinator(testCases,
+                arguments.batchSize,
+                Duration.ofSeconds(arguments.leaseTimeout))) {
+            coordinator.start(new InetSocketAddress(bindAddress, arguments.port));
+            LOG.info("Serving {} tests on port {}", testCases.size(), coordinator.port());
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(arguments.timeout);
+            while (!coordinator.awaitDrained(Math.min(10, arguments.timeout), TimeUnit.SECONDS)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    LOG.error("Not all tests have been served after the --timeout of {} s " +
+                                    "({} tests remaining, {} batches leased)",
+                            arguments.timeout,
+                            coordinator.remaining(),
+                            coordinator.leased());
+                    exitConsumer.accept(1);
+                    return testCases.size();
+                }
+                LOG.info("{} tests remaining, {} batches leased", coordinator.remaining(), coordinator.leased());
+            }
+            LOG.info("All tests have been served, stopping in {} seconds", arguments.linger);
+            TimeUnit.SECONDS.sleep(arguments.linger);
+        }
+        return testCases.size();
+    }
+
+    @VisibleForTesting
+    static boolean validateArguments(final @NotNull CoordinatorArguments arguments) {
+        if (arguments.threads < 1) {
+            LOG.error("--threads must be greater than 0");
+            return false;
+        }
+        if (arguments.port < 0 || arguments.port > 65535) {
+            LOG.error("--port must be between 0 and 65535");
+            return false;
+        }
+        if (arguments.batchSize < 1) {
+            LOG.error("--batch-size must be greater than 0");
+            return false;
+        }
+        if (arguments.leaseTimeout < 1) {
+            LOG.error("--lease-timeout must be greater than 0");
+            return false;
+        }
+        if (arguments.timeout < 1) {
+            LOG.error("--timeout must be greater than 0");
+            return false;
+        }
+        if (arguments.linger < 0) {
+            LOG.error("--linger must not be negative");
+            return false;
+        }
+        if (!Files.exists(arguments.workingDirectory)) {
+            LOG.error("Working directory does not exist: {}", arguments.workingDirectory);
+            return false;
+        }
+        return true;
+    }
+}
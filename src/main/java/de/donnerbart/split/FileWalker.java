@@ -0,0 +1,240 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Walks the file tree once and classifies each file against all registered {@link GlobFilter}s, e.g. the test files
+ * and the JUnit reports.
+ * <p>
+ * A directory is only skipped if it can't contain a match for any of the glob filters. With multiple threads the
+ * top-level directories are walked in parallel by a {@link ForkJoinPool}.
+ * <p>
+ * The listeners of the glob filters are called as soon as a matching file is found, possibly from multiple threads.
+ */
+class FileWalker {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(FileWalker.class);
+
+    private final @NotNull Path rootPath;
+    private final @NotNull List<Registration> registrations = new ArrayList<>();
+
+    FileWalker(final @NotNull Path rootPath) {
+        this.rootPath = rootPath;
+    }
+
+    /**
+     * Registers a glob filter.
+     *
+     * @return the set of matching files, which is filled by {@link #walk(int)}
+     */
+    @NotNull Set<Path> register(final @NotNull GlobFilter globFilter) {
+        return register(globFilter, null);
+    }
+
+    /**
+     * Registers a glob filter with a listener, which is called for each matching file.
+     *
+     * @return the set of matching files, which is filled by {@link #walk(int)}
+     */
+    @NotNull Set<Path> register(final @NotNull GlobFilter globFilter, final @Nullable Consumer<Path> listener) {
+        final var files = ConcurrentHashMap.<Path>newKeySet();
+        registrations.add(new Registration(globFilter, files, listener));
+        return files;
+    }
+
+    /**
+     * Registers a glob filter with a listener, which is called for each matching file. The matching files are not
+     * retained.
+     */
+    void stream(final @NotNull GlobFilter globFilter, final @NotNull Consumer<Path> listener) {
+        registrations.add(new Registration(globFilter, null, listener));
+    }
+
+    /**
+     * Classifies the given absolute files instead of walking the file tree, e.g. the tracked files of a
+     * {@link GitIndex}. The files are resolved against the root path like the walked files, and files outside of the
+     * root path are ignored.
+     */
+    void visit(final @NotNull Collection<Path> paths) {
+        final var absoluteRootPath = rootPath.toAbsolutePath().normalize();
+        for (final var path : paths) {
+            if (path.startsWith(absoluteRootPath)) {
+                visitFile(rootPath.resolve(absoluteRootPath.relativize(path)));
+            }
+        }
+    }
+
+    void walk(final int threads) throws Exception {
+        if (threads < 2) {
+            Files.walkFileTree(rootPath, new Visitor(null));
+            return;
+        }
+        final var rootStates = rootStates(rootPath);
+        if (canSkip(rootStates) || !Files.isDirectory(rootPath, LinkOption.NOFOLLOW_LINKS)) {
+            Files.walkFileTree(rootPath, new Visitor(null));
+            return;
+        }
+        LOG.debug("Walking {} with {} threads", rootPath, threads);
+        final var directories = new ArrayList<Path>();
+        try (final var stream = Files.newDirectoryStream(rootPath)) {
+            for (final var path : stream) {
+                final var attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    directories.add(path);
+                } else {
+                    visitFile(path);
+                }
+            }
+        }
+        try (final var pool = new ForkJoinPool(threads)) {
+            final var futures = new ArrayList<Future<?>>(directories.size());
+            for (final var directory : directories) {
+                futures.add(pool.submit(() -> {
+                    Files.walkFileTree(directory, new Visitor(rootStates));
+                    return null;
+                }));
+            }
+            for (final var future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    pool.shutdownNow();
+                    if (e.getCause() instanceof final Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long @NotNull [][] rootStates(final @NotNull Path directory) {
+        final var states = new long[registrations.size()][];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = registrations.get(i).globFilter.rootStates(directory);
+        }
+        return states;
+    }
+
+    private long @NotNull [][] childStates(
+            final long @NotNull [][] parentStates,
+            final @NotNull Path name) {
+        final var states = new long[registrations.size()][];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = registrations.get(i).globFilter.childStates(parentStates[i], name);
+        }
+        return states;
+    }
+
+    private boolean canSkip(final long @NotNull [][] states) {
+        for (int i = 0; i < states.length; i++) {
+            if (!registrations.get(i).globFilter.canSkip(states[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void visitFile(final @NotNull Path path) {
+        final var candidate = path.normalize();
+        Boolean readable = null;
+        for (final var registration : registrations) {
+            if (!registration.globFilter.isIncluded(candidate)) {
+                continue;
+            }
+            if (registration.globFilter.isExcluded(candidate)) {
+                LOG.debug("Excluding file {}", candidate);
+                continue;
+            }
+            if (readable == null) {
+                readable = Files.isReadable(candidate);
+            }
+            if (!readable) {
+                LOG.debug("Ignoring unreadable file {}", candidate);
+                return;
+            }
+            if (registration.files != null && !registration.files.add(candidate)) {
+                continue;
+            }
+            if (registration.listener != null) {
+                registration.listener.accept(candidate);
+            }
+        }
+    }
+
+    private record Registration(
+            @NotNull GlobFilter globFilter,
+            @Nullable Set<Path> files,
+            @Nullable Consumer<Path> listener) {
+    }
+
+    private class Visitor extends SimpleFileVisitor<Path> {
+
+        private final @NotNull Deque<long[][]> states = new ArrayDeque<>();
+
+        private Visitor(final long @Nullable [][] parentStates) {
+            if (parentStates != null) {
+                states.push(parentStates);
+            }
+        }
+
+        @Override
+        public @NotNull FileVisitResult preVisitDirectory(
+                final @NotNull Path path,
+                final @NotNull BasicFileAttributes attributes) {
+            final var parentStates = states.peek();
+            final var directoryStates =
+                    parentStates != null ? childStates(parentStates, path.getFileName()) : rootStates(path);
+            if (canSkip(directoryStates)) {
+                LOG.debug("Skipping directory {}", path.normalize());
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            states.push(directoryStates);
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public @NotNull FileVisitResult postVisitDirectory(
+                final @NotNull Path path,
+                final @Nullable IOException e) {
+            states.pop();
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public @NotNull FileVisitResult visitFile(
+                final @NotNull Path path,
+                final @NotNull BasicFileAttributes attributes) {
+            FileWalker.this.visitFile(path);
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public @NotNull FileVisitResult visitFileFailed(final @NotNull Path path, final @NotNull IOException e) {
+            LOG.debug("Ignoring unreadable path {}", path.normalize());
+            return FileVisitResult.CONTINUE;
+        }
+    }
+}
@@ -4,13 +4,68 @@ import org.jetbrains.annotations.NotNull;
 
 public enum FormatOption {
 
-    LIST("list"),
-    GRADLE("gradle");
+    LIST("list", " "),
+    GRADLE("gradle", " "),
+    SUREFIRE("surefire", ",");
 
     private final @NotNull String parameterValue;
+    private final @NotNull String delimiter;
 
-    FormatOption(final @NotNull String parameterValue) {
+    FormatOption(final @NotNull String parameterValue, final @NotNull String delimiter) {
         this.parameterValue = parameterValue;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Formats a test class or test filter for the output. All formats select test methods by their name, so the
+     * parameter types of a test filter are removed. The overloads of a test method are formatted the same, so the
+     * formatted tests have to be deduplicated.
+     * <p>
+     * The {@code gradle} format quotes a package wildcard like {@code com.example.*}, so it's not expanded by the
+     * shell. The {@code surefire} format writes a package wildcard as <code>com/example/**&#47;*</code> and a test
+     * filter like {@code com.example.FooTest.testBar} as {@code com.example.FooTest#testBar}. A test filter is told
+     * apart from a test class by the lower case first letter of the test method, following the Java naming
+     * conventions.
+     */
+    public @NotNull String format(final @NotNull String test) {
+        return switch (this) {
+            case LIST -> withoutParameterTypes(test);
+            case GRADLE -> isPackageWildcard(test) ?
+                    "--tests '" + test + "'" :
+                    "--tests " + withoutParameterTypes(test);
+            case SUREFIRE -> {
+                if (isPackageWildcard(test)) {
+                    yield test.substring(0, test.length() - 2).replace('.', '/') + "/**/*";
+                }
+                final var name = withoutParameterTypes(test);
+                final var index = name.lastIndexOf('.');
+                if (index == -1 || !Character.isLowerCase(name.charAt(index + 1))) {
+                    yield name;
+                }
+                yield name.substring(0, index) + "#" + name.substring(index + 1);
+            }
+        };
+    }
+
+    /**
+     * Returns the delimiter of the formatted tests in the output, e.g. a comma for the {@code -Dtest} property of
+     * Surefire.
+     */
+    public @NotNull String delimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Returns the test class or test filter without the parameter types of a test method, e.g.
+     * {@code com.example.FooTest.testBar} for {@code com.example.FooTest.testBar(int,java.lang.String)}.
+     */
+    static @NotNull String withoutParameterTypes(final @NotNull String test) {
+        final var index = test.indexOf('(');
+        return index < 0 ? test : test.substring(0, index);
+    }
+
+    static boolean isPackageWildcard(final @NotNull String test) {
+        return test.endsWith("." + PackageCompactor.WILDCARD);
     }
 
     @Override
@@ -0,0 +1,226 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the tracked files from the index of a git repository, so the test files can be found without walking the
+ * working directory.
+ * <p>
+ * The index versions 2 to 4 are supported. Entries which are not in the working tree (submodules and entries with the
+ * skip-worktree flag of a sparse checkout) are ignored, and conflicting entries are only returned once. A split index
+ * is not supported.
+ * <p>
+ * Untracked files are not in the index.
+ */
+class GitIndex {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(GitIndex.class);
+
+    private static final int SIGNATURE = 0x44495243; // "DIRC"
+    private static final int LINK_EXTENSION = 0x6c696e6b; // "link"
+
+    private static final int STAT_SIZE = 40;
+    private static final int MODE_OFFSET = 24;
+    private static final int OBJECT_TYPE_MASK = 0170000;
+    private static final int GITLINK = 0160000;
+    private static final int EXTENDED_FLAG = 0x4000;
+    private static final int STAGE_MASK = 0x3000;
+    private static final int SKIP_WORKTREE_FLAG = 0x4000;
+
+    private final @NotNull Path worktree;
+    private final @NotNull Path indexFile;
+    private final int hashSize;
+
+    @VisibleForTesting
+    GitIndex(final @NotNull Path worktree, final @NotNull Path indexFile, final int hashSize) {
+        this.worktree = worktree;
+        this.indexFile = indexFile;
+        this.hashSize = hashSize;
+    }
+
+    /**
+     * Finds the index of the git repository that contains the given directory.
+     *
+     * @return the index, or {@code null} if the directory is not in a git repository with an index
+     */
+    static @Nullable GitIndex find(final @NotNull Path directory) throws IOException {
+        for (var worktree = directory.toAbsolutePath().normalize(); worktree != null; worktree = worktree.getParent()) {
+            final var dotGit = worktree.resolve(".git");
+            final Path gitDirectory;
+            if (Files.isDirectory(dotGit)) {
+                gitDirectory = dotGit;
+            } else if (Files.isRegularFile(dotGit)) {
+                // a linked worktree or a submodule with a "gitdir: <path>" file
+                final var content = Files.readString(dotGit, StandardCharsets.UTF_8).trim();
+                if (!content.startsWith("gitdir:")) {
+                    return null;
+                }
+                gitDirectory = worktree.resolve(content.substring("gitdir:".length()).trim()).normalize();
+            } else {
+                continue;
+            }
+            final var indexFile = gitDirectory.resolve("index");
+            if (!Files.isRegularFile(indexFile)) {
+                return null;
+            }
+            return new GitIndex(worktree, indexFile, hashSize(gitDirectory));
+        }
+        return null;
+    }
+
+    @NotNull Path indexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Returns the absolute paths of the tracked files in the working tree.
+     *
+     * @throws IOException if the index can't be read or is not supported
+     */
+    @NotNull List<Path> read() throws IOException {
+        final var buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        try {
+            return read(buffer);
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated git index " + indexFile, e);
+        }
+    }
+
+    private @NotNull List<Path> read(final @NotNull ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != SIGNATURE) {
+            throw new IOException("Invalid git index signature in " + indexFile);
+        }
+        final var version = buffer.getInt();
+        if (version < 2 || version > 4) {
+            throw new IOException("Unsupported git index version " + version + " in " + indexFile);
+        }
+        final var entryCount = buffer.getInt();
+        final var paths = new ArrayList<Path>(entryCount);
+        var previousName = new byte[0];
+        var previousNameLength = 0;
+        @Nullable String previousPath = null;
+        for (int i = 0; i < entryCount; i++) {
+            final var entryStart = buffer.position();
+            final var mode = buffer.getInt(entryStart + MODE_OFFSET);
+            buffer.position(entryStart + STAT_SIZE + hashSize);
+            final var flags = Short.toUnsignedInt(buffer.getShort());
+            var extendedFlags = 0;
+            if (version >= 3 && (flags & EXTENDED_FLAG) != 0) {
+                extendedFlags = Short.toUnsignedInt(buffer.getShort());
+            }
+            final byte[] name;
+            final int nameLength;
+            if (version == 4) {
+                // the name is compressed by the prefix of the previous name
+                final var removeLength = readVarInt(buffer);
+                final var suffixLength = nulIndex(buffer) - buffer.position();
+                final var prefixLength = previousNameLength - removeLength;
+                if (prefixLength < 0) {
+                    throw new IOException("Invalid path prefix in git index " + indexFile);
+                }
+                nameLength = prefixLength + suffixLength;
+                name = previousName.length >= nameLength ? previousName : new byte[Math.max(nameLength, 256)];
+                if (name != previousName) {
+                    System.arraycopy(previousName, 0, name, 0, prefixLength);
+                }
+                buffer.get(name, prefixLength, suffixLength);
+                buffer.get(); // NUL
+            } else {
+                nameLength = nulIndex(buffer) - buffer.position();
+                name = new byte[nameLength];
+                buffer.get(name);
+                // the entry is padded with 1 to 8 NUL bytes to a multiple of 8 bytes
+                buffer.position(entryStart + ((buffer.position() - entryStart + 8) & ~7));
+            }
+            previousName = name;
+            previousNameLength = nameLength;
+            if ((mode & OBJECT_TYPE_MASK) == GITLINK || (extendedFlags & SKIP_WORKTREE_FLAG) != 0) {
+                continue;
+            }
+            final var path = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+            // conflicting entries have the same path with different stages, and are sorted next to each other
+            if ((flags & STAGE_MASK) != 0 && path.equals(previousPath)) {
+                continue;
+            }
+            previousPath = path;
+            try {
+                paths.add(worktree.resolve(path));
+            } catch (final InvalidPathException e) {
+                LOG.debug("Ignoring invalid path {} in git index", path);
+            }
+        }
+        readExtensions(buffer);
+        return paths;
+    }
+
+    private void readExtensions(final @NotNull ByteBuffer buffer) throws IOException {
+        // the index ends with the checksum
+        while (buffer.remaining() >= hashSize + 8) {
+            final var signature = buffer.getInt();
+            final var size = buffer.getInt();
+            if (signature == LINK_EXTENSION) {
+                throw new IOException("Unsupported split git index " + indexFile);
+            }
+            buffer.position(buffer.position() + size);
+        }
+    }
+
+    private static int nulIndex(final @NotNull ByteBuffer buffer) throws IOException {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) == 0) {
+                return i;
+            }
+        }
+        throw new IOException("Unterminated path in git index");
+    }
+
+    /**
+     * Reads the variable-length offset encoding of git, which is used for the path prefix of index version 4.
+     */
+    private static int readVarInt(final @NotNull ByteBuffer buffer) {
+        var c = Byte.toUnsignedInt(buffer.get());
+        var value = c & 0x7f;
+        while ((c & 0x80) != 0) {
+            c = Byte.toUnsignedInt(buffer.get());
+            value = ((value + 1) << 7) | (c & 0x7f);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the hash size of the object format of the repository, which is SHA-1 unless configured otherwise.
+     */
+    private static int hashSize(final @NotNull Path gitDirectory) throws IOException {
+        var configDirectory = gitDirectory;
+        final var commonDirectory = gitDirectory.resolve("commondir");
+        if (Files.isRegularFile(commonDirectory)) {
+            configDirectory =
+                    gitDirectory.resolve(Files.readString(commonDirectory, StandardCharsets.UTF_8).trim()).normalize();
+        }
+        final var config = configDirectory.resolve("config");
+        if (Files.isRegularFile(config)) {
+            for (final var line : Files.readAllLines(config, StandardCharsets.UTF_8)) {
+                final var setting = line.replace(" ", "").replace("\t", "").toLowerCase(Locale.ROOT);
+                if (setting.equals("objectformat=sha256")) {
+                    return 32;
+                }
+            }
+        }
+        return 20;
+    }
+}
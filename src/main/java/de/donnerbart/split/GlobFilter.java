@@ -0,0 +1,248 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Matches files against multiple include and exclude glob patterns, and decides which directories can be skipped.
+ * <p>
+ * Each glob pattern is split into its segments at the name separators. While walking the file tree, the state of a
+ * directory is the set of segments that its path can have reached in each glob pattern. A directory is skipped, if no
+ * include glob pattern can match a file below it (e.g. {@code .git} or {@code node_modules} if all test files are in
+ * {@code src/test/java} directories), or if an exclude glob pattern that ends with a {@code **} segment matches every
+ * file below it (e.g. a {@code build} directory).
+ * <p>
+ * Segments which can't be evaluated on their own (e.g. braces with a {@code /}, or a {@code **} within a name) never
+ * skip a directory. Directories are only skipped on file systems with {@code /} as name separator.
+ */
+class GlobFilter {
+
+    private static final int MAX_SEGMENTS = Long.SIZE - 1;
+
+    private final @NotNull List<Glob> includeGlobs;
+    private final @NotNull List<Glob> excludeGlobs;
+    private final boolean canSkip;
+
+    GlobFilter(final @NotNull Collection<String> includeGlobs, final @NotNull Collection<String> excludeGlobs) {
+        this(FileSystems.getDefault(), includeGlobs, excludeGlobs);
+    }
+
+    @VisibleForTesting
+    GlobFilter(
+            final @NotNull FileSystem fileSystem,
+            final @NotNull Collection<String> includeGlobs,
+            final @NotNull Collection<String> excludeGlobs) {
+        this.includeGlobs = includeGlobs.stream().map(glob -> new Glob(fileSystem, glob)).toList();
+        this.excludeGlobs = excludeGlobs.stream().map(glob -> new Glob(fileSystem, glob)).toList();
+        this.canSkip = "/".equals(fileSystem.getSeparator());
+    }
+
+    /**
+     * Returns {@code true} if the file matches an include glob pattern.
+     */
+    boolean isIncluded(final @NotNull Path path) {
+        for (final var glob : includeGlobs) {
+            if (glob.matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if the file matches an exclude glob pattern.
+     */
+    boolean isExcluded(final @NotNull Path path) {
+        for (final var glob : excludeGlobs) {
+            if (glob.matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the states of the root directory of the file tree walk.
+     */
+    long @NotNull [] rootStates(final @NotNull Path directory) {
+        final var states = new long[includeGlobs.size() + excludeGlobs.size()];
+        if (!canSkip) {
+            return states;
+        }
+        final var path = directory.normalize();
+        for (int i = 0; i < states.length; i++) {
+            final var glob = glob(i);
+            // the root of an absolute path is an empty name before the first name separator
+            var state = path.isAbsolute() ? glob.next(1L, path.getFileSystem().getPath("")) : 1L;
+            for (final var name : path) {
+                state = glob.next(state, name);
+            }
+            states[i] = state;
+        }
+        return states;
+    }
+
+    /**
+     * Returns the states of a directory with the given name in the parent directory with the given states.
+     */
+    long @NotNull [] childStates(final long @NotNull [] parentStates, final @NotNull Path name) {
+        if (!canSkip) {
+            return parentStates;
+        }
+        final var states = new long[parentStates.length];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = glob(i).next(parentStates[i], name);
+        }
+        return states;
+    }
+
+    /**
+     * Returns {@code true} if no file below a directory with the given states can be a match.
+     */
+    boolean canSkip(final long @NotNull [] states) {
+        if (!canSkip) {
+            return false;
+        }
+        for (int i = includeGlobs.size(); i < states.length; i++) {
+            if (glob(i).excludesAll(states[i])) {
+                return true;
+            }
+        }
+        for (int i = 0; i < includeGlobs.size(); i++) {
+            if (glob(i).mayMatch(states[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @VisibleForTesting
+    boolean canSkip(final @NotNull Path directory) {
+        return canSkip(rootStates(directory));
+    }
+
+    private @NotNull Glob glob(final int index) {
+        return index < includeGlobs.size() ? includeGlobs.get(index) : excludeGlobs.get(index - includeGlobs.size());
+    }
+
+    /**
+     * A glob pattern with its segments. The state is a bit set of the reached segments, where the bit after the last
+     * segment means that the glob pattern is fully matched.
+     */
+    private static class Glob {
+
+        private final @NotNull PathMatcher matcher;
+        private final @NotNull List<Segment> segments;
+
+        private Glob(final @NotNull FileSystem fileSystem, final @NotNull String glob) {
+            this.matcher = fileSystem.getPathMatcher("glob:" + glob);
+            final var parts = split(glob);
+            final var segments = new ArrayList<Segment>(parts.size());
+            for (final var part : parts) {
+                final var segment = segments.size() < MAX_SEGMENTS ? Segment.of(fileSystem, part) : Segment.UNKNOWN;
+                segments.add(segment);
+                if (segment == Segment.UNKNOWN) {
+                    break;
+                }
+            }
+            this.segments = segments;
+        }
+
+        private long next(final long state, final @NotNull Path name) {
+            var next = 0L;
+            for (int i = 0; i < segments.size(); i++) {
+                if ((state & (1L << i)) == 0) {
+                    continue;
+                }
+                final var segment = segments.get(i);
+                if (segment == Segment.UNKNOWN) {
+                    next |= 1L << i;
+                } else if (segment == Segment.ANY_DIRECTORIES) {
+                    // ** matches one or more names
+                    next |= (1L << i) | (1L << (i + 1));
+                } else if (segment.matches(name)) {
+                    next |= 1L << (i + 1);
+                }
+            }
+            return next;
+        }
+
+        private boolean mayMatch(final long state) {
+            // the bit after the last segment can't match any file below the directory
+            return (state & ((1L << segments.size()) - 1)) != 0;
+        }
+
+        private boolean excludesAll(final long state) {
+            final var last = segments.size() - 1;
+            return last >= 0 && segments.get(last) == Segment.ANY_DIRECTORIES && (state & (1L << last)) != 0;
+        }
+
+        /**
+         * Splits the glob pattern at the name separators outside of braces and brackets.
+         */
+        private static @NotNull List<String> split(final @NotNull String glob) {
+            final var parts = new ArrayList<String>();
+            var depth = 0;
+            var start = 0;
+            for (int i = 0; i < glob.length(); i++) {
+                final var c = glob.charAt(i);
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && depth > 0) {
+                    depth--;
+                } else if (c == '/' && depth == 0) {
+                    parts.add(glob.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            parts.add(glob.substring(start));
+            return parts;
+        }
+    }
+
+    /**
+     * A segment of a glob pattern, which matches a single name.
+     */
+    private static class Segment {
+
+        private static final @NotNull Segment ANY_DIRECTORIES = new Segment(null, null);
+        private static final @NotNull Segment UNKNOWN = new Segment(null, null);
+
+        private final @Nullable String literal;
+        private final @Nullable PathMatcher matcher;
+
+        private Segment(final @Nullable String literal, final @Nullable PathMatcher matcher) {
+            this.literal = literal;
+            this.matcher = matcher;
+        }
+
+        private static @NotNull Segment of(final @NotNull FileSystem fileSystem, final @NotNull String part) {
+            if (part.equals("**")) {
+                return ANY_DIRECTORIES;
+            }
+            if (part.contains("**") || part.contains("/") || part.contains("\\")) {
+                return UNKNOWN;
+            }
+            if (part.chars().noneMatch(c -> c == '*' || c == '?' || c == '[' || c == '{')) {
+                return new Segment(part, null);
+            }
+            return new Segment(null, fileSystem.getPathMatcher("glob:" + part));
+        }
+
+        private boolean matches(final @NotNull Path name) {
+            if (literal != null) {
+                return literal.equals(name.toString());
+            }
+            return matcher != null && matcher.matches(name);
+        }
+    }
+}
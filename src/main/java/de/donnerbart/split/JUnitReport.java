@@ -0,0 +1,16 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The recorded times of a JUnit report.
+ *
+ * @param testSuite   the test class with the total time of the test suite
+ * @param testMethods the test methods with their times, or an empty list if the test methods were not read or cannot
+ *                    be selected by their name
+ */
+record JUnitReport(@NotNull TestCase testSuite, @NotNull List<TestCase> testMethods) {
+}
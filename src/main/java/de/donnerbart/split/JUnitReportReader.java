@@ -0,0 +1,231 @@
+package de.donnerbart.split;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import de.donnerbart.split.model.TestCase;
+import de.donnerbart.split.model.TestSuite;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads the test suite name and time from JUnit reports.
+ * <p>
+ * The attributes of the root {@code testsuite} element are read with a streaming XML reader, which stops right after
+ * the root element. So the test cases and the (potentially huge) {@code system-out} and {@code system-err} elements
+ * are never read. If the root element cannot be read this way, the full report is bound with Jackson as fallback.
+ * <p>
+ * Optionally the {@code testcase} elements are read as well, to get the times of the single test methods. The test
+ * methods are only returned if all of them belong to the test suite and have a name that can be used as test filter.
+ * <p>
+ * This class is thread-safe.
+ */
+class JUnitReportReader {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(JUnitReportReader.class);
+
+    private final @NotNull XMLInputFactory xmlInputFactory;
+    private final @NotNull XmlMapper xmlMapper = new XmlMapper();
+    private final boolean withTestMethods;
+
+    private final @NotNull LongAdder reportCount = new LongAdder();
+    private final @NotNull LongAdder fallbackCount = new LongAdder();
+    private final @NotNull LongAdder bytesRead = new LongAdder();
+    private final @NotNull LongAdder nanosSpent = new LongAdder();
+
+    JUnitReportReader() {
+        this(false);
+    }
+
+    JUnitReportReader(final boolean withTestMethods) {
+        this.withTestMethods = withTestMethods;
+        xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @NotNull TestCase read(final @NotNull Path junitPath) throws Exception {
+        return readReport(junitPath).testSuite();
+    }
+
+    @NotNull JUnitReport readReport(final @NotNull Path junitPath) throws Exception {
+        final var start = System.nanoTime();
+        JUnitReport junitReport;
+        long reportBytesRead;
+        try (final var inputStream = new CountingInputStream(Files.newInputStream(junitPath))) {
+            junitReport = readStream(junitPath, inputStream);
+            reportBytesRead = inputStream.count;
+        }
+        if (junitReport == null) {
+            LOG.debug("Falling back to full parsing of JUnit report {}", junitPath);
+            fallbackCount.increment();
+            try (final var inputStream = new CountingInputStream(Files.newInputStream(junitPath))) {
+                final var testSuite = xmlMapper.readValue(inputStream, TestSuite.class);
+                junitReport = new JUnitReport(new TestCase(testSuite.getName(), testSuite.getTime()), List.of());
+                reportBytesRead += inputStream.count;
+            }
+        }
+        final var nanos = System.nanoTime() - start;
+        reportCount.increment();
+        bytesRead.add(reportBytesRead);
+        nanosSpent.add(nanos);
+        LOG.debug("Read JUnit report {} ({} bytes in {} µs)",
+                junitPath,
+                reportBytesRead,
+                TimeUnit.NANOSECONDS.toMicros(nanos));
+        return junitReport;
+    }
+
+    long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    void logStatistics() {
+        LOG.debug("Read {} JUnit reports ({} with fallback) with {} bytes in {} ms",
+                reportCount.sum(),
+                fallbackCount.sum(),
+                bytesRead.sum(),
+                TimeUnit.NANOSECONDS.toMillis(nanosSpent.sum()));
+    }
+
+    private @Nullable JUnitReport readStream(final @NotNull Path junitPath, final @NotNull InputStream inputStream) {
+        try {
+            final var reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        if (!reader.getLocalName().equals("testsuite")) {
+                            return null;
+                        }
+                        final var name = reader.getAttributeValue(null, "name");
+                        final var time = reader.getAttributeValue(null, "time");
+                        if (name == null || time == null) {
+                            return null;
+                        }
+                        final var testSuite = new TestCase(name, Double.parseDouble(time));
+                        if (!withTestMethods) {
+                            return new JUnitReport(testSuite, List.of());
+                        }
+                        return new JUnitReport(testSuite, readTestMethods(junitPath, reader, name));
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException | NumberFormatException e) {
+            LOG.debug("Failed to stream JUnit report {}", junitPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the {@code testcase} elements after the root element. Multiple invocations of the same test method (e.g.
+     * parameterized tests) are merged.
+     */
+    private static @NotNull List<TestCase> readTestMethods(
+            final @NotNull Path junitPath,
+            final @NotNull XMLStreamReader reader,
+            final @NotNull String testSuiteName) throws XMLStreamException {
+        final var methodTimes = new LinkedHashMap<String, Double>();
+        var selectable = true;
+        var depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    if (++depth == 2 && reader.getLocalName().equals("testcase")) {
+                        final var methodName = toMethodName(reader.getAttributeValue(null, "name"));
+                        final var className = reader.getAttributeValue(null, "classname");
+                        final var time = reader.getAttributeValue(null, "time");
+                        if (methodName == null || time == null || !testSuiteName.equals(className)) {
+                            selectable = false;
+                        } else {
+                            methodTimes.merge(methodName, Double.parseDouble(time), Double::sum);
+                        }
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                default -> {
+                }
+            }
+        }
+        if (!selectable) {
+            LOG.debug("Ignoring the test methods of JUnit report {}, since not all of them can be selected", junitPath);
+            return List.of();
+        }
+        final var testMethods = new ArrayList<TestCase>(methodTimes.size());
+        methodTimes.forEach((methodName, time) -> testMethods.add(new TestCase(methodName, time)));
+        return testMethods;
+    }
+
+    /**
+     * Returns the method name of a test case name like {@code test}, {@code test()} or {@code test(int)[1]}, or
+     * {@code null} if the name is not a method name (e.g. a display name).
+     */
+    @VisibleForTesting
+    static @Nullable String toMethodName(final @Nullable String testCaseName) {
+        if (testCaseName == null) {
+            return null;
+        }
+        var end = testCaseName.length();
+        for (int i = 0; i < testCaseName.length(); i++) {
+            final var c = testCaseName.charAt(i);
+            if (c == '(' || c == '[') {
+                end = i;
+                break;
+            }
+        }
+        if (end == 0 || !Character.isJavaIdentifierStart(testCaseName.charAt(0))) {
+            return null;
+        }
+        for (int i = 1; i < end; i++) {
+            if (!Character.isJavaIdentifierPart(testCaseName.charAt(i))) {
+                return null;
+            }
+        }
+        return testCaseName.substring(0, end);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(final @NotNull InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            final var n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
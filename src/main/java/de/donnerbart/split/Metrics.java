@@ -0,0 +1,119 @@
+package de.donnerbart.split;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the phases of the tool, which are emitted as JFR events and can be written as JSON file.
+ * <p>
+ * The allocated bytes are measured for all threads of the JVM, so allocations of worker threads (e.g. with
+ * {@code --threads}) are included. Phases that run concurrently would count each other's allocations, so the phases
+ * of the tool run one after another.
+ * <p>
+ * This class is thread-safe.
+ */
+class Metrics {
+
+    record PhaseMetrics(
+            @NotNull String name,
+            double durationMillis,
+            long files,
+            long bytesRead,
+            long allocatedBytes) {
+    }
+
+    record Summary(double totalDurationMillis, @NotNull List<PhaseMetrics> phases) {
+    }
+
+    private static final @NotNull ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final @NotNull List<PhaseMetrics> phases = new ArrayList<>();
+    private final long start = System.nanoTime();
+
+    /**
+     * Starts a new phase, which is recorded when it's closed.
+     */
+    @NotNull Phase phase(final @NotNull String name) {
+        return new Phase(name);
+    }
+
+    synchronized @NotNull List<PhaseMetrics> phases() {
+        return List.copyOf(phases);
+    }
+
+    synchronized @NotNull Summary summary() {
+        return new Summary((System.nanoTime() - start) / 1_000_000d, List.copyOf(phases));
+    }
+
+    void write(final @NotNull Path metricsFile) throws IOException {
+        final var parent = metricsFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (final var outputStream = Files.newOutputStream(metricsFile)) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outputStream, summary());
+        }
+    }
+
+    private synchronized void add(final @NotNull PhaseMetrics phaseMetrics) {
+        phases.add(phaseMetrics);
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled() ?
+                THREAD_MX_BEAN.getTotalThreadAllocatedBytes() :
+                -1;
+    }
+
+    class Phase implements AutoCloseable {
+
+        private final @NotNull String name;
+        private final @NotNull PhaseEvent event = new PhaseEvent();
+        private final long start;
+        private final long startAllocatedBytes;
+
+        private long files;
+        private long bytesRead;
+
+        private Phase(final @NotNull String name) {
+            this.name = name;
+            this.startAllocatedBytes = allocatedBytes();
+            this.start = System.nanoTime();
+            event.begin();
+        }
+
+        @NotNull Phase files(final long files) {
+            this.files = files;
+            return this;
+        }
+
+        @NotNull Phase bytesRead(final long bytesRead) {
+            this.bytesRead = bytesRead;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            event.end();
+            final var nanos = System.nanoTime() - start;
+            final var endAllocatedBytes = allocatedBytes();
+            if (event.shouldCommit()) {
+                event.phase = name;
+                event.files = files;
+                event.bytesRead = bytesRead;
+                event.commit();
+            }
+            add(new PhaseMetrics(name,
+                    nanos / 1_000_000d,
+                    files,
+                    bytesRead,
+                    startAllocatedBytes >= 0 ? endAllocatedBytes - startAllocatedBytes : -1));
+        }
+    }
+}
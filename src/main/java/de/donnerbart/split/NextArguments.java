@@ -0,0 +1,44 @@
+package de.donnerbart.split;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.PathConverter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+class NextArguments {
+
+    @Parameter(names = {"--help", "-h"}, description = "Prints the usage.", help = true)
+    boolean help;
+
+    @Parameter(names = {"--coordinator"},
+               description = "The URL of the coordinator, e.g. http://localhost:8080 (see the coordinate command).",
+               required = true,
+               order = 0)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull String coordinator;
+
+    @Parameter(names = {"--format", "-f"},
+               description = "The output format.",
+               converter = Arguments.FormatOptionConverter.class)
+    @NotNull FormatOption formatOption = FormatOption.LIST;
+
+    @Parameter(names = {"--lease-file"},
+               description = "The file with the lease id of the previous batch of this runner, which is acknowledged by the next request. Every runner needs its own file, which is updated with every batch and deleted after all tests have been served.",
+               converter = PathConverter.class,
+               required = true,
+               order = 1)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path leaseFile;
+
+    @Parameter(names = {"--timeout"},
+               description = "The timeout in seconds to connect to the coordinator and to receive its response.")
+    int timeout = 30;
+
+    @Parameter(names = {"--wait-timeout"},
+               description = "The maximum time in seconds to wait for the leased tests of other runners after all tests have been served. Afterward, the command fails.")
+    int waitTimeout = 900;
+
+    @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
+    boolean debug = false;
+}
@@ -0,0 +1,123 @@
+package de.donnerbart.split;
+
+import ch.qos.logback.classic.Level;
+import com.beust.jcommander.JCommander;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Prints the next batch of tests from a {@link Coordinator}, or nothing if all tests have been served.
+ */
+public class NextMain {
+
+    static final @NotNull String COMMAND = "next";
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(NextMain.class);
+
+    private NextMain() {
+    }
+
+    @VisibleForTesting
+    static @Nullable List<String> run(
+            final @NotNull Consumer<Integer> exitConsumer,
+            final @Nullable String @NotNull [] args) throws Exception {
+        final var arguments = new NextArguments();
+        final var jCommander = JCommander.newBuilder().programName(COMMAND).addObject(arguments).build();
+        jCommander.parse(args);
+        if (arguments.help) {
+            jCommander.usage();
+            exitConsumer.accept(0);
+            return null;
+        }
+        if (arguments.debug) {
+            final var root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.setLevel(Level.DEBUG);
+        }
+        if (arguments.waitTimeout < 0) {
+            LOG.error("--wait-timeout must not be negative");
+            exitConsumer.accept(1);
+            return null;
+        }
+        final String acknowledgedLeaseId;
+        try {
+            acknowledgedLeaseId = Files.exists(arguments.leaseFile) ? Files.readString(arguments.leaseFile).trim() : "";
+        } catch (final IOException e) {
+            LOG.error("Failed to read the lease file {}", arguments.leaseFile, e);
+            exitConsumer.accept(1);
+            return null;
+        }
+        final var uri = URI.create(arguments.coordinator.replaceAll("/+$", "") +
+                Coordinator.NEXT_PATH +
+                (acknowledgedLeaseId.isEmpty() ?
+                        "" :
+                        "?" +
+                                Coordinator.ACKNOWLEDGE_PARAMETER +
+                                "=" +
+                                URLEncoder.encode(acknowledgedLeaseId, StandardCharsets.UTF_8)));
+        LOG.debug("Requesting the next tests from {}", uri);
+        final var timeout = Duration.ofSeconds(arguments.timeout);
+        final var request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        HttpResponse<String> response;
+        try (final var client = HttpClient.newBuilder().connectTimeout(timeout).build()) {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // the coordinator asks to retry while the last tests are still leased to other runners
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(arguments.waitTimeout);
+            while (response.statusCode() == 503 && response.headers().firstValue("Retry-After").isPresent()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    LOG.error("The tests of other runners are still leased after the --wait-timeout of {} s",
+                            arguments.waitTimeout);
+                    exitConsumer.accept(1);
+                    return null;
+                }
+                final var retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                LOG.debug("Waiting {} s for the leased tests of other runners", retryAfter);
+                TimeUnit.SECONDS.sleep(retryAfter);
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            }
+        } catch (final Exception e) {
+            LOG.error("Failed to request the next tests from {}", uri, e);
+            exitConsumer.accept(1);
+            return null;
+        }
+        if (response.statusCode() == 204) {
+            LOG.info("All tests have been served");
+            Files.deleteIfExists(arguments.leaseFile);
+            return List.of();
+        }
+        final var leaseId = response.headers().firstValue(Coordinator.LEASE_HEADER).orElse(null);
+        if (response.statusCode() != 200 || leaseId == null) {
+            LOG.error("Failed to request the next tests from {} (status code {})", uri, response.statusCode());
+            exitConsumer.accept(1);
+            return null;
+        }
+        final var tests = response.body()
+                .lines()
+                .filter(line -> !line.isBlank())
+                .map(arguments.formatOption::format)
+                .distinct()
+                .toList();
+        LOG.info("The next batch has {} tests", tests.size());
+        System.out.print(String.join(arguments.formatOption.delimiter(), tests));
+        // the lease file is written after the tests were printed, so a failed run gets the same batch again
+        final var parent = arguments.leaseFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Files.writeString(arguments.leaseFile, leaseId);
+        return tests;
+    }
+}
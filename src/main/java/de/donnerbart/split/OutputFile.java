@@ -0,0 +1,65 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Writes a test split to a file with one entry per line, which can be used as argument file (e.g. {@code @file}).
+ * <p>
+ * The entries are streamed through a buffered file channel, so a huge test split is never joined into a single
+ * string.
+ */
+class OutputFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private OutputFile() {
+    }
+
+    /**
+     * Writes the given tests in the given order. A test is only written once, e.g. the overloads of a test method
+     * without their parameter types.
+     *
+     * @return the number of written lines
+     */
+    static int write(
+            final @NotNull Path outputFile,
+            final @NotNull List<TestCase> sortedTests,
+            final @NotNull OutputFileOption outputFileOption) throws IOException {
+        final var parent = outputFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var tmpFile = Files.createTempFile(parent, outputFile.getFileName().toString(), ".tmp");
+        try {
+            final var writtenTests = new HashSet<String>();
+            try (final var channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE);
+                 final var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8),
+                         BUFFER_SIZE)) {
+                for (final var testCase : sortedTests) {
+                    for (final var test : testCase.tests()) {
+                        final var formattedTest = outputFileOption.format(testCase, test);
+                        if (writtenTests.add(formattedTest)) {
+                            writer.write(formattedTest);
+                            writer.newLine();
+                        }
+                    }
+                }
+            }
+            Files.move(tmpFile, outputFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return writtenTests.size();
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+public enum OutputFileOption {
+
+    LIST("list"),
+    GRADLE("gradle"),
+    JUNIT("junit");
+
+    private final @NotNull String parameterValue;
+
+    OutputFileOption(final @NotNull String parameterValue) {
+        this.parameterValue = parameterValue;
+    }
+
+    /**
+     * Formats a test class or test filter of the given test for a line of the output file.
+     * <p>
+     * The {@code junit} format uses the selectors of the JUnit Platform Console Launcher, so a test filter like
+     * {@code com.example.FooTest.testBar(int)} is written as {@code --select-method=com.example.FooTest#testBar(int)}
+     * and a package wildcard like {@code com.example.*} as {@code --select-package=com.example}. The other formats are
+     * written like the {@link FormatOption} of the same name.
+     */
+    public @NotNull String format(final @NotNull TestCase testCase, final @NotNull String test) {
+        return switch (this) {
+            case LIST -> FormatOption.LIST.format(test);
+            case GRADLE -> FormatOption.GRADLE.format(test);
+            case JUNIT -> {
+                if (FormatOption.isPackageWildcard(test)) {
+                    yield "--select-package=" + test.substring(0, test.length() - 2);
+                }
+                if (testCase.testFilters().isEmpty()) {
+                    yield "--select-class=" + test;
+                }
+                final var index = FormatOption.withoutParameterTypes(test).lastIndexOf('.');
+                yield "--select-method=" + test.substring(0, index) + "#" + test.substring(index + 1);
+            }
+        };
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return parameterValue;
+    }
+}
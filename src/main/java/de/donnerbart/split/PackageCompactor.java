@@ -0,0 +1,97 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses the test classes of complete packages of a test split into a single wildcard filter like
+ * {@code com.example.*}.
+ * <p>
+ * A package is complete, if all tests of the package and its sub-packages are in the test split, since a wildcard
+ * filter matches the sub-packages as well. The outermost complete package is used, and a package is only collapsed if
+ * it contains at least two tests.
+ * <p>
+ * The wildcard filter also matches test classes which have not been found by the glob patterns. So packages are not
+ * compacted with exclude globs or the git index, and the glob patterns have to cover all test source sets.
+ */
+class PackageCompactor {
+
+    static final @NotNull String WILDCARD = "*";
+
+    private PackageCompactor() {
+    }
+
+    /**
+     * Returns the tests of the split sorted by time, where the tests of complete packages are replaced by a single test
+     * for the package with the summed up time.
+     */
+    static @NotNull List<TestCase> compact(
+            final @NotNull Collection<TestCase> splitTests,
+            final @NotNull Collection<TestCase> allTests) {
+        final var totalCounts = countPackages(allTests);
+        final var splitCounts = countPackages(splitTests);
+        final var packages = new LinkedHashMap<String, List<TestCase>>();
+        final var result = new ArrayList<TestCase>(splitTests.size());
+        for (final var testCase : splitTests) {
+            final var completePackage = findCompletePackage(testCase, totalCounts, splitCounts);
+            if (completePackage != null) {
+                packages.computeIfAbsent(completePackage, k -> new ArrayList<>()).add(testCase);
+            } else {
+                result.add(testCase);
+            }
+        }
+        packages.forEach((packageName, testCases) -> result.add(new TestCase(packageName + "." + WILDCARD,
+                testCases.stream().mapToDouble(TestCase::time).sum())));
+        result.sort(Comparator.reverseOrder());
+        return result;
+    }
+
+    private static @Nullable String findCompletePackage(
+            final @NotNull TestCase testCase,
+            final @NotNull Map<String, Integer> totalCounts,
+            final @NotNull Map<String, Integer> splitCounts) {
+        final var className = className(testCase);
+        var index = className.indexOf('.');
+        while (index != -1) {
+            final var packageName = className.substring(0, index);
+            final int splitCount = splitCounts.get(packageName);
+            if (splitCount > 1 && splitCount == totalCounts.getOrDefault(packageName, 0)) {
+                return packageName;
+            }
+            index = className.indexOf('.', index + 1);
+        }
+        return null;
+    }
+
+    private static @NotNull Map<String, Integer> countPackages(final @NotNull Collection<TestCase> testCases) {
+        final var counts = new HashMap<String, Integer>();
+        for (final var testCase : testCases) {
+            final var className = className(testCase);
+            var index = className.indexOf('.');
+            while (index != -1) {
+                counts.merge(className.substring(0, index), 1, Integer::sum);
+                index = className.indexOf('.', index + 1);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the test class name of a test, which is a test class or a group of test methods like {@code FooTest#1}.
+     */
+    @VisibleForTesting
+    static @NotNull String className(final @NotNull TestCase testCase) {
+        final var index = testCase.name().indexOf('#');
+        return index == -1 ? testCase.name() : testCase.name().substring(0, index);
+    }
+}
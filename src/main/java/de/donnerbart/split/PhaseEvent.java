@@ -0,0 +1,28 @@
+package de.donnerbart.split;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a phase of the tool, e.g. the parsing of the JUnit reports.
+ */
+@Name("de.donnerbart.split.Phase")
+@Label("Phase")
+@Category("split-tests-java")
+@Description("A phase of split-tests-java")
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Files")
+    long files;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+}
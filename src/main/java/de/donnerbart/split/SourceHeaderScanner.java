@@ -0,0 +1,346 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scans the header of a Java source file up to the name of the first type declaration, without building an AST.
+ * <p>
+ * The scanner only understands the package declaration, the imports and the modifiers and annotations of a top-level
+ * class or interface. For everything else (e.g. an enum or record as first type, Unicode escapes or unexpected tokens)
+ * the file is considered ambiguous and {@code null} is returned, so the caller can fall back to a full parser.
+ * <p>
+ * The rest of the file is not read, so the scanning time doesn't depend on the length of the test class. As a
+ * trade-off, syntax errors after the class name (e.g. a missing brace) are not detected, but left to the compiler.
+ * Syntax errors in the header make it ambiguous, so the full parser reports them.
+ */
+class SourceHeaderScanner {
+
+    private static final @NotNull Set<String> MODIFIERS =
+            Set.of("public", "protected", "private", "static", "final", "strictfp", "sealed");
+
+    private static final int EOF = -1;
+
+    record Header(
+            @NotNull String className,
+            boolean isInterface,
+            boolean isAbstract,
+            @NotNull Set<String> imports,
+            @NotNull List<String> annotations) {
+    }
+
+    /**
+     * Thrown internally when the header cannot be scanned unambiguously.
+     */
+    private static class AmbiguousSourceException extends Exception {
+
+        AmbiguousSourceException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final @NotNull PushbackReader reader;
+    private @Nullable String pushedBackToken;
+
+    private SourceHeaderScanner(final @NotNull Reader reader) {
+        this.reader = new PushbackReader(reader, 2);
+    }
+
+    /**
+     * Returns the header of the given Java source file, or {@code null} if the header is ambiguous.
+     */
+    static @Nullable Header scan(final @NotNull Path path) throws IOException {
+        try (final var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return new SourceHeaderScanner(reader).scanHeader();
+        } catch (final CharacterCodingException | AmbiguousSourceException e) {
+            return null;
+        }
+    }
+
+    private @NotNull Header scanHeader() throws IOException, AmbiguousSourceException {
+        var token = nextToken();
+        // package declaration
+        var packageName = "";
+        if (token.equals("package")) {
+            packageName = qualifiedName(nextToken(), false);
+            expect(";");
+            token = nextToken();
+        }
+        // import declarations
+        final var imports = new HashSet<String>();
+        while (token.equals("import") || token.equals(";")) {
+            if (token.equals("import")) {
+                token = nextToken();
+                if (token.equals("static")) {
+                    token = nextToken();
+                }
+                imports.add(qualifiedName(token, true));
+                expect(";");
+            }
+            token = nextToken();
+        }
+        // modifiers and annotations of the first type declaration
+        final var annotations = new ArrayList<String>();
+        var isAbstract = false;
+        while (true) {
+            if (token.equals("@")) {
+                final var annotationName = nextToken();
+                if (annotationName.equals("interface")) {
+                    throw new AmbiguousSourceException();
+                }
+                annotations.add(qualifiedName(annotationName, false));
+                token = nextToken();
+                if (token.equals("(")) {
+                    skipParentheses();
+                    token = nextToken();
+                }
+            } else if (token.equals("abstract")) {
+                isAbstract = true;
+                token = nextToken();
+            } else if (MODIFIERS.contains(token)) {
+                token = nextToken();
+            } else if (token.equals("non")) {
+                expect("-");
+                expect("sealed");
+                token = nextToken();
+            } else if (token.equals("class") || token.equals("interface")) {
+                final var simpleName = nextToken();
+                if (!isIdentifier(simpleName)) {
+                    throw new AmbiguousSourceException();
+                }
+                // the name could be continued by a Unicode escape, which is rejected by the next token
+                if (nextToken().isEmpty()) {
+                    throw new AmbiguousSourceException();
+                }
+                final var className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+                return new Header(className, token.equals("interface"), isAbstract, imports, annotations);
+            } else {
+                // enum, record, unnamed class or anything unexpected
+                throw new AmbiguousSourceException();
+            }
+        }
+    }
+
+    private @NotNull String qualifiedName(final @NotNull String firstToken, final boolean allowAsterisk)
+            throws IOException, AmbiguousSourceException {
+        if (!isIdentifier(firstToken)) {
+            throw new AmbiguousSourceException();
+        }
+        final var name = new StringBuilder(firstToken);
+        while (true) {
+            final var token = nextToken();
+            if (!token.equals(".")) {
+                pushedBackToken = token;
+                return name.toString();
+            }
+            final var identifier = nextToken();
+            if (allowAsterisk && identifier.equals("*")) {
+                return name.toString();
+            }
+            if (!isIdentifier(identifier)) {
+                throw new AmbiguousSourceException();
+            }
+            name.append('.').append(identifier);
+        }
+    }
+
+    private void expect(final @NotNull String expected) throws IOException, AmbiguousSourceException {
+        if (!nextToken().equals(expected)) {
+            throw new AmbiguousSourceException();
+        }
+    }
+
+    /**
+     * Returns the next identifier or symbol, or an empty string at the end of the file.
+     */
+    private @NotNull String nextToken() throws IOException, AmbiguousSourceException {
+        if (pushedBackToken != null) {
+            final var token = pushedBackToken;
+            pushedBackToken = null;
+            return token;
+        }
+        final var c = skipWhitespaceAndComments();
+        if (c == EOF) {
+            return "";
+        }
+        if (!Character.isJavaIdentifierStart(c)) {
+            return String.valueOf((char) c);
+        }
+        final var identifier = new StringBuilder().append((char) c);
+        while (true) {
+            final var next = read();
+            if (next == EOF) {
+                return identifier.toString();
+            }
+            if (!Character.isJavaIdentifierPart(next)) {
+                reader.unread(next);
+                return identifier.toString();
+            }
+            identifier.append((char) next);
+        }
+    }
+
+    private int skipWhitespaceAndComments() throws IOException, AmbiguousSourceException {
+        while (true) {
+            final var c = read();
+            if (c == EOF) {
+                return EOF;
+            }
+            if (Character.isWhitespace(c) || c == '\uFEFF') {
+                continue;
+            }
+            if (c == '/' && skipComment()) {
+                continue;
+            }
+            if (c == '\\') {
+                // a backslash outside a literal is either a Unicode escape or invalid
+                throw new AmbiguousSourceException();
+            }
+            return c;
+        }
+    }
+
+    /**
+     * Skips a comment after a {@code /} character and returns {@code true}, or returns {@code false} if the
+     * character does not start a comment.
+     */
+    private boolean skipComment() throws IOException, AmbiguousSourceException {
+        final var c = read();
+        if (c == '/') {
+            while (true) {
+                final var next = readCommentCharacter();
+                if (next == EOF || next == '\n' || next == '\r') {
+                    return true;
+                }
+            }
+        }
+        if (c == '*') {
+            var previous = 0;
+            while (true) {
+                final var next = readCommentCharacter();
+                if (next == EOF) {
+                    throw new AmbiguousSourceException();
+                }
+                if (previous == '*' && next == '/') {
+                    return true;
+                }
+                previous = next;
+            }
+        }
+        if (c != EOF) {
+            reader.unread(c);
+        }
+        return false;
+    }
+
+    /**
+     * Skips the arguments of an annotation after the opening parenthesis.
+     */
+    private void skipParentheses() throws IOException, AmbiguousSourceException {
+        var depth = 1;
+        while (depth > 0) {
+            final var c = read();
+            switch (c) {
+                case EOF -> throw new AmbiguousSourceException();
+                case '(' -> depth++;
+                case ')' -> depth--;
+                case '"' -> skipStringLiteral();
+                case '\'' -> skipLiteral('\'');
+                case '/' -> skipComment();
+                case '\\' -> throw new AmbiguousSourceException();
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void skipStringLiteral() throws IOException, AmbiguousSourceException {
+        final var second = read();
+        if (second != '"') {
+            if (second != EOF) {
+                reader.unread(second);
+            }
+            skipLiteral('"');
+            return;
+        }
+        final var third = read();
+        if (third != '"') {
+            // empty string literal
+            if (third != EOF) {
+                reader.unread(third);
+            }
+            return;
+        }
+        // text block
+        var quotes = 0;
+        while (quotes < 3) {
+            final var c = read();
+            if (c == EOF) {
+                throw new AmbiguousSourceException();
+            } else if (c == '\\') {
+                skipEscapeSequence();
+                quotes = 0;
+            } else if (c == '"') {
+                quotes++;
+            } else {
+                quotes = 0;
+            }
+        }
+    }
+
+    private void skipLiteral(final char delimiter) throws IOException, AmbiguousSourceException {
+        while (true) {
+            final var c = read();
+            if (c == EOF || c == '\n' || c == '\r') {
+                throw new AmbiguousSourceException();
+            } else if (c == '\\') {
+                skipEscapeSequence();
+            } else if (c == delimiter) {
+                return;
+            }
+        }
+    }
+
+    private void skipEscapeSequence() throws IOException, AmbiguousSourceException {
+        final var c = read();
+        if (c == EOF || c == 'u') {
+            // Unicode escapes are translated before lexing and could terminate the literal
+            throw new AmbiguousSourceException();
+        }
+    }
+
+    private int readCommentCharacter() throws IOException, AmbiguousSourceException {
+        final var c = read();
+        if (c == '\\') {
+            final var next = read();
+            if (next == 'u') {
+                // Unicode escapes are translated before lexing and could terminate the comment
+                throw new AmbiguousSourceException();
+            }
+            if (next != EOF) {
+                reader.unread(next);
+            }
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        return reader.read();
+    }
+
+    private static boolean isIdentifier(final @NotNull String token) {
+        return !token.isEmpty() && Character.isJavaIdentifierStart(token.charAt(0));
+    }
+}
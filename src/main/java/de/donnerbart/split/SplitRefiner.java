@@ -0,0 +1,233 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.CostModel;
+import de.donnerbart.split.model.Split;
+import de.donnerbart.split.model.Splits;
+import de.donnerbart.split.model.TestTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static de.donnerbart.split.util.FormatUtil.formatTime;
+
+/**
+ * Improves the slowest split of a greedy test split by a local search.
+ * <p>
+ * In each step a single test is moved from the slowest split to another split, or a test of the slowest split is
+ * swapped with a faster test of another split. The other splits are tried in a random order, and the first split with
+ * an improvement is taken. The search stops if the slowest split cannot be improved anymore or the maximum number of
+ * steps is reached.
+ * <p>
+ * The result is deterministic for a given seed, so every split index calculates the same test split. The time budget
+ * is only a safety net, which fails the test split with exit code 1 instead of returning a test split that depends on
+ * the speed of the machine.
+ */
+class SplitRefiner {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(SplitRefiner.class);
+
+    /**
+     * The minimal improvement of the slowest split in seconds, so rounding errors cannot lead to endless changes.
+     */
+    private static final double MIN_IMPROVEMENT = 0.001d;
+
+    /**
+     * A move or swap of tests by their ids, where the id of the faster test is {@code -1} for a move.
+     */
+    private record Change(int slowerTest, int fasterTest, double improvement) {
+    }
+
+    private final int maxSteps;
+    private final @NotNull Duration timeBudget;
+    private final long seed;
+    private final @NotNull CostModel costModel;
+    private final @NotNull Consumer<Integer> exitCodeConsumer;
+
+    /**
+     * @param maxSteps         the maximum number of moves and swaps
+     * @param timeBudget       the time after which the refinement fails, or {@link Duration#ZERO} for no time limit
+     * @param exitCodeConsumer is called with exit code 1 if the refinement exceeds the time budget
+     */
+    SplitRefiner(
+            final int maxSteps,
+            final @NotNull Duration timeBudget,
+            final long seed,
+            final @NotNull CostModel costModel,
+            final @NotNull Consumer<Integer> exitCodeConsumer) {
+        this.maxSteps = maxSteps;
+        this.timeBudget = timeBudget;
+        this.seed = seed;
+        this.costModel = costModel;
+        this.exitCodeConsumer = exitCodeConsumer;
+    }
+
+    /**
+     * Refines the given splits. If the refinement exceeds the time budget, it is stopped and the exit code consumer is
+     * called with exit code 1.
+     */
+    void refine(final @NotNull Splits splits) {
+        if (splits.size() < 2) {
+            return;
+        }
+        final var start = System.nanoTime();
+        final var table = splits.table();
+        final var random = new Random(seed);
+        final var slowestSplitTimeBefore = splits.getSlowest().predictedTime();
+        var moves = 0;
+        var swaps = 0;
+        var converged = false;
+        while (!converged && moves + swaps < maxSteps) {
+            if (timeBudget.isPositive() && System.nanoTime() - start > timeBudget.toNanos()) {
+                LOG.error("The refinement of the test split exceeded the --refine-time-budget of {} ms after {} of " +
+                        "{} steps, lower --refine-steps or raise --refine-time-budget",
+                        timeBudget.toMillis(),
+                        moves + swaps,
+                        maxSteps);
+                exitCodeConsumer.accept(1);
+                break;
+            }
+            final var slowestSplit = splits.getSlowest();
+            final var slowestTests = sortedTests(slowestSplit);
+            final var otherSplits = new ArrayList<Split>(splits.size() - 1);
+            for (int i = 0; i < splits.size(); i++) {
+                if (splits.get(i) != slowestSplit) {
+                    otherSplits.add(splits.get(i));
+                }
+            }
+            Collections.shuffle(otherSplits, random);
+            converged = true;
+            for (final var otherSplit : otherSplits) {
+                final var change = findChange(table, slowestSplit, slowestTests, otherSplit);
+                if (change != null) {
+                    splits.move(change.slowerTest(), slowestSplit, otherSplit);
+                    if (change.fasterTest() != -1) {
+                        splits.move(change.fasterTest(), otherSplit, slowestSplit);
+                        swaps++;
+                    } else {
+                        moves++;
+                    }
+                    converged = false;
+                    break;
+                }
+            }
+        }
+        splits.recomputeTotalRecordedTimes();
+        final var slowestSplitTimeAfter = splits.getSlowest().predictedTime();
+        LOG.info("Refined the slowest split from {} to {} with {} moves and {} swaps in {} ms",
+                formatTime(slowestSplitTimeBefore),
+                formatTime(slowestSplitTimeAfter),
+                moves,
+                swaps,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (!converged && moves + swaps >= maxSteps) {
+            LOG.info("The refinement of the test split was stopped after the maximum of {} steps", maxSteps);
+        }
+    }
+
+    /**
+     * Returns the best move or swap between the slowest split and the given split, or {@code null} if there is no
+     * improvement.
+     */
+    private @Nullable Change findChange(
+            final @NotNull TestTable table,
+            final @NotNull Split slowestSplit,
+            final int @NotNull [] slowestTests,
+            final @NotNull Split otherSplit) {
+        final var gap = slowestSplit.predictedTime() - otherSplit.predictedTime();
+        if (gap <= MIN_IMPROVEMENT) {
+            return null;
+        }
+        // a shifted recorded time changes the predicted times of the splits divided by their weights
+        final var slowestFactor = 1d / slowestSplit.weight();
+        final var otherFactor = 1d / otherSplit.weight();
+        // the ideal change makes both splits equally fast
+        final var target = gap / (slowestFactor + otherFactor);
+        Change bestChange = null;
+        // move a single test
+        final var index = search(table, slowestTests, target - costModel.testOverhead());
+        for (final var candidate : new int[]{index - 1, index}) {
+            if (candidate >= 0 && candidate < slowestTests.length) {
+                final var test = slowestTests[candidate];
+                final var shiftedTime = table.time(test) + costModel.testOverhead();
+                bestChange = better(bestChange,
+                        new Change(test, -1, improvement(gap, shiftedTime, slowestFactor, otherFactor)));
+            }
+        }
+        // swap a test with a faster one
+        final var otherTests = sortedTests(otherSplit);
+        for (final var test : slowestTests) {
+            final var otherIndex = search(table, otherTests, table.time(test) - target);
+            for (final var candidate : new int[]{otherIndex - 1, otherIndex}) {
+                if (candidate >= 0 && candidate < otherTests.length) {
+                    final var otherTest = otherTests[candidate];
+                    final var shiftedTime = table.time(test) - table.time(otherTest);
+                    bestChange = better(bestChange,
+                            new Change(test,
+                                    otherTest,
+                                    improvement(gap, shiftedTime, slowestFactor, otherFactor)));
+                }
+            }
+        }
+        return bestChange != null && bestChange.improvement() > MIN_IMPROVEMENT ? bestChange : null;
+    }
+
+    /**
+     * Returns how much faster the slower of both splits gets, if the given recorded time is shifted from the slowest
+     * split.
+     */
+    private static double improvement(
+            final double gap,
+            final double shiftedTime,
+            final double slowestFactor,
+            final double otherFactor) {
+        if (shiftedTime <= 0d || shiftedTime * otherFactor >= gap) {
+            return 0d;
+        }
+        return Math.min(shiftedTime * slowestFactor, gap - shiftedTime * otherFactor);
+    }
+
+    private static @NotNull Change better(final @Nullable Change bestChange, final @NotNull Change change) {
+        if (bestChange == null || change.improvement() > bestChange.improvement()) {
+            return change;
+        }
+        return bestChange;
+    }
+
+    /**
+     * Returns the index of the first test with a time greater than or equal to the given time.
+     */
+    private static int search(final @NotNull TestTable table, final int @NotNull [] sortedTests, final double time) {
+        var low = 0;
+        var high = sortedTests.length;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (table.time(sortedTests[middle]) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the ids of the tests of the split in ascending order, i.e. ascending by time.
+     */
+    private static int @NotNull [] sortedTests(final @NotNull Split split) {
+        final var tests = split.sortedIds();
+        for (int i = 0, j = tests.length - 1; i < j; i++, j--) {
+            final var test = tests[i];
+            tests[i] = tests[j];
+            tests[j] = test;
+        }
+        return tests;
+    }
+}
@@ -0,0 +1,241 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.Split;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A pool of tests on a shared filesystem, which is used by all splits to share the tail of their tests.
+ * <p>
+ * Each split runs a static share of its slowest tests and publishes the remaining fast tests to the pool. A split that
+ * is done with its static share claims the tests from the pool, so fast runners take over the tail of slow runners.
+ * <p>
+ * A published test is a file in the {@code pending} directory. The file name starts with the test time, so the
+ * slowest tests are claimed first. A test is claimed by an atomic rename into the {@code leased/<split index>}
+ * directory, which only succeeds for a single split. The modification time of the leased file is the claim time.
+ * <p>
+ * The next claim of a split acknowledges its previous tests by an atomic rename into the {@code done/<split index>}
+ * directory. If a split doesn't claim again within the lease timeout, e.g. because it died, its tests are renamed back
+ * into the {@code pending} directory and claimed by another split. So the clocks of all runners must be in sync. As
+ * long as the pool is empty, but other splits still lease tests, a split has to wait before it is done.
+ * <p>
+ * The tests of each run of all splits are kept in a subdirectory of the pool directory, which is named by the run id.
+ * So tests of an earlier run, which were not claimed, are never handed out to a later run.
+ */
+class TailPool {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(TailPool.class);
+
+    private static final @NotNull String PENDING = "pending";
+    private static final @NotNull String LEASED = "leased";
+    private static final @NotNull String DONE = "done";
+    private static final @NotNull Pattern RUN_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+
+    private final @NotNull Path pendingDirectory;
+    private final @NotNull Path leasedDirectory;
+    private final @NotNull Path doneDirectory;
+
+    /**
+     * @param runId the unique id of this run of all splits, see {@link #isValidRunId(String)}
+     */
+    TailPool(final @NotNull Path poolDirectory, final @NotNull String runId) {
+        if (!isValidRunId(runId)) {
+            throw new IllegalArgumentException("Invalid run id: " + runId);
+        }
+        final var runDirectory = poolDirectory.resolve(runId);
+        this.pendingDirectory = runDirectory.resolve(PENDING);
+        this.leasedDirectory = runDirectory.resolve(LEASED);
+        this.doneDirectory = runDirectory.resolve(DONE);
+    }
+
+    /**
+     * Returns {@code true} if the run id can be used as directory name, i.e. it only contains letters, digits, dots,
+     * underscores and hyphens and doesn't start with a dot.
+     */
+    static boolean isValidRunId(final @NotNull String runId) {
+        return RUN_ID_PATTERN.matcher(runId).matches();
+    }
+
+    /**
+     * Returns the tail of the split, i.e. its fastest tests beyond the given share of its predicted time. The slowest
+     * test always stays in the split.
+     * <p>
+     * The static share includes the overheads of the cost model of the split, so a split with a high split overhead
+     * publishes more of its tests.
+     */
+    @VisibleForTesting
+    static @NotNull List<TestCase> tail(final @NotNull Split split, final double share) {
+        final var sortedTests = split.sortedTestCases();
+        final var staticTime = split.predictedTime() * share;
+        var totalRecordedTime = 0d;
+        for (int i = 0; i < sortedTests.size(); i++) {
+            totalRecordedTime += sortedTests.get(i).time();
+            if (split.costModel().predictedTime(totalRecordedTime, i + 1) / split.weight() >= staticTime) {
+                return sortedTests.subList(i + 1, sortedTests.size());
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Publishes the given tests to the pool.
+     */
+    void publish(final @NotNull List<TestCase> testCases) throws IOException {
+        Files.createDirectories(pendingDirectory);
+        for (final var testCase : testCases) {
+            final var tmpFile = Files.createTempFile(pendingDirectory.getParent(), PENDING, ".tmp");
+            try {
+                final var lines = new ArrayList<String>(testCase.testFilters().size() + 2);
+                lines.add(Double.toString(testCase.time()));
+                lines.add(testCase.name());
+                lines.addAll(testCase.testFilters());
+                Files.write(tmpFile, lines, StandardCharsets.UTF_8);
+                Files.move(tmpFile, pendingDirectory.resolve(fileName(testCase)), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+    }
+
+    /**
+     * Acknowledges the previously claimed tests of the split and claims up to the given number of tests from the pool,
+     * the slowest tests first. The expired leases of other splits are published to the pool again before.
+     *
+     * @return the claimed tests, an empty list if the pool is empty and no tests are leased, or {@code null} if the
+     * pool is empty, but some tests are still leased to other splits
+     */
+    @Nullable List<TestCase> claim(final int splitIndex, final int batchSize, final @NotNull Duration leaseTimeout)
+            throws IOException {
+        if (!Files.isDirectory(pendingDirectory)) {
+            return List.of();
+        }
+        final var leaseDirectory = leasedDirectory.resolve(Integer.toString(splitIndex));
+        acknowledge(leaseDirectory, doneDirectory.resolve(Integer.toString(splitIndex)));
+        final var leasedFiles = listLeasedFiles();
+        final var expiredBefore = Instant.now().minus(leaseTimeout);
+        for (final var leasedFile : leasedFiles) {
+            if (isExpired(leasedFile, expiredBefore)) {
+                try {
+                    Files.move(leasedFile,
+                            pendingDirectory.resolve(leasedFile.getFileName()),
+                            StandardCopyOption.ATOMIC_MOVE);
+                    LOG.warn("The lease of test {} of split {} expired, publishing it again",
+                            leasedFile.getFileName(),
+                            leasedFile.getParent().getFileName());
+                } catch (final NoSuchFileException | FileAlreadyExistsException e) {
+                    LOG.debug("Test {} was acknowledged or published again by another split", leasedFile.getFileName());
+                }
+            }
+        }
+        final List<Path> pendingFiles;
+        try (final var stream = Files.list(pendingDirectory)) {
+            pendingFiles = stream.sorted(Comparator.comparing((Path path) -> path.getFileName().toString())
+                    .reversed()).toList();
+        }
+        Files.createDirectories(leaseDirectory);
+        final var testCases = new ArrayList<TestCase>(batchSize);
+        for (final var pendingFile : pendingFiles) {
+            if (testCases.size() >= batchSize) {
+                break;
+            }
+            final var leasedFile = leaseDirectory.resolve(pendingFile.getFileName());
+            try {
+                // the claim time is set before the rename, so the lease can't be expired by another split meanwhile
+                Files.setLastModifiedTime(pendingFile, FileTime.from(Instant.now()));
+                Files.move(pendingFile, leasedFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final NoSuchFileException | FileAlreadyExistsException e) {
+                LOG.debug("Test {} was claimed by another split", pendingFile.getFileName());
+                continue;
+            }
+            final var lines = Files.readAllLines(leasedFile, StandardCharsets.UTF_8);
+            if (lines.size() < 2) {
+                throw new IOException("Invalid test in tail pool: " + leasedFile);
+            }
+            try {
+                testCases.add(new TestCase(lines.get(1),
+                        Double.parseDouble(lines.get(0)),
+                        List.copyOf(lines.subList(2, lines.size()))));
+            } catch (final NumberFormatException e) {
+                throw new IOException("Invalid test in tail pool: " + leasedFile, e);
+            }
+        }
+        if (testCases.isEmpty() && !listLeasedFiles().isEmpty()) {
+            return null;
+        }
+        return testCases;
+    }
+
+    private static void acknowledge(final @NotNull Path leaseDirectory, final @NotNull Path doneDirectory)
+            throws IOException {
+        if (!Files.isDirectory(leaseDirectory)) {
+            return;
+        }
+        final List<Path> leasedFiles;
+        try (final var stream = Files.list(leaseDirectory)) {
+            leasedFiles = stream.toList();
+        }
+        if (leasedFiles.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(doneDirectory);
+        for (final var leasedFile : leasedFiles) {
+            try {
+                Files.move(leasedFile, doneDirectory.resolve(leasedFile.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final NoSuchFileException e) {
+                LOG.warn("The lease of test {} expired before it was acknowledged", leasedFile.getFileName());
+            }
+        }
+    }
+
+    private @NotNull List<Path> listLeasedFiles() throws IOException {
+        if (!Files.isDirectory(leasedDirectory)) {
+            return List.of();
+        }
+        final List<Path> leaseDirectories;
+        try (final var stream = Files.list(leasedDirectory)) {
+            leaseDirectories = stream.toList();
+        }
+        final var leasedFiles = new ArrayList<Path>();
+        for (final var leaseDirectory : leaseDirectories) {
+            try (final var stream = Files.list(leaseDirectory)) {
+                stream.forEach(leasedFiles::add);
+            }
+        }
+        return leasedFiles;
+    }
+
+    private static boolean isExpired(final @NotNull Path leasedFile, final @NotNull Instant expiredBefore)
+            throws IOException {
+        try {
+            return !Files.getLastModifiedTime(leasedFile).toInstant().isAfter(expiredBefore);
+        } catch (final NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a file name that sorts by the test time, and is unique for the test.
+     */
+    private static @NotNull String fileName(final @NotNull TestCase testCase) {
+        return String.format("%015d-%s", Math.round(testCase.time() * 1000d), testCase.name());
+    }
+}
@@ -0,0 +1,176 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.TestClassFile.SkipReason;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An on-disk cache of the resolved test classes, so unchanged test files don't have to be parsed again.
+ * <p>
+ * By default a cache entry is valid, if the size and the last modified time of the test file are unchanged. With
+ * content hashing the last modified time is ignored and the SHA-256 hash of the file is compared instead. This is
+ * useful for fresh checkouts, where the modification time of every file is reset.
+ * <p>
+ * Only the entries of test files that were looked up are written back, so deleted test files are evicted. Test files
+ * that failed to parse are never cached.
+ * <p>
+ * This class is thread-safe.
+ */
+class TestClassCache {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(TestClassCache.class);
+
+    private static final @NotNull String HEADER = "split-tests-java-cache 1";
+    private static final @NotNull String NO_SKIP_REASON = "-";
+
+    @FunctionalInterface
+    interface Parser {
+
+        @NotNull TestClassFile parse(@NotNull Path testPath) throws Exception;
+    }
+
+    private record Entry(long size, long lastModified, @NotNull String hash, @NotNull TestClassFile testClassFile) {
+    }
+
+    private final @NotNull Path cacheFile;
+    private final boolean contentHash;
+    private final @NotNull Map<String, Entry> cachedEntries;
+    private final @NotNull Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private final @NotNull LongAdder hits = new LongAdder();
+    private final @NotNull LongAdder misses = new LongAdder();
+
+    private TestClassCache(
+            final @NotNull Path cacheFile,
+            final boolean contentHash,
+            final @NotNull Map<String, Entry> cachedEntries) {
+        this.cacheFile = cacheFile;
+        this.contentHash = contentHash;
+        this.cachedEntries = cachedEntries;
+    }
+
+    /**
+     * Loads the cache from the given file. A missing or unreadable cache file results in an empty cache.
+     */
+    static @NotNull TestClassCache load(final @NotNull Path cacheFile, final boolean contentHash) {
+        final var entries = new ConcurrentHashMap<String, Entry>();
+        if (Files.exists(cacheFile)) {
+            try (final var lines = Files.lines(cacheFile, StandardCharsets.UTF_8)) {
+                final var iterator = lines.iterator();
+                if (!iterator.hasNext() || !iterator.next().equals(HEADER)) {
+                    LOG.warn("Ignoring test class cache with unknown format: {}", cacheFile);
+                } else {
+                    iterator.forEachRemaining(line -> parseLine(entries, line));
+                }
+            } catch (final Exception e) {
+                LOG.warn("Failed to read test class cache {}", cacheFile, e);
+                entries.clear();
+            }
+        }
+        LOG.debug("Loaded {} entries from test class cache {}", entries.size(), cacheFile);
+        return new TestClassCache(cacheFile, contentHash, entries);
+    }
+
+    /**
+     * Returns the cached test class of the given test file, or parses the test file on a cache miss.
+     */
+    @NotNull TestClassFile get(final @NotNull Path testPath, final @NotNull Parser parser) throws Exception {
+        final var key = testPath.toString();
+        final var attributes = Files.readAttributes(testPath, BasicFileAttributes.class);
+        final var size = attributes.size();
+        final var lastModified = attributes.lastModifiedTime().toMillis();
+        final var hash = contentHash ? hash(testPath) : "";
+        final var cachedEntry = cachedEntries.get(key);
+        if (cachedEntry != null &&
+                cachedEntry.size() == size &&
+                (contentHash ? cachedEntry.hash().equals(hash) : cachedEntry.lastModified() == lastModified)) {
+            hits.increment();
+            currentEntries.put(key, cachedEntry);
+            return cachedEntry.testClassFile();
+        }
+        misses.increment();
+        final var testClassFile = parser.parse(testPath);
+        currentEntries.put(key, new Entry(size, lastModified, hash, testClassFile));
+        return testClassFile;
+    }
+
+    /**
+     * Writes the cache atomically to the cache file.
+     */
+    void save() throws IOException {
+        final var parent = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var tmpFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (final var writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (final var mapEntry : currentEntries.entrySet()) {
+                    final var key = mapEntry.getKey();
+                    if (key.indexOf('\t') != -1 || key.indexOf('\n') != -1 || key.indexOf('\r') != -1) {
+                        continue;
+                    }
+                    final var entry = mapEntry.getValue();
+                    final var skipReason = entry.testClassFile().skipReason();
+                    writer.write(String.join("\t",
+                            key,
+                            Long.toString(entry.size()),
+                            Long.toString(entry.lastModified()),
+                            entry.hash(),
+                            skipReason == null ? NO_SKIP_REASON : skipReason.name(),
+                            entry.testClassFile().className()));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+        LOG.debug("Saved {} entries to test class cache {}", currentEntries.size(), cacheFile);
+    }
+
+    void logStatistics() {
+        LOG.info("Test class cache: {} hits, {} misses", hits.sum(), misses.sum());
+    }
+
+    private static void parseLine(final @NotNull Map<String, Entry> entries, final @NotNull String line) {
+        final var fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            return;
+        }
+        try {
+            final var skipReason = fields[4].equals(NO_SKIP_REASON) ? null : SkipReason.valueOf(fields[4]);
+            entries.put(fields[0],
+                    new Entry(Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]),
+                            fields[3],
+                            new TestClassFile(fields[5], skipReason)));
+        } catch (final IllegalArgumentException e) {
+            LOG.debug("Ignoring invalid test class cache entry: {}", line);
+        }
+    }
+
+    private static @NotNull String hash(final @NotNull Path testPath) throws Exception {
+        final var digest = MessageDigest.getInstance("SHA-256");
+        final var buffer = new byte[8192];
+        try (final var inputStream = Files.newInputStream(testPath)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
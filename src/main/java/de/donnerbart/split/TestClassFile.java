@@ -0,0 +1,20 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The resolved test class of a test file.
+ *
+ * @param className  the fully qualified class name
+ * @param skipReason the reason to skip the test class, or {@code null} if it's a valid test class
+ */
+record TestClassFile(@NotNull String className, @Nullable SkipReason skipReason) {
+
+    enum SkipReason {
+        INTERFACE,
+        ABSTRACT,
+        DISABLED,
+        NESTED
+    }
+}
@@ -0,0 +1,276 @@
+package de.donnerbart.split;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ArrayType;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static de.donnerbart.split.util.FormatUtil.formatTime;
+
+/**
+ * Splits test classes with a recorded time above a threshold into groups of test methods, so a single slow test class
+ * can be distributed over several splits.
+ * <p>
+ * A test class is split into as many groups as needed to get below the threshold, limited by the number of test
+ * methods. The time of the test class that is not recorded for any test method (e.g. the class setup) is added to
+ * every group, since each group runs it again.
+ * <p>
+ * A test class is only split, if every test method in its source file has a recorded time. Otherwise a new test
+ * method would not be selected by any group. Test classes with nested classes are never split.
+ * <p>
+ * The test filter of a test method with parameters contains the fully qualified parameter types, e.g.
+ * {@code com.example.FooTest.testBar(int,java.lang.String)}, so the JUnit Platform can select a parameterized or an
+ * overloaded test method. All overloads of a test method are in the same group, since their recorded times cannot be
+ * told apart. A test class is not split, if the parameter types of a test method cannot be resolved from the imports.
+ */
+class TestClassSplitter {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(TestClassSplitter.class);
+
+    private static final @NotNull Set<String> TEST_ANNOTATIONS =
+            Set.of("Test", "ParameterizedTest", "RepeatedTest", "TestFactory", "TestTemplate");
+
+    private final double threshold;
+    private final @NotNull JavaParser javaParser = new JavaParser();
+
+    TestClassSplitter(final double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the given test cases, with the test classes above the threshold replaced by groups of test methods.
+     */
+    @NotNull Set<TestCase> split(
+            final @NotNull Set<TestCase> testCases,
+            final @NotNull Map<String, List<TestCase>> testMethods,
+            final @NotNull Set<Path> testPaths) {
+        final var result = new HashSet<TestCase>(testCases.size());
+        for (final var testCase : testCases) {
+            final var recordedTestMethods = testMethods.get(testCase.name());
+            if (testCase.time() <= threshold || recordedTestMethods == null || recordedTestMethods.size() < 2) {
+                result.add(testCase);
+                continue;
+            }
+            final var selectors = findTestMethodSelectors(testCase.name(), recordedTestMethods, testPaths);
+            if (selectors == null) {
+                LOG.info("Not splitting test class {}, since not all of its test methods have a recorded time " +
+                        "or can be selected", testCase.name());
+                result.add(testCase);
+                continue;
+            }
+            final var groups = splitTestClass(testCase, recordedTestMethods, selectors);
+            LOG.info("Splitting test class {} ({}) into {} groups of test methods",
+                    testCase.name(),
+                    formatTime(testCase.time()),
+                    groups.size());
+            result.addAll(groups);
+        }
+        return result;
+    }
+
+    private @NotNull List<TestCase> splitTestClass(
+            final @NotNull TestCase testClass,
+            final @NotNull List<TestCase> testMethods,
+            final @NotNull Map<String, List<String>> selectors) {
+        final var groupCount = (int) Math.min(Math.ceil(testClass.time() / threshold), testMethods.size());
+        final var methodTime = testMethods.stream().mapToDouble(TestCase::time).sum();
+        final var classTime = Math.max(0d, testClass.time() - methodTime);
+        // distribute the test methods like the test split, slowest first to the fastest group
+        final var groupTimes = new double[groupCount];
+        final var groupFilters = new ArrayList<List<String>>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            groupTimes[i] = classTime;
+            groupFilters.add(new ArrayList<>());
+        }
+        testMethods.stream().sorted(Comparator.reverseOrder()).forEach(testMethod -> {
+            var fastestGroup = 0;
+            for (int i = 1; i < groupCount; i++) {
+                if (groupTimes[i] < groupTimes[fastestGroup]) {
+                    fastestGroup = i;
+                }
+            }
+            groupTimes[fastestGroup] += testMethod.time();
+            // an inherited test method is not declared in the source file, so it's selected by its name
+            for (final var selector : selectors.getOrDefault(testMethod.name(), List.of(testMethod.name()))) {
+                groupFilters.get(fastestGroup).add(testClass.name() + "." + selector);
+            }
+        });
+        final var groups = new ArrayList<TestCase>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            final var filters = groupFilters.get(i).stream().sorted().toList();
+            final var group = new TestCase(testClass.name() + "#" + (i + 1), groupTimes[i], filters);
+            LOG.debug("Adding test method group {} [{}]: {}", group.name(), formatTime(group.time()), filters);
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Checks that every test method in the source file of the test class is contained in the recorded test methods.
+     *
+     * @return the selectors of the test methods in the source file by their name, e.g. {@code testBar} or
+     * {@code testBar(int,java.lang.String)}, or {@code null} if the test class cannot be split
+     */
+    private @Nullable Map<String, List<String>> findTestMethodSelectors(
+            final @NotNull String className,
+            final @NotNull List<TestCase> recordedTestMethods,
+            final @NotNull Set<Path> testPaths) {
+        final var relativePath = className.replace('.', '/') + ".java";
+        final var testPath = testPaths.stream().filter(path -> path.endsWith(relativePath)).findFirst().orElse(null);
+        if (testPath == null) {
+            LOG.debug("Found no test file for test class {}", className);
+            return null;
+        }
+        try {
+            final var compilationUnit = javaParser.parse(testPath).getResult().orElseThrow();
+            final var simpleName = className.substring(className.lastIndexOf('.') + 1);
+            final var declaration = compilationUnit.getTypes()
+                    .stream()
+                    .filter(type -> type.getNameAsString().equals(simpleName))
+                    .findFirst()
+                    .orElseThrow();
+            if (declaration.getMembers().stream().anyMatch(TypeDeclaration.class::isInstance)) {
+                LOG.debug("Test class {} has nested classes", className);
+                return null;
+            }
+            if (!(declaration instanceof final ClassOrInterfaceDeclaration classDeclaration)) {
+                return null;
+            }
+            final var recordedNames = new HashSet<String>();
+            recordedTestMethods.forEach(testMethod -> recordedNames.add(testMethod.name()));
+            final var selectors = new HashMap<String, List<String>>();
+            for (final var method : classDeclaration.getMethods()) {
+                if (!isTestMethod(method)) {
+                    continue;
+                }
+                if (!recordedNames.contains(method.getNameAsString())) {
+                    return null;
+                }
+                final var parameterTypes = resolveParameterTypes(compilationUnit, classDeclaration, method);
+                if (parameterTypes == null) {
+                    LOG.debug("Failed to resolve the parameter types of test method {}.{}",
+                            className,
+                            method.getNameAsString());
+                    return null;
+                }
+                selectors.computeIfAbsent(method.getNameAsString(), name -> new ArrayList<>())
+                        .add(method.getNameAsString() + parameterTypes);
+            }
+            return selectors;
+        } catch (final Exception e) {
+            LOG.debug("Failed to parse test file {}", testPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the comma separated fully qualified parameter types of the method in parentheses, an empty string if the
+     * method has no parameters, or {@code null} if a parameter type cannot be resolved.
+     */
+    private static @Nullable String resolveParameterTypes(
+            final @NotNull CompilationUnit compilationUnit,
+            final @NotNull ClassOrInterfaceDeclaration classDeclaration,
+            final @NotNull MethodDeclaration method) {
+        if (method.getParameters().isEmpty()) {
+            return "";
+        }
+        final var typeParameters = new HashSet<String>();
+        classDeclaration.getTypeParameters().stream().map(TypeParameter::getNameAsString).forEach(typeParameters::add);
+        method.getTypeParameters().stream().map(TypeParameter::getNameAsString).forEach(typeParameters::add);
+        final var parameterTypes = new StringJoiner(",", "(", ")");
+        for (final var parameter : method.getParameters()) {
+            final var parameterType = resolveType(compilationUnit, typeParameters, parameter.getType());
+            if (parameterType == null) {
+                return null;
+            }
+            parameterTypes.add(parameter.isVarArgs() ? parameterType + "[]" : parameterType);
+        }
+        return parameterTypes.toString();
+    }
+
+    private static @Nullable String resolveType(
+            final @NotNull CompilationUnit compilationUnit,
+            final @NotNull Set<String> typeParameters,
+            final @NotNull Type type) {
+        if (type instanceof PrimitiveType) {
+            return type.asString();
+        }
+        if (type instanceof final ArrayType arrayType) {
+            final var componentType = resolveType(compilationUnit, typeParameters, arrayType.getComponentType());
+            return componentType != null ? componentType + "[]" : null;
+        }
+        if (!(type instanceof final ClassOrInterfaceType classType)) {
+            return null;
+        }
+        if (classType.getScope().isPresent()) {
+            // a fully qualified type, but not a nested type like Map.Entry, which would need its binary name
+            final var name = classType.getNameWithScope();
+            final var packageName = name.substring(0, name.lastIndexOf('.'));
+            for (final var part : packageName.split("\\.")) {
+                if (!Character.isLowerCase(part.charAt(0))) {
+                    return null;
+                }
+            }
+            return name;
+        }
+        final var name = classType.getNameAsString();
+        if (typeParameters.contains(name)) {
+            return null;
+        }
+        for (final var importDeclaration : compilationUnit.getImports()) {
+            if (!importDeclaration.isStatic() &&
+                    !importDeclaration.isAsterisk() &&
+                    importDeclaration.getName().getIdentifier().equals(name)) {
+                return importDeclaration.getNameAsString();
+            }
+        }
+        if (isJavaLangType(name)) {
+            return "java.lang." + name;
+        }
+        if (compilationUnit.getImports()
+                .stream()
+                .anyMatch(importDeclaration -> !importDeclaration.isStatic() && importDeclaration.isAsterisk())) {
+            // the type might be imported by any of the on-demand imports
+            return null;
+        }
+        return compilationUnit.getPackageDeclaration()
+                .map(packageDeclaration -> packageDeclaration.getNameAsString() + "." + name)
+                .orElse(name);
+    }
+
+    private static boolean isJavaLangType(final @NotNull String name) {
+        try {
+            Class.forName("java.lang." + name, false, null);
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean isTestMethod(final @NotNull MethodDeclaration method) {
+        return method.getAnnotations()
+                .stream()
+                .anyMatch(annotation -> TEST_ANNOTATIONS.contains(annotation.getName().getIdentifier()));
+    }
+}
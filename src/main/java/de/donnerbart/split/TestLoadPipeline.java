@@ -0,0 +1,272 @@
+package de.donnerbart.split;
+
+import com.github.javaparser.JavaParser;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Loads the test classes and their recorded times in a pipeline of bounded queues, so the stages overlap:
+ * <ol>
+ *     <li>the walk of the working directory puts the test files and JUnit reports into their queues</li>
+ *     <li>the parser threads take the test files and put the class names into the join queue</li>
+ *     <li>the reader threads take the JUnit reports and put the recorded times into the join queue</li>
+ *     <li>the calling thread takes the class names and recorded times from the join queue</li>
+ * </ol>
+ * The paths of the test files and JUnit reports are not retained (except the test files for the method split), and a
+ * full queue blocks the previous stage. The read JUnit reports are sorted by their paths, so the first of multiple
+ * JUnit reports of the same test class is kept like in the batch loading.
+ * <p>
+ * Only the walk, the parsing and the reading overlap. The class names, the recorded times and the test files for the
+ * method split are collected in the {@link Result}, so the tests are split after the pipeline has ended.
+ */
+class TestLoadPipeline {
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(TestLoadPipeline.class);
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final @NotNull Path END_OF_PATHS = Path.of("");
+
+    /**
+     * The loaded test classes.
+     *
+     * @param classNames        the class names of the test files
+     * @param recordedTestCases the recorded test classes of all JUnit reports, in the order of their paths
+     * @param testMethods       the recorded test methods by the name of their test class
+     * @param testPaths         the test files, or an empty set if they are not retained
+     * @param testFileCount     the number of test files
+     * @param junitReportCount  the number of JUnit reports
+     */
+    record Result(
+            @NotNull Set<String> classNames,
+            @NotNull List<TestCase> recordedTestCases,
+            @NotNull Map<String, List<TestCase>> testMethods,
+            @NotNull Set<Path> testPaths,
+            int testFileCount,
+            int junitReportCount) {
+    }
+
+    private sealed interface Item {
+    }
+
+    private record ClassName(@NotNull String className) implements Item {
+    }
+
+    private record Recorded(@NotNull Path junitPath, @NotNull JUnitReport junitReport) implements Item {
+    }
+
+    private record End() implements Item {
+    }
+
+    private final @NotNull List<String> globs;
+    private final @NotNull List<String> excludeGlobs;
+    private final @Nullable String junitGlob;
+    private final @NotNull Path workingDirectory;
+    private final int threads;
+    private final @Nullable TestClassCache testClassCache;
+    private final @Nullable List<Path> trackedPaths;
+    private final boolean withTestMethods;
+
+    private final @NotNull BlockingQueue<Path> testPathQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final @NotNull BlockingQueue<Path> junitPathQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final @NotNull BlockingQueue<Item> joinQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final @NotNull AtomicReference<Exception> exception = new AtomicReference<>();
+    private final @NotNull AtomicBoolean parseFailed = new AtomicBoolean();
+    private final @NotNull AtomicInteger testFileCount = new AtomicInteger();
+    private final @NotNull AtomicInteger junitReportCount = new AtomicInteger();
+
+    /**
+     * @param junitGlob       the glob of the JUnit reports, or {@code null} if no JUnit reports are read
+     * @param trackedPaths    the tracked files of a {@link GitIndex}, or {@code null} if the test files are found by
+     *                        walking the working directory
+     * @param withTestMethods {@code true} if the test methods of the JUnit reports are read, and the test files are
+     *                        retained for the method split
+     */
+    TestLoadPipeline(
+            final @NotNull List<String> globs,
+            final @NotNull List<String> excludeGlobs,
+            final @Nullable String junitGlob,
+            final @NotNull Path workingDirectory,
+            final int threads,
+            final @Nullable TestClassCache testClassCache,
+            final @Nullable List<Path> trackedPaths,
+            final boolean withTestMethods) {
+        this.globs = globs;
+        this.excludeGlobs = excludeGlobs;
+        this.junitGlob = junitGlob;
+        this.workingDirectory = workingDirectory;
+        this.threads = threads;
+        this.testClassCache = testClassCache;
+        this.trackedPaths = trackedPaths;
+        this.withTestMethods = withTestMethods;
+    }
+
+    @NotNull Result run(final @NotNull Consumer<Integer> exitCodeConsumer, final @NotNull Metrics.Phase phase)
+            throws Exception {
+        final var junitReportReader = junitGlob != null ? new JUnitReportReader(withTestMethods) : null;
+        final var parserCount = threads;
+        final var readerCount = junitReportReader != null ? threads : 0;
+        final var testPaths = withTestMethods ? ConcurrentHashMap.<Path>newKeySet() : Set.<Path>of();
+        final var fileWalker = new FileWalker(workingDirectory);
+        final var testFileWalker = trackedPaths != null ? new FileWalker(workingDirectory) : fileWalker;
+        testFileWalker.stream(new GlobFilter(globs, excludeGlobs), testPath -> {
+            testFileCount.incrementAndGet();
+            if (withTestMethods) {
+                testPaths.add(testPath);
+            }
+            put(testPathQueue, testPath);
+        });
+        if (junitGlob != null) {
+            final var junitGlobFilter = new GlobFilter(List.of(junitGlob), List.of());
+            fileWalker.stream(junitGlobFilter, junitPath -> put(junitPathQueue, junitPath));
+        }
+        LOG.debug("Loading tests with {} parser threads and {} reader threads", parserCount, readerCount);
+        final var classNames = new HashSet<String>();
+        final var recorded = new ArrayList<Recorded>();
+        try (final var executor = Executors.newFixedThreadPool(1 + parserCount + readerCount)) {
+            executor.execute(() -> walk(testFileWalker, fileWalker, parserCount, readerCount));
+            for (int i = 0; i < parserCount; i++) {
+                executor.execute(this::parse);
+            }
+            for (int i = 0; i < readerCount; i++) {
+                executor.execute(() -> read(junitReportReader));
+            }
+            // join the class names and recorded times until every parser and reader has ended
+            var ends = 0;
+            while (ends < parserCount + readerCount) {
+                switch (joinQueue.take()) {
+                    case ClassName className -> classNames.add(className.className());
+                    case Recorded report -> recorded.add(report);
+                    case End ignored -> ends++;
+                }
+            }
+        }
+        if (exception.get() != null) {
+            throw exception.get();
+        }
+        // the exit code consumer is only called from the calling thread
+        if (parseFailed.get()) {
+            exitCodeConsumer.accept(1);
+        }
+        // the reader threads finish in any order, so the JUnit reports are sorted by their paths like in the batch
+        // loading, which keeps the first of multiple JUnit reports of the same test class
+        recorded.sort(Comparator.comparing(Recorded::junitPath));
+        final var recordedTestCases = new ArrayList<TestCase>(recorded.size());
+        final var testMethods = new HashMap<String, List<TestCase>>();
+        for (final var report : recorded) {
+            final var testSuite = report.junitReport().testSuite();
+            recordedTestCases.add(testSuite);
+            if (withTestMethods && !report.junitReport().testMethods().isEmpty()) {
+                testMethods.putIfAbsent(testSuite.name(), report.junitReport().testMethods());
+            }
+        }
+        if (junitReportReader != null) {
+            junitReportReader.logStatistics();
+            phase.bytesRead(junitReportReader.bytesRead());
+        }
+        return new Result(classNames,
+                recordedTestCases,
+                testMethods,
+                testPaths,
+                testFileCount.get(),
+                junitReportCount.get());
+    }
+
+    private void walk(
+            final @NotNull FileWalker testFileWalker,
+            final @NotNull FileWalker fileWalker,
+            final int parserCount,
+            final int readerCount) {
+        try {
+            if (trackedPaths != null) {
+                testFileWalker.visit(trackedPaths);
+            }
+            fileWalker.walk(threads);
+        } catch (final Exception e) {
+            exception.compareAndSet(null, e);
+        } finally {
+            // every parser and reader takes one end marker
+            for (int i = 0; i < parserCount; i++) {
+                put(testPathQueue, END_OF_PATHS);
+            }
+            for (int i = 0; i < readerCount; i++) {
+                put(junitPathQueue, END_OF_PATHS);
+            }
+        }
+    }
+
+    private void parse() {
+        // JavaParser is not thread-safe, so every parser thread uses its own instance
+        final var javaParser = new JavaParser();
+        try {
+            Path testPath;
+            while ((testPath = testPathQueue.take()) != END_OF_PATHS) {
+                try {
+                    final var className = TestLoader.resolveClassName(javaParser, testPath, testClassCache);
+                    if (className != null) {
+                        put(joinQueue, new ClassName(className));
+                    }
+                } catch (final Exception e) {
+                    LOG.error("Failed to parse test class {}", testPath, e);
+                    parseFailed.set(true);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exception.compareAndSet(null, e);
+        } finally {
+            put(joinQueue, new End());
+        }
+    }
+
+    private void read(final @NotNull JUnitReportReader junitReportReader) {
+        try {
+            Path junitPath;
+            while ((junitPath = junitPathQueue.take()) != END_OF_PATHS) {
+                junitReportCount.incrementAndGet();
+                // keep taking the JUnit reports after a failure, so the walk is not blocked
+                if (exception.get() == null) {
+                    try {
+                        put(joinQueue, new Recorded(junitPath, junitReportReader.readReport(junitPath)));
+                    } catch (final Exception e) {
+                        exception.compareAndSet(null, e);
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exception.compareAndSet(null, e);
+        } finally {
+            put(joinQueue, new End());
+        }
+    }
+
+    private static <T> void put(final @NotNull BlockingQueue<T> queue, final @NotNull T item) {
+        try {
+            queue.put(item);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the test load pipeline", e);
+        }
+    }
+}
@@ -1,26 +1,34 @@
 package de.donnerbart.split;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithName;
+import de.donnerbart.split.TestClassFile.SkipReason;
 import de.donnerbart.split.model.TestCase;
-import de.donnerbart.split.model.TestSuite;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import static de.donnerbart.split.util.FormatUtil.formatTime;
@@ -30,149 +38,287 @@ public class TestLoader {
     private static final @NotNull Set<String> SKIP_TEST_IMPORTS =
             Set.of("org.junit.jupiter.api.Disabled", "org.junit.Ignore");
     private static final @NotNull Set<String> SKIP_TEST_ANNOTATIONS = Set.of("Disabled", "Ignore");
+    private static final @NotNull String CLASS_FILE_EXTENSION = ".class";
 
     private static final @NotNull Logger LOG = LoggerFactory.getLogger(TestLoader.class);
 
-    private final @NotNull String glob;
-    private final @Nullable String excludeGlob;
+    private final @NotNull List<String> globs;
+    private final @NotNull List<String> excludeGlobs;
     private final @Nullable String junitGlob;
     private final @NotNull NewTestTimeOption newTestTimeOption;
     private final @NotNull Path workingDirectory;
+    private final int threads;
+    private final @Nullable Path cacheFile;
+    private final boolean cacheContentHash;
+    private final @Nullable Path timingIndex;
+    private final double methodSplitThreshold;
+    private final boolean pipeline;
+    private final boolean gitIndex;
     private final @NotNull Consumer<Integer> exitCodeConsumer;
 
     public TestLoader(
-            final @NotNull String glob,
-            final @Nullable String excludeGlob,
+            final @NotNull List<String> globs,
+            final @NotNull List<String> excludeGlobs,
             final @Nullable String junitGlob,
             final @NotNull NewTestTimeOption newTestTimeOption,
             final @NotNull Path workingDirectory,
+            final int threads,
+            final @Nullable Path cacheFile,
+            final boolean cacheContentHash,
+            final @Nullable Path timingIndex,
+            final double methodSplitThreshold,
+            final boolean pipeline,
+            final boolean gitIndex,
             final @NotNull Consumer<Integer> exitCodeConsumer) {
-        this.glob = glob;
-        this.excludeGlob = excludeGlob;
+        this.globs = globs;
+        this.excludeGlobs = excludeGlobs;
         this.junitGlob = junitGlob;
         this.newTestTimeOption = newTestTimeOption;
         this.workingDirectory = workingDirectory;
+        this.threads = threads;
+        this.cacheFile = cacheFile;
+        this.cacheContentHash = cacheContentHash;
+        this.timingIndex = timingIndex;
+        this.methodSplitThreshold = methodSplitThreshold;
+        this.pipeline = pipeline;
+        this.gitIndex = gitIndex;
         this.exitCodeConsumer = exitCodeConsumer;
     }
 
     public @NotNull Set<TestCase> load() throws Exception {
-        final var testPaths = getPaths(workingDirectory, glob, excludeGlob);
-        final var classNames = fileToClassName(testPaths, exitCodeConsumer);
+        return load(new Metrics());
+    }
+
+    @NotNull Set<TestCase> load(final @NotNull Metrics metrics) throws Exception {
+        final var testClassCache = cacheFile != null ? TestClassCache.load(cacheFile, cacheContentHash) : null;
+        final var trackedPaths = gitIndex ? readGitIndex(metrics) : null;
+        if (pipeline) {
+            return loadWithPipeline(metrics, testClassCache, trackedPaths);
+        }
+        // with multiple threads the test files are parsed while the working directory is walked
+        final var testFileParser = threads > 1 ? new TestFileParser(threads, testClassCache) : null;
+        final var fileWalker = new FileWalker(workingDirectory);
+        // the tracked files replace the walk for the test files, but the JUnit reports are not tracked
+        final var testFileWalker = trackedPaths != null ? new FileWalker(workingDirectory) : fileWalker;
+        final var testPaths = testFileWalker.register(new GlobFilter(globs, excludeGlobs),
+                testFileParser != null ? testFileParser::submit : null);
+        final var junitPaths = timingIndex == null && junitGlob != null ?
+                fileWalker.register(new GlobFilter(List.of(junitGlob), List.of())) :
+                null;
+        final Set<String> classNames;
+        if (testFileParser != null) {
+            // the test files are parsed while the working directory is walked, so both are measured as one phase
+            try (final var phase = metrics.phase("walk and source parse")) {
+                walk(fileWalker, testFileWalker, trackedPaths, testFileParser, exitCodeConsumer);
+                classNames = testFileParser.await(exitCodeConsumer);
+                saveTestClassCache(testClassCache);
+                phase.files(testPaths.size() + (junitPaths != null ? junitPaths.size() : 0));
+            }
+        } else {
+            try (final var phase = metrics.phase("walk")) {
+                walk(fileWalker, testFileWalker, trackedPaths, null, exitCodeConsumer);
+                phase.files(testPaths.size() + (junitPaths != null ? junitPaths.size() : 0));
+            }
+            try (final var phase = metrics.phase("source parse")) {
+                classNames = fileToClassName(testPaths, exitCodeConsumer, 1, testClassCache);
+                saveTestClassCache(testClassCache);
+                phase.files(testPaths.size());
+            }
+        }
+        logTestClasses(classNames);
+
+        final var testCases = new HashSet<TestCase>();
+        final var testMethods = new HashMap<String, List<TestCase>>();
+        if (timingIndex != null) {
+            testCases.addAll(loadTimingIndex(metrics, timingIndex, classNames));
+        } else if (junitPaths != null) {
+            // analyze JUnit reports
+            LOG.info("Found {} JUnit report files", junitPaths.size());
+            try (final var phase = metrics.phase("report parse")) {
+                testCases.addAll(loadJUnitReports(junitPaths,
+                        classNames,
+                        threads,
+                        methodSplitThreshold > 0 ? testMethods : null,
+                        phase));
+                phase.files(junitPaths.size());
+            }
+        }
+        return addNewTests(metrics, classNames, testCases, testMethods, testPaths);
+    }
+
+    private void walk(
+            final @NotNull FileWalker fileWalker,
+            final @NotNull FileWalker testFileWalker,
+            final @Nullable List<Path> trackedPaths,
+            final @Nullable TestFileParser testFileParser,
+            final @NotNull Consumer<Integer> exitCodeConsumer) throws Exception {
+        try {
+            if (trackedPaths != null) {
+                testFileWalker.visit(trackedPaths);
+            }
+            fileWalker.walk(threads);
+        } catch (final Exception e) {
+            if (testFileParser != null) {
+                testFileParser.await(exitCodeConsumer);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the tests with a {@link TestLoadPipeline}, which gives the same result as the batch loading.
+     */
+    private @NotNull Set<TestCase> loadWithPipeline(
+            final @NotNull Metrics metrics,
+            final @Nullable TestClassCache testClassCache,
+            final @Nullable List<Path> trackedPaths) throws Exception {
+        final var withJUnitReports = timingIndex == null && junitGlob != null;
+        final TestLoadPipeline.Result result;
+        try (final var phase = metrics.phase("pipeline")) {
+            result = new TestLoadPipeline(globs,
+                    excludeGlobs,
+                    withJUnitReports ? junitGlob : null,
+                    workingDirectory,
+                    threads,
+                    testClassCache,
+                    trackedPaths,
+                    withJUnitReports && methodSplitThreshold > 0).run(exitCodeConsumer, phase);
+            saveTestClassCache(testClassCache);
+            phase.files(result.testFileCount() + result.junitReportCount());
+        }
+        final var classNames = result.classNames();
+        logTestClasses(classNames);
+
+        final var testCases = new HashSet<TestCase>();
+        if (timingIndex != null) {
+            testCases.addAll(loadTimingIndex(metrics, timingIndex, classNames));
+        } else if (withJUnitReports) {
+            LOG.info("Found {} JUnit report files", result.junitReportCount());
+            testCases.addAll(addRecordedTestCases(result.recordedTestCases(), classNames));
+        }
+        return addNewTests(metrics, classNames, testCases, result.testMethods(), result.testPaths());
+    }
+
+    /**
+     * Returns the tracked files of the git repository, or {@code null} if the working directory has to be walked.
+     */
+    private @Nullable List<Path> readGitIndex(final @NotNull Metrics metrics) {
+        try (final var phase = metrics.phase("git index")) {
+            final var index = GitIndex.find(workingDirectory);
+            if (index == null) {
+                LOG.warn("Found no git index, falling back to walking the working directory");
+                return null;
+            }
+            final var trackedPaths = index.read();
+            LOG.info("Found {} tracked files in git index {}", trackedPaths.size(), index.indexFile());
+            phase.files(trackedPaths.size()).bytesRead(Files.size(index.indexFile()));
+            return trackedPaths;
+        } catch (final IOException e) {
+            LOG.warn("Failed to read the git index, falling back to walking the working directory", e);
+            return null;
+        }
+    }
+
+    private static void saveTestClassCache(final @Nullable TestClassCache testClassCache) {
+        if (testClassCache != null) {
+            testClassCache.logStatistics();
+            try {
+                testClassCache.save();
+            } catch (final Exception e) {
+                LOG.warn("Failed to save test class cache", e);
+            }
+        }
+    }
+
+    private void logTestClasses(final @NotNull Set<String> classNames) {
         if (classNames.isEmpty()) {
             LOG.error("Found no test classes");
             exitCodeConsumer.accept(1);
         } else {
             LOG.info("Found {} test classes", classNames.size());
         }
+    }
+
+    /**
+     * Loads the timing index instead of the JUnit reports.
+     */
+    private static @NotNull Set<TestCase> loadTimingIndex(
+            final @NotNull Metrics metrics,
+            final @NotNull Path timingIndex,
+            final @NotNull Set<String> classNames) throws Exception {
+        try (final var phase = metrics.phase("timing index")) {
+            final var testCases = loadTimingIndex(timingIndex, classNames);
+            phase.files(1).bytesRead(Files.size(timingIndex));
+            return testCases;
+        }
+    }
 
-        final var testCases = new HashSet<TestCase>();
-        if (junitGlob != null) {
-            // analyze JUnit reports
-            final var junitPaths = getPaths(workingDirectory, junitGlob, null);
-            LOG.info("Found {} JUnit report files", junitPaths.size());
-            if (!junitPaths.isEmpty()) {
-                var fastestTest = new TestCase("", Double.MAX_VALUE);
-                var slowestTest = new TestCase("", Double.MIN_VALUE);
-                final var xmlMapper = new XmlMapper();
-                for (final var junitPath : junitPaths) {
-                    final var testSuite = xmlMapper.readValue(junitPath.toFile(), TestSuite.class);
-                    final var testCase = new TestCase(testSuite.getName(), testSuite.getTime());
-                    if (classNames.contains(testCase.name())) {
-                        if (testCases.add(testCase)) {
-                            LOG.debug("Adding test {} [{}]", testCase.name(), formatTime(testCase.time()));
-                            if (testCase.time() < fastestTest.time()) {
-                                fastestTest = testCase;
-                            }
-                            if (testCase.time() > slowestTest.time()) {
-                                slowestTest = testCase;
-                            }
-                        }
-                    } else {
-                        LOG.info("Skipping test {} from JUnit report", testCase.name());
-                    }
+    /**
+     * Adds the tests without timing records, and splits the slow test classes into groups of test methods.
+     */
+    private @NotNull Set<TestCase> addNewTests(
+            final @NotNull Metrics metrics,
+            final @NotNull Set<String> classNames,
+            final @NotNull Set<TestCase> testCases,
+            final @NotNull Map<String, List<TestCase>> testMethods,
+            final @NotNull Set<Path> testPaths) {
+        try (final var ignored = metrics.phase("new test estimation")) {
+            final var newTestTime = getNewTestTime(newTestTimeOption, testCases);
+            classNames.forEach(className -> {
+                final var testCase = new TestCase(className, newTestTime);
+                if (testCases.add(testCase)) {
+                    LOG.debug("Adding test {} [estimated {}]", testCase.name(), formatTime(testCase.time()));
                 }
-                LOG.debug("Found {} recorded test classes with time information", testCases.size());
-                LOG.debug("Fastest test class: {} ({})", fastestTest.name(), formatTime(fastestTest.time()));
-                LOG.debug("Slowest test class: {} ({})", slowestTest.name(), formatTime(slowestTest.time()));
-            }
+            });
         }
-        // add tests without timing records
-        final var newTestTime = getNewTestTime(newTestTimeOption, testCases);
-        classNames.forEach(className -> {
-            final var testCase = new TestCase(className, newTestTime);
-            if (testCases.add(testCase)) {
-                LOG.debug("Adding test {} [estimated {}]", testCase.name(), formatTime(testCase.time()));
+        if (!testMethods.isEmpty()) {
+            try (final var ignored = metrics.phase("method split")) {
+                return new TestClassSplitter(methodSplitThreshold).split(testCases, testMethods, testPaths);
             }
-        });
+        }
         return testCases;
     }
 
-    private static @NotNull Set<Path> getPaths(
+    @VisibleForTesting
+    static @NotNull Set<Path> getPaths(
             final @NotNull Path rootPath,
             final @NotNull String glob,
             final @Nullable String excludeGlob) throws Exception {
-        final var files = new HashSet<Path>();
-        final var includeMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
-        final var excludeMatcher = FileSystems.getDefault().getPathMatcher("glob:" + excludeGlob);
-        Files.walkFileTree(rootPath, new SimpleFileVisitor<>() {
-            @Override
-            public @NotNull FileVisitResult visitFile(
-                    final @NotNull Path path,
-                    final @NotNull BasicFileAttributes attributes) {
-                final var candidate = path.normalize();
-                if (includeMatcher.matches(candidate)) {
-                    if (excludeMatcher.matches(candidate)) {
-                        LOG.debug("Excluding test file {}", candidate);
-                    } else if (!Files.isReadable(candidate)) {
-                        LOG.debug("Ignoring unreadable file {}", candidate);
-                    } else {
-                        files.add(candidate);
-                    }
-                }
-                return FileVisitResult.CONTINUE;
-            }
+        return getPaths(rootPath, List.of(glob), excludeGlob != null ? List.of(excludeGlob) : List.of());
+    }
 
-            @Override
-            public @NotNull FileVisitResult visitFileFailed(final @NotNull Path path, final @NotNull IOException e) {
-                LOG.debug("Ignoring unreadable path {}", path.normalize());
-                return FileVisitResult.CONTINUE;
-            }
-        });
+    /**
+     * Returns the readable files which match any of the globs and none of the exclude globs. Directories which can't
+     * contain a match are skipped (see {@link GlobFilter}).
+     */
+    @VisibleForTesting
+    static @NotNull Set<Path> getPaths(
+            final @NotNull Path rootPath,
+            final @NotNull List<String> globs,
+            final @NotNull List<String> excludeGlobs) throws Exception {
+        final var fileWalker = new FileWalker(rootPath);
+        final var files = fileWalker.register(new GlobFilter(globs, excludeGlobs));
+        fileWalker.walk(1);
         return files;
     }
 
-    private static @NotNull Set<String> fileToClassName(
+    @VisibleForTesting
+    static @NotNull Set<String> fileToClassName(
             final @NotNull Set<Path> testPaths,
-            final @NotNull Consumer<Integer> exitCodeConsumer) {
+            final @NotNull Consumer<Integer> exitCodeConsumer,
+            final int threads,
+            final @Nullable TestClassCache testClassCache) {
+        if (threads > 1 && testPaths.size() > 1) {
+            return fileToClassNameParallel(testPaths, exitCodeConsumer, threads, testClassCache);
+        }
         final var javaParser = new JavaParser();
         final var classNames = new HashSet<String>();
         for (final var testPath : testPaths) {
             try {
-                final var compilationUnit = javaParser.parse(testPath).getResult().orElseThrow();
-                final var declaration = compilationUnit.findFirst(ClassOrInterfaceDeclaration.class).orElseThrow();
-                final var className = declaration.getFullyQualifiedName().orElseThrow();
-                if (declaration.isInterface()) {
-                    LOG.info("Skipping interface {}", className);
-                    continue;
-                } else if (declaration.isAbstract()) {
-                    LOG.info("Skipping abstract class {}", className);
-                    continue;
-                }
-                final var hasSkipTestImport = compilationUnit.getImports()
-                        .stream()
-                        .map(NodeWithName::getNameAsString)
-                        .anyMatch(SKIP_TEST_IMPORTS::contains);
-                if (hasSkipTestImport) {
-                    final var hasSkipTestAnnotation = declaration.getAnnotations()
-                            .stream()
-                            .map(AnnotationExpr::getNameAsString)
-                            .anyMatch(SKIP_TEST_ANNOTATIONS::contains);
-                    if (hasSkipTestAnnotation) {
-                        LOG.info("Skipping disabled test class {}", className);
-                        continue;
-                    }
+                final var className = resolveClassName(javaParser, testPath, testClassCache);
+                if (className != null) {
+                    classNames.add(className);
                 }
-                classNames.add(className);
             } catch (final Exception e) {
                 LOG.error("Failed to parse test class {}", testPath, e);
                 exitCodeConsumer.accept(1);
@@ -181,6 +327,240 @@ public class TestLoader {
         return classNames;
     }
 
+    private static @NotNull Set<String> fileToClassNameParallel(
+            final @NotNull Set<Path> testPaths,
+            final @NotNull Consumer<Integer> exitCodeConsumer,
+            final int threads,
+            final @Nullable TestClassCache testClassCache) {
+        LOG.debug("Parsing {} test files with {} threads", testPaths.size(), threads);
+        final var testFileParser = new TestFileParser(Math.min(threads, testPaths.size()), testClassCache);
+        testPaths.forEach(testFileParser::submit);
+        return testFileParser.await(exitCodeConsumer);
+    }
+
+    /**
+     * Returns the fully qualified class name of the test class, or {@code null} if the test class should be skipped.
+     */
+    static @Nullable String resolveClassName(
+            final @NotNull JavaParser javaParser,
+            final @NotNull Path testPath,
+            final @Nullable TestClassCache testClassCache) throws Exception {
+        final var testClassFile = testClassCache != null ?
+                testClassCache.get(testPath, path -> parseTestClassFile(javaParser, path)) :
+                parseTestClassFile(javaParser, testPath);
+        final var skipReason = testClassFile.skipReason();
+        if (skipReason == null) {
+            return testClassFile.className();
+        }
+        switch (skipReason) {
+            case INTERFACE -> LOG.info("Skipping interface {}", testClassFile.className());
+            case ABSTRACT -> LOG.info("Skipping abstract class {}", testClassFile.className());
+            case DISABLED -> LOG.info("Skipping disabled test class {}", testClassFile.className());
+            case NESTED -> LOG.debug("Skipping nested class {}", testClassFile.className());
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the test class of the test file.
+     * <p>
+     * A compiled class file is scanned by the {@link ClassFileScanner}. For a source file only the header of the file
+     * is scanned, unless it's ambiguous. Then the full file is parsed with JavaParser.
+     */
+    private static @NotNull TestClassFile parseTestClassFile(
+            final @NotNull JavaParser javaParser,
+            final @NotNull Path testPath) throws Exception {
+        if (testPath.getFileName().toString().endsWith(CLASS_FILE_EXTENSION)) {
+            return toTestClassFile(ClassFileScanner.scan(testPath));
+        }
+        final var header = SourceHeaderScanner.scan(testPath);
+        if (header != null) {
+            return toTestClassFile(header.className(),
+                    header.isInterface(),
+                    header.isAbstract(),
+                    header.imports(),
+                    header.annotations());
+        }
+        LOG.debug("Parsing test file {} with JavaParser", testPath);
+        final var compilationUnit = javaParser.parse(testPath).getResult().orElseThrow();
+        final var declaration = compilationUnit.findFirst(ClassOrInterfaceDeclaration.class).orElseThrow();
+        return toTestClassFile(declaration.getFullyQualifiedName().orElseThrow(),
+                declaration.isInterface(),
+                declaration.isAbstract(),
+                compilationUnit.getImports().stream().map(NodeWithName::getNameAsString).toList(),
+                declaration.getAnnotations().stream().map(AnnotationExpr::getNameAsString).toList());
+    }
+
+    private static @NotNull TestClassFile toTestClassFile(
+            final @NotNull String className,
+            final boolean isInterface,
+            final boolean isAbstract,
+            final @NotNull Collection<String> imports,
+            final @NotNull Collection<String> annotations) {
+        if (isInterface) {
+            return new TestClassFile(className, SkipReason.INTERFACE);
+        } else if (isAbstract) {
+            return new TestClassFile(className, SkipReason.ABSTRACT);
+        }
+        final var hasSkipTestImport = imports.stream().anyMatch(SKIP_TEST_IMPORTS::contains);
+        if (hasSkipTestImport) {
+            final var hasSkipTestAnnotation = annotations.stream().anyMatch(SKIP_TEST_ANNOTATIONS::contains);
+            if (hasSkipTestAnnotation) {
+                return new TestClassFile(className, SkipReason.DISABLED);
+            }
+        }
+        return new TestClassFile(className, null);
+    }
+
+    private static @NotNull TestClassFile toTestClassFile(final @NotNull ClassFileScanner.Header header) {
+        if (header.isNested()) {
+            return new TestClassFile(header.className(), SkipReason.NESTED);
+        } else if (header.isInterface()) {
+            return new TestClassFile(header.className(), SkipReason.INTERFACE);
+        } else if (header.isAbstract()) {
+            return new TestClassFile(header.className(), SkipReason.ABSTRACT);
+        } else if (header.annotations().stream().anyMatch(SKIP_TEST_IMPORTS::contains)) {
+            // the annotations of a class file are fully qualified, so they match the imports
+            return new TestClassFile(header.className(), SkipReason.DISABLED);
+        }
+        return new TestClassFile(header.className(), null);
+    }
+
+    @VisibleForTesting
+    static @NotNull Set<TestCase> loadJUnitReports(
+            final @NotNull Set<Path> junitPaths,
+            final @NotNull Set<String> classNames,
+            final int threads) throws Exception {
+        return loadJUnitReports(junitPaths, classNames, threads, null, null);
+    }
+
+    /**
+     * Loads the recorded test classes. If a map for the test methods is given, the recorded test methods are added to
+     * it by the name of their test class.
+     */
+    private static @NotNull Set<TestCase> loadJUnitReports(
+            final @NotNull Set<Path> junitPaths,
+            final @NotNull Set<String> classNames,
+            final int threads,
+            final @Nullable Map<String, List<TestCase>> testMethods,
+            final @Nullable Metrics.Phase phase) throws Exception {
+        if (junitPaths.isEmpty()) {
+            return new HashSet<>();
+        }
+        // the JUnit reports are read in the order of their paths, so the first of multiple JUnit reports of the same
+        // test class doesn't depend on the order of the walk
+        final var junitReports = readJUnitReports(new TreeSet<>(junitPaths), threads, testMethods != null, phase);
+        final var recordedTestCases = new ArrayList<TestCase>(junitReports.size());
+        for (final var junitReport : junitReports) {
+            recordedTestCases.add(junitReport.testSuite());
+            if (testMethods != null && !junitReport.testMethods().isEmpty()) {
+                testMethods.putIfAbsent(junitReport.testSuite().name(), junitReport.testMethods());
+            }
+        }
+        return addRecordedTestCases(recordedTestCases, classNames);
+    }
+
+    /**
+     * Reads all given JUnit reports and returns them in the iteration order of the given paths.
+     */
+    static @NotNull List<JUnitReport> readJUnitReports(
+            final @NotNull Set<Path> junitPaths,
+            final int threads,
+            final boolean withTestMethods) throws Exception {
+        return readJUnitReports(junitPaths, threads, withTestMethods, null);
+    }
+
+    private static @NotNull List<JUnitReport> readJUnitReports(
+            final @NotNull Set<Path> junitPaths,
+            final int threads,
+            final boolean withTestMethods,
+            final @Nullable Metrics.Phase phase) throws Exception {
+        final var junitReportReader = new JUnitReportReader(withTestMethods);
+        final var junitReports = threads > 1 && junitPaths.size() > 1 ?
+                readJUnitReportsParallel(junitPaths, junitReportReader, threads) :
+                readJUnitReports(junitPaths, junitReportReader);
+        junitReportReader.logStatistics();
+        if (phase != null) {
+            phase.bytesRead(junitReportReader.bytesRead());
+        }
+        return junitReports;
+    }
+
+    private static @NotNull Set<TestCase> loadTimingIndex(
+            final @NotNull Path timingIndex,
+            final @NotNull Set<String> classNames) throws Exception {
+        final var recordedTestCases = TimingIndex.read(timingIndex);
+        LOG.info("Found {} test classes in timing index", recordedTestCases.size());
+        return addRecordedTestCases(recordedTestCases, classNames);
+    }
+
+    private static @NotNull Set<TestCase> addRecordedTestCases(
+            final @NotNull List<TestCase> recordedTestCases,
+            final @NotNull Set<String> classNames) {
+        final var testCases = new HashSet<TestCase>();
+        var fastestTest = new TestCase("", Double.MAX_VALUE);
+        var slowestTest = new TestCase("", Double.MIN_VALUE);
+        for (final var testCase : recordedTestCases) {
+            if (classNames.contains(testCase.name())) {
+                if (testCases.add(testCase)) {
+                    LOG.debug("Adding test {} [{}]", testCase.name(), formatTime(testCase.time()));
+                    if (testCase.time() < fastestTest.time()) {
+                        fastestTest = testCase;
+                    }
+                    if (testCase.time() > slowestTest.time()) {
+                        slowestTest = testCase;
+                    }
+                }
+            } else {
+                LOG.info("Skipping test {} from JUnit report", testCase.name());
+            }
+        }
+        LOG.debug("Found {} recorded test classes with time information", testCases.size());
+        LOG.debug("Fastest test class: {} ({})", fastestTest.name(), formatTime(fastestTest.time()));
+        LOG.debug("Slowest test class: {} ({})", slowestTest.name(), formatTime(slowestTest.time()));
+        return testCases;
+    }
+
+    private static @NotNull List<JUnitReport> readJUnitReports(
+            final @NotNull Set<Path> junitPaths,
+            final @NotNull JUnitReportReader junitReportReader) throws Exception {
+        final var junitReports = new ArrayList<JUnitReport>(junitPaths.size());
+        for (final var junitPath : junitPaths) {
+            junitReports.add(junitReportReader.readReport(junitPath));
+        }
+        return junitReports;
+    }
+
+    /**
+     * Reads the JUnit reports concurrently and returns them in the iteration order of the given paths, so the results
+     * are merged exactly like the sequentially read reports.
+     */
+    private static @NotNull List<JUnitReport> readJUnitReportsParallel(
+            final @NotNull Set<Path> junitPaths,
+            final @NotNull JUnitReportReader junitReportReader,
+            final int threads) throws Exception {
+        LOG.debug("Reading {} JUnit reports with {} threads", junitPaths.size(), threads);
+        try (final var executor = Executors.newFixedThreadPool(Math.min(threads, junitPaths.size()))) {
+            final var futures = new ArrayList<Future<JUnitReport>>(junitPaths.size());
+            for (final var junitPath : junitPaths) {
+                futures.add(executor.submit(() -> junitReportReader.readReport(junitPath)));
+            }
+            final var junitReports = new ArrayList<JUnitReport>(junitPaths.size());
+            for (final var future : futures) {
+                try {
+                    junitReports.add(future.get());
+                } catch (final ExecutionException e) {
+                    executor.shutdownNow();
+                    if (e.getCause() instanceof final Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+            return junitReports;
+        }
+    }
+
     private static double getNewTestTime(
             final @NotNull NewTestTimeOption useAverageTimeForNewTests,
             final @NotNull Set<TestCase> testCases) {
@@ -207,4 +587,49 @@ public class TestLoader {
             }
         };
     }
+
+    /**
+     * Parses the submitted test files with a fixed number of threads, so test files can be submitted while they are
+     * found.
+     */
+    private static class TestFileParser {
+
+        // JavaParser is not thread-safe, so every worker thread uses its own instance
+        private final @NotNull ThreadLocal<JavaParser> javaParser = ThreadLocal.withInitial(JavaParser::new);
+        private final @NotNull Set<String> classNames = ConcurrentHashMap.newKeySet();
+        private final @NotNull AtomicBoolean failed = new AtomicBoolean();
+        private final @NotNull ExecutorService executor;
+        private final @Nullable TestClassCache testClassCache;
+
+        private TestFileParser(final int threads, final @Nullable TestClassCache testClassCache) {
+            this.executor = Executors.newFixedThreadPool(threads);
+            this.testClassCache = testClassCache;
+        }
+
+        private void submit(final @NotNull Path testPath) {
+            executor.execute(() -> {
+                try {
+                    final var className = resolveClassName(javaParser.get(), testPath, testClassCache);
+                    if (className != null) {
+                        classNames.add(className);
+                    }
+                } catch (final Exception e) {
+                    LOG.error("Failed to parse test class {}", testPath, e);
+                    failed.set(true);
+                }
+            });
+        }
+
+        /**
+         * Waits for the submitted test files and returns their test classes.
+         */
+        private @NotNull Set<String> await(final @NotNull Consumer<Integer> exitCodeConsumer) {
+            executor.close();
+            // the exit code consumer is only called from the calling thread
+            if (failed.get()) {
+                exitCodeConsumer.accept(1);
+            }
+            return new HashSet<>(classNames);
+        }
+    }
 }
@@ -0,0 +1,149 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.CostModel;
+import de.donnerbart.split.model.Split;
+import de.donnerbart.split.model.Splits;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A test plan with all test splits and their predicted times, so the test split only has to be calculated once.
+ * <p>
+ * The file starts with a header line and a line with the total number of splits, the output format and the overheads
+ * of the cost model. Each split starts with a line {@code split <index> <test count> <total recorded time> <weight>},
+ * followed by one {@code <time> <name>} line per test, sorted like the output of the split. A group of test methods
+ * has its space separated test filters as third value. All values are separated by tabs.
+ */
+class TestPlan {
+
+    private static final @NotNull String HEADER = "split-tests-java-plan 1";
+    private static final @NotNull String SPLIT = "split";
+
+    private TestPlan() {
+    }
+
+    static void write(
+            final @NotNull Path planFile,
+            final @NotNull Splits splits,
+            final @NotNull FormatOption formatOption,
+            final @NotNull CostModel costModel) throws IOException {
+        final var parent = planFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var tmpFile = Files.createTempFile(parent, planFile.getFileName().toString(), ".tmp");
+        try {
+            try (final var writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write(String.join("\t",
+                        Integer.toString(splits.size()),
+                        formatOption.toString(),
+                        Double.toString(costModel.testOverhead()),
+                        Double.toString(costModel.splitOverhead())));
+                writer.newLine();
+                for (int i = 0; i < splits.size(); i++) {
+                    final var split = splits.get(i);
+                    writer.write(String.join("\t",
+                            SPLIT,
+                            Integer.toString(split.index()),
+                            Integer.toString(split.testCount()),
+                            Double.toString(split.totalRecordedTime()),
+                            Double.toString(split.weight())));
+                    writer.newLine();
+                    for (final var testCase : split.sortedTestCases()) {
+                        writer.write(Double.toString(testCase.time()));
+                        writer.write('\t');
+                        writer.write(testCase.name());
+                        if (!testCase.testFilters().isEmpty()) {
+                            writer.write('\t');
+                            writer.write(String.join(" ", testCase.testFilters()));
+                        }
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tmpFile, planFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Reads the given split from the test plan. The lines of the other splits are skipped without being parsed.
+     */
+    static @NotNull Split read(final @NotNull Path planFile, final int splitIndex) throws IOException {
+        try (final var reader = Files.newBufferedReader(planFile, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Invalid test plan (unknown format): " + planFile);
+            }
+            final var settings = split(planFile, reader.readLine(), 4, 4);
+            final var splitTotal = parseInt(planFile, settings[0]);
+            final var formatOption = Arrays.stream(FormatOption.values())
+                    .filter(option -> option.toString().equals(settings[1]))
+                    .findFirst()
+                    .orElseThrow(() -> new IOException("Invalid test plan (unknown format option): " + planFile));
+            final var costModel =
+                    new CostModel(parseDouble(planFile, settings[2]), parseDouble(planFile, settings[3]));
+            if (splitIndex < 0 || splitIndex >= splitTotal) {
+                throw new IOException("Split index " + splitIndex + " is not in the test plan with " + splitTotal +
+                        " splits: " + planFile);
+            }
+            final var prefix = SPLIT + "\t" + splitIndex + "\t";
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(prefix)) {
+                    continue;
+                }
+                final var splitLine = split(planFile, line, 5, 5);
+                final var testCount = parseInt(planFile, splitLine[2]);
+                final var split = new Split(formatOption, splitIndex, costModel, parseDouble(planFile, splitLine[4]));
+                for (int i = 0; i < testCount; i++) {
+                    final var test = split(planFile, reader.readLine(), 2, 3);
+                    final var testFilters = test.length == 3 ? List.of(test[2].split(" ")) : List.<String>of();
+                    split.add(new TestCase(test[1], parseDouble(planFile, test[0]), testFilters));
+                }
+                return split;
+            }
+            throw new IOException("Invalid test plan (missing split " + splitIndex + "): " + planFile);
+        }
+    }
+
+    private static @NotNull String @NotNull [] split(
+            final @NotNull Path planFile,
+            final @Nullable String line,
+            final int minParts,
+            final int maxParts) throws IOException {
+        if (line == null) {
+            throw new IOException("Invalid test plan (truncated): " + planFile);
+        }
+        final var parts = line.split("\t", maxParts);
+        if (parts.length < minParts) {
+            throw new IOException("Invalid test plan (corrupted): " + planFile);
+        }
+        return parts;
+    }
+
+    private static int parseInt(final @NotNull Path planFile, final @NotNull String value) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid test plan (corrupted): " + planFile, e);
+        }
+    }
+
+    private static double parseDouble(final @NotNull Path planFile, final @NotNull String value) throws IOException {
+        try {
+            return Double.parseDouble(value);
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid test plan (corrupted): " + planFile, e);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package de.donnerbart.split;
 
+import de.donnerbart.split.model.CostModel;
 import de.donnerbart.split.model.Splits;
 import de.donnerbart.split.model.TestCase;
+import de.donnerbart.split.model.TestTable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Comparator;
+import java.time.Duration;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static de.donnerbart.split.util.FormatUtil.formatTime;
 
@@ -18,17 +22,44 @@ public class TestSplit {
     private final @NotNull Set<TestCase> testCases;
     private final int splitTotal;
     private final @NotNull FormatOption formatOption;
+    private final @NotNull CostModel costModel;
+    private final double @Nullable [] splitWeights;
+    private final int refineSteps;
+    private final @NotNull Duration refineTimeBudget;
+    private final long refineSeed;
     private final boolean debug;
+    private final @NotNull Consumer<Integer> exitCodeConsumer;
 
     public TestSplit(
             final @NotNull Set<TestCase> testCases,
             final int splitTotal,
             final @NotNull FormatOption formatOption,
             final boolean debug) {
+        this(testCases, splitTotal, formatOption, CostModel.NONE, null, 0, Duration.ZERO, 0, debug, exitCode -> {
+        });
+    }
+
+    public TestSplit(
+            final @NotNull Set<TestCase> testCases,
+            final int splitTotal,
+            final @NotNull FormatOption formatOption,
+            final @NotNull CostModel costModel,
+            final double @Nullable [] splitWeights,
+            final int refineSteps,
+            final @NotNull Duration refineTimeBudget,
+            final long refineSeed,
+            final boolean debug,
+            final @NotNull Consumer<Integer> exitCodeConsumer) {
         this.testCases = testCases;
         this.splitTotal = splitTotal;
         this.formatOption = formatOption;
+        this.costModel = costModel;
+        this.splitWeights = splitWeights;
+        this.refineSteps = refineSteps;
+        this.refineTimeBudget = refineTimeBudget;
+        this.refineSeed = refineSeed;
         this.debug = debug;
+        this.exitCodeConsumer = exitCodeConsumer;
     }
 
     public @NotNull Splits split() {
@@ -36,32 +67,102 @@ public class TestSplit {
         if (debug) {
             LOG.debug("Splitting {} tests", testCases.size());
         }
-        final var splits = new Splits(splitTotal, formatOption);
-        testCases.stream().sorted(Comparator.reverseOrder()).forEach(testCase -> {
-            final var split = splits.add(testCase);
+        // the ids of the table are in the order of the split
+        final var table = TestTable.of(testCases);
+        final var splits = new Splits(table, splitTotal, formatOption, costModel, splitWeights);
+        for (int id = 0; id < table.size(); id++) {
+            final var split = splits.add(id);
             if (debug) {
-                LOG.debug("Adding test {} to split #{}", testCase.name(), split.index());
+                LOG.debug("Adding test {} to split #{}", table.name(id), split.index());
             }
-        });
+        }
+        if (refineSteps > 0) {
+            new SplitRefiner(refineSteps, refineTimeBudget, refineSeed, costModel, exitCodeConsumer).refine(splits);
+        }
 
         if (debug) {
             if (splitTotal > 1) {
                 final var fastestSplit = splits.getFastest();
                 LOG.debug("Fastest test plan is #{} with {} tests ({})",
                         fastestSplit.formatIndex(),
-                        fastestSplit.tests().size(),
-                        formatTime(fastestSplit.totalRecordedTime()));
+                        fastestSplit.testCount(),
+                        formatTime(fastestSplit.predictedTime()));
                 final var slowestSplit = splits.getSlowest();
                 LOG.debug("Slowest test plan is #{} with {} tests ({})",
                         slowestSplit.formatIndex(),
-                        slowestSplit.tests().size(),
-                        formatTime(slowestSplit.totalRecordedTime()));
+                        slowestSplit.testCount(),
+                        formatTime(slowestSplit.predictedTime()));
                 LOG.debug("Difference between the fastest and slowest test plan: {}",
-                        formatTime(slowestSplit.totalRecordedTime() - fastestSplit.totalRecordedTime()));
+                        formatTime(slowestSplit.predictedTime() - fastestSplit.predictedTime()));
             }
             LOG.debug("Test splits:");
             splits.forEach(split -> LOG.debug(split.toString()));
         }
         return splits;
     }
+
+    /**
+     * Returns the predicted time of the slowest split, without building the splits.
+     * <p>
+     * The test times have to be sorted in descending order. The result is the same as
+     * {@code split().getSlowest().predictedTime()}, since the test times are added to the fastest split in the same
+     * order. Splits with equal times are interchangeable, so the order of the splits does not matter.
+     */
+    static double calculateSlowestSplitTime(
+            final double @NotNull [] sortedTimes,
+            final int splitTotal,
+            final @NotNull CostModel costModel) {
+        if (splitTotal >= sortedTimes.length) {
+            // every test gets its own split, so the slowest test is the lower bound
+            return calculateMinSlowestSplitTime(sortedTimes, costModel);
+        }
+        // min-heap of the split times including the test overhead
+        final var splitTimes = new double[splitTotal];
+        for (final var time : sortedTimes) {
+            splitTimes[0] += time + costModel.testOverhead();
+            siftDown(splitTimes);
+        }
+        var slowestSplitTime = 0d;
+        for (final var splitTime : splitTimes) {
+            slowestSplitTime = Math.max(slowestSplitTime, splitTime);
+        }
+        return costModel.splitOverhead() + slowestSplitTime;
+    }
+
+    /**
+     * Returns the predicted time of the slowest test in its own split, which is a lower bound of the slowest split for
+     * every split total.
+     * <p>
+     * The test times have to be sorted in descending order. The time is calculated like
+     * {@link #calculateSlowestSplitTime(double[], int, CostModel)} does, so a slowest split which reaches the lower bound
+     * is exactly equal.
+     */
+    static double calculateMinSlowestSplitTime(
+            final double @NotNull [] sortedTimes,
+            final @NotNull CostModel costModel) {
+        if (sortedTimes.length == 0) {
+            return costModel.predictedTime(0d, 0);
+        }
+        return costModel.splitOverhead() + (sortedTimes[0] + costModel.testOverhead());
+    }
+
+    private static void siftDown(final double @NotNull [] heap) {
+        var index = 0;
+        final var value = heap[0];
+        while (true) {
+            var child = 2 * index + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= value) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
 }
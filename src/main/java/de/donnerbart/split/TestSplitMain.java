@@ -12,11 +12,18 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static de.donnerbart.split.util.FormatUtil.formatTime;
 
@@ -25,6 +32,26 @@ public class TestSplitMain {
     private static final @NotNull Logger LOG = LoggerFactory.getLogger(TestSplitMain.class);
 
     public static void main(final @Nullable String @NotNull [] args) throws Exception {
+        if (args.length > 0 && TimingIndexMain.COMMAND.equals(args[0])) {
+            TimingIndexMain.run(System::exit, Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && ConsumeMain.COMMAND.equals(args[0])) {
+            ConsumeMain.run(System::exit, Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && CoordinatorMain.COMMAND.equals(args[0])) {
+            CoordinatorMain.run(System::exit, Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && NextMain.COMMAND.equals(args[0])) {
+            NextMain.run(System::exit, Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && ClaimMain.COMMAND.equals(args[0])) {
+            ClaimMain.run(System::exit, Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         run(System::exit, args);
     }
 
@@ -32,21 +59,78 @@ public class TestSplitMain {
     static @NotNull Splits run(final @NotNull Consumer<Integer> exitConsumer, final @Nullable String @NotNull [] args)
             throws Exception {
         final var arguments = init(exitConsumer, args);
-        final var testLoader = new TestLoader(arguments.glob,
-                arguments.excludeGlob,
+        final var metrics = new Metrics();
+        final var testLoader = new TestLoader(arguments.globs,
+                arguments.excludeGlobs,
                 arguments.junitGlob,
                 arguments.newTestTimeOption,
                 arguments.workingDirectory,
+                arguments.threads,
+                arguments.cacheFile,
+                arguments.cacheContentHash,
+                arguments.timingIndex,
+                arguments.methodSplitThreshold,
+                arguments.pipeline,
+                arguments.gitIndex,
                 exitConsumer);
-        final var testCases = testLoader.load();
+        final var testCases = testLoader.load(metrics);
         if (arguments.calculateOptimalTotalSplit) {
             calculateOptimalTotalSplit(arguments, testCases);
         }
-        final var testSplit = new TestSplit(testCases, arguments.splitTotal, arguments.formatOption, arguments.debug);
-        final var splits = testSplit.split();
+        final var testSplit = new TestSplit(testCases,
+                arguments.splitTotal,
+                arguments.formatOption,
+                arguments.costModel(),
+                arguments.splitWeights != null ?
+                        arguments.splitWeights.stream().mapToDouble(Double::doubleValue).toArray() :
+                        null,
+                arguments.refineSteps,
+                Duration.ofMillis(arguments.refineTimeBudget),
+                arguments.refineSeed,
+                arguments.debug,
+                exitConsumer);
+        final Splits splits;
+        try (final var ignored = metrics.phase("split")) {
+            splits = testSplit.split();
+        }
+        if (arguments.planOutput != null) {
+            TestPlan.write(arguments.planOutput, splits, arguments.formatOption, arguments.costModel());
+            LOG.info("Wrote test plan with {} splits to {}", splits.size(), arguments.planOutput);
+        }
         final var split = splits.get(arguments.splitIndex);
-        LOG.info("This test split has {} tests ({})", split.tests().size(), formatTime(split.totalRecordedTime()));
-        System.out.print(String.join(" ", splits.get(arguments.splitIndex).sortedTests()));
+        if (arguments.poolDirectory != null) {
+            final var tail = TailPool.tail(split, arguments.poolShare);
+            new TailPool(arguments.poolDirectory, Objects.requireNonNull(arguments.poolRunId)).publish(tail);
+            tail.forEach(splits::remove);
+            LOG.info("Published {} tests ({}) to the tail pool",
+                    tail.size(),
+                    formatTime(tail.stream().mapToDouble(TestCase::time).sum()));
+        }
+        LOG.info("This test split has {} tests ({})", split.testCount(), formatTime(split.predictedTime()));
+        final List<TestCase> sortedTests;
+        if (arguments.compactPackages) {
+            sortedTests = PackageCompactor.compact(split.tests(), testCases);
+            LOG.info("Compacted the test split to {} tests", sortedTests.size());
+        } else {
+            sortedTests = split.sortedTestCases();
+        }
+        try (final var phase = metrics.phase("output")) {
+            if (arguments.outputFile != null) {
+                final var lines = OutputFile.write(arguments.outputFile, sortedTests, arguments.outputFileOption);
+                LOG.info("Wrote {} lines to output file {}", lines, arguments.outputFile);
+                phase.files(1);
+            } else {
+                System.out.print(sortedTests.stream()
+                        .flatMap(testCase -> testCase.tests().stream())
+                        .map(arguments.formatOption::format)
+                        .distinct()
+                        .collect(Collectors.joining(arguments.formatOption.delimiter())));
+            }
+        }
+        if (arguments.metrics != null) {
+            metrics.write(arguments.metrics);
+            LOG.info("Wrote metrics to {}", arguments.metrics);
+        }
         return splits;
     }
 
@@ -78,14 +162,60 @@ public class TestSplitMain {
                 getBuiltTime(properties.getProperty("git.commit.time", "unknown")));
         LOG.info("Split index {} (total: {})", arguments.splitIndex, arguments.splitTotal);
         LOG.info("Working directory: {}", arguments.workingDirectory);
-        LOG.info("Glob: {}", arguments.glob);
-        if (arguments.excludeGlob != null) {
-            LOG.info("Exclude glob: {}", arguments.excludeGlob);
-        }
+        arguments.globs.forEach(glob -> LOG.info("Glob: {}", glob));
+        arguments.excludeGlobs.forEach(excludeGlob -> LOG.info("Exclude glob: {}", excludeGlob));
         if (arguments.junitGlob != null) {
             LOG.info("JUnit glob: {}", arguments.junitGlob);
         }
-        LOG.info("Output format: {}", arguments.formatOption);
+        if (arguments.timingIndex != null) {
+            LOG.info("Timing index: {}", arguments.timingIndex);
+        }
+        if (arguments.outputFile != null) {
+            LOG.info("Output file: {} (format: {})", arguments.outputFile, arguments.outputFileOption);
+        } else {
+            LOG.info("Output format: {}", arguments.formatOption);
+        }
+        if (arguments.threads > 1) {
+            LOG.info("Threads: {}", arguments.threads);
+        }
+        if (arguments.cacheFile != null) {
+            LOG.info("Cache file: {}", arguments.cacheFile);
+        }
+        if (arguments.pipeline) {
+            LOG.info("Pipeline: enabled");
+        }
+        if (arguments.gitIndex) {
+            LOG.info("Git index: enabled");
+        }
+        if (arguments.testOverhead > 0 || arguments.splitOverhead > 0) {
+            LOG.info("Overhead: {} per test class, {} per split",
+                    formatTime(arguments.testOverhead),
+                    formatTime(arguments.splitOverhead));
+        }
+        if (arguments.splitWeights != null) {
+            LOG.info("Split weights: {}", arguments.splitWeights);
+        }
+        if (arguments.methodSplitThreshold > 0) {
+            LOG.info("Method split threshold: {}", formatTime(arguments.methodSplitThreshold));
+        }
+        if (arguments.refineSteps > 0) {
+            LOG.info("Refine steps: {} (seed: {})", arguments.refineSteps, arguments.refineSeed);
+            if (arguments.refineTimeBudget > 0) {
+                LOG.info("Refine time budget: {} ms", arguments.refineTimeBudget);
+            }
+        }
+        if (arguments.planOutput != null) {
+            LOG.info("Plan output: {}", arguments.planOutput);
+        }
+        if (arguments.poolDirectory != null) {
+            LOG.info("Pool directory: {} (run id: {}, share: {})",
+                    arguments.poolDirectory,
+                    arguments.poolRunId,
+                    arguments.poolShare);
+        }
+        if (arguments.metrics != null) {
+            LOG.info("Metrics: {}", arguments.metrics);
+        }
         return arguments;
     }
 
@@ -99,6 +229,53 @@ public class TestSplitMain {
             LOG.error("--split-index must lesser than --split-total");
             return false;
         }
+        if (arguments.threads < 1) {
+            LOG.error("--threads must be greater than 0");
+            return false;
+        }
+        if (arguments.testOverhead < 0 || arguments.splitOverhead < 0) {
+            LOG.error("--test-overhead and --split-overhead must not be negative");
+            return false;
+        }
+        if (arguments.splitWeights != null) {
+            if (arguments.splitWeights.size() != arguments.splitTotal) {
+                LOG.error("--split-weights must have --split-total values");
+                return false;
+            }
+            if (arguments.splitWeights.stream().anyMatch(weight -> !(weight > 0))) {
+                LOG.error("--split-weights must be greater than 0");
+                return false;
+            }
+        }
+        if (arguments.methodSplitThreshold < 0) {
+            LOG.error("--method-split-threshold must not be negative");
+            return false;
+        }
+        if (arguments.poolShare <= 0 || arguments.poolShare > 1) {
+            LOG.error("--pool-share must be greater than 0 and not greater than 1");
+            return false;
+        }
+        if (arguments.compactPackages && (!arguments.excludeGlobs.isEmpty() || arguments.gitIndex)) {
+            // the package wildcards would match the excluded test files again
+            LOG.error("--compact-packages cannot be used with --exclude-glob or --git-index");
+            return false;
+        }
+        if (arguments.poolDirectory != null && arguments.poolRunId == null) {
+            LOG.error("--pool-run-id is required by --pool-directory");
+            return false;
+        }
+        if (arguments.poolRunId != null && !TailPool.isValidRunId(arguments.poolRunId)) {
+            LOG.error("--pool-run-id must only contain letters, digits, dots, underscores and hyphens");
+            return false;
+        }
+        if (arguments.refineSteps < 0) {
+            LOG.error("--refine-steps must not be negative");
+            return false;
+        }
+        if (arguments.refineTimeBudget < 0) {
+            LOG.error("--refine-time-budget must not be negative");
+            return false;
+        }
         if (!Files.exists(arguments.workingDirectory)) {
             LOG.error("Working directory does not exist: {}", arguments.workingDirectory);
             return false;
@@ -128,8 +305,8 @@ public class TestSplitMain {
 
     @VisibleForTesting
     static int calculateOptimalTotalSplit(final @NotNull Arguments arguments, final @NotNull Set<TestCase> testCases) {
-        if (arguments.junitGlob == null) {
-            LOG.warn("The option --calculate-optimal-total-split requires --junit-glob");
+        if (arguments.junitGlob == null && arguments.timingIndex == null) {
+            LOG.warn("The option --calculate-optimal-total-split requires --junit-glob or --timing-index");
             return 0;
         }
         if (arguments.splitIndex != 0) {
@@ -137,30 +314,48 @@ public class TestSplitMain {
             return 0;
         }
         LOG.info("Calculating optimal test split");
-        var optimalSplit = 1;
+        if (arguments.splitWeights != null) {
+            LOG.info("The optimal test split is calculated for equally fast runners, ignoring --split-weights");
+        }
+        final var sortedTimes =
+                testCases.stream().sorted(Comparator.reverseOrder()).mapToDouble(TestCase::time).toArray();
+        final var costModel = arguments.costModel();
+        // with at least as many splits as tests every test gets its own split, so the slowest split doesn't improve
+        // after one split per test and the calculations can stop there
+        final var maxSplitTotal = (int) Math.min(Math.max(arguments.maxOptimalTotalSplitCalculations, 1),
+                (long) sortedTimes.length + 1);
+        final var batchSize = Runtime.getRuntime().availableProcessors();
         var lastSlowestSplit = Double.MAX_VALUE;
-        while (true) {
-            final var testSplit = new TestSplit(testCases, optimalSplit, arguments.formatOption, false);
-            final var splits = testSplit.split();
-            final var slowestSplit = splits.getSlowest().totalRecordedTime();
-            if (Double.compare(slowestSplit, lastSlowestSplit) == 0) {
-                optimalSplit--;
-                LOG.info("The optimal --total-split value for this test suite is {}", optimalSplit);
-                if (optimalSplit != arguments.splitTotal) {
-                    LOG.warn("The --split-total value of {} does not match the optimal split of {}",
-                            arguments.splitTotal,
-                            optimalSplit);
+        for (var firstSplitTotal = 1; firstSplitTotal <= maxSplitTotal; firstSplitTotal += batchSize) {
+            // the split totals of a batch are calculated in parallel, but checked in order
+            final var slowestSplits = IntStream.rangeClosed(firstSplitTotal,
+                            (int) Math.min((long) firstSplitTotal + batchSize - 1, maxSplitTotal))
+                    .parallel()
+                    .mapToDouble(splitTotal -> TestSplit.calculateSlowestSplitTime(sortedTimes, splitTotal, costModel))
+                    .toArray();
+            for (int i = 0; i < slowestSplits.length; i++) {
+                final var splitTotal = firstSplitTotal + i;
+                final var slowestSplit = slowestSplits[i];
+                if (Double.compare(slowestSplit, lastSlowestSplit) == 0) {
+                    return logOptimalTotalSplit(arguments, splitTotal - 1);
                 }
-                return optimalSplit;
-            }
-            LOG.debug("The slowest split with {} splits takes {}", optimalSplit, formatTime(slowestSplit));
-            if (optimalSplit++ >= arguments.maxOptimalTotalSplitCalculations) {
-                LOG.warn(
-                        "The option --max-optimal-total-split-calculations of {} is too low to calculate the optimal test split",
-                        arguments.maxOptimalTotalSplitCalculations);
-                return 0;
+                LOG.debug("The slowest split with {} splits takes {}", splitTotal, formatTime(slowestSplit));
+                lastSlowestSplit = slowestSplit;
             }
-            lastSlowestSplit = slowestSplit;
         }
+        LOG.warn(
+                "The option --max-optimal-total-split-calculations of {} is too low to calculate the optimal test split",
+                arguments.maxOptimalTotalSplitCalculations);
+        return 0;
+    }
+
+    private static int logOptimalTotalSplit(final @NotNull Arguments arguments, final int optimalSplit) {
+        LOG.info("The optimal --total-split value for this test suite is {}", optimalSplit);
+        if (optimalSplit != arguments.splitTotal) {
+            LOG.warn("The --split-total value of {} does not match the optimal split of {}",
+                    arguments.splitTotal,
+                    optimalSplit);
+        }
+        return optimalSplit;
     }
 }
@@ -0,0 +1,139 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A compact binary index of recorded test times, which replaces the parsing of JUnit reports.
+ * <p>
+ * The file layout is:
+ * <pre>
+ * int       magic number
+ * int       version
+ * int       test count (n)
+ * int       reserved
+ * double[n] test times
+ * int[n+1]  offsets of the test class names in the name table
+ * byte[]    name table with the UTF-8 encoded test class names
+ * </pre>
+ * The index is read memory-mapped.
+ */
+class TimingIndex {
+
+    private static final int MAGIC = 0x53544A49; // "STJI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private TimingIndex() {
+    }
+
+    static void write(final @NotNull Path indexFile, final @NotNull Collection<TestCase> testCases)
+            throws IOException {
+        final var names = new byte[testCases.size()][];
+        final var times = new double[testCases.size()];
+        var nameTableSize = 0;
+        var index = 0;
+        for (final var testCase : testCases) {
+            names[index] = testCase.name().getBytes(StandardCharsets.UTF_8);
+            times[index] = testCase.time();
+            nameTableSize += names[index].length;
+            index++;
+        }
+        final var count = names.length;
+        final var buffer = ByteBuffer.allocate(HEADER_SIZE +
+                count * Double.BYTES +
+                (count + 1) * Integer.BYTES +
+                nameTableSize);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0);
+        for (final var time : times) {
+            buffer.putDouble(time);
+        }
+        var offset = 0;
+        for (final var name : names) {
+            buffer.putInt(offset);
+            offset += name.length;
+        }
+        buffer.putInt(offset);
+        for (final var name : names) {
+            buffer.put(name);
+        }
+        buffer.flip();
+
+        final var parent = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var tmpFile = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (final var channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    static @NotNull List<TestCase> read(final @NotNull Path indexFile) throws IOException {
+        try (final var channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid timing index (invalid file size): " + indexFile);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Invalid timing index (unknown format): " + indexFile);
+            }
+            if (buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Invalid timing index (unsupported version " +
+                        buffer.getInt(Integer.BYTES) +
+                        "): " +
+                        indexFile);
+            }
+            final var count = buffer.getInt(2 * Integer.BYTES);
+            final var offsetsPosition = HEADER_SIZE + (long) count * Double.BYTES;
+            final var nameTablePosition = offsetsPosition + (long) (count + 1) * Integer.BYTES;
+            if (count < 0 ||
+                    nameTablePosition > size ||
+                    nameTablePosition + buffer.getInt((int) (offsetsPosition + (long) count * Integer.BYTES)) !=
+                            size) {
+                throw new IOException("Invalid timing index (corrupted): " + indexFile);
+            }
+            final var nameTableSize = size - nameTablePosition;
+            final var testCases = new ArrayList<TestCase>(count);
+            var name = new byte[0];
+            var end = buffer.getInt((int) offsetsPosition);
+            if (end != 0) {
+                throw new IOException("Invalid timing index (corrupted): " + indexFile);
+            }
+            for (int i = 0; i < count; i++) {
+                final var time = buffer.getDouble(HEADER_SIZE + i * Double.BYTES);
+                // the offsets are monotonic, so every name is within the name table
+                final var start = end;
+                end = buffer.getInt((int) offsetsPosition + (i + 1) * Integer.BYTES);
+                if (end < start || end > nameTableSize) {
+                    throw new IOException("Invalid timing index (corrupted): " + indexFile);
+                }
+                final var length = end - start;
+                if (name.length < length) {
+                    name = new byte[Math.max(length, name.length * 2)];
+                }
+                buffer.get((int) nameTablePosition + start, name, 0, length);
+                testCases.add(new TestCase(new String(name, 0, length, StandardCharsets.UTF_8), time));
+            }
+            return testCases;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package de.donnerbart.split;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.PathConverter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+class TimingIndexArguments {
+
+    @Parameter(names = {"--help", "-h"}, description = "Prints the usage.", help = true)
+    boolean help;
+
+    @Parameter(names = {"--junit-glob", "-j"},
+               description = "Glob pattern to find JUnit reports. Make sure to single-quote the pattern to avoid shell expansion.",
+               required = true,
+               order = 0)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull String junitGlob;
+
+    @Parameter(names = {"--output", "-o"},
+               description = "The timing index file to write.",
+               converter = PathConverter.class,
+               required = true,
+               order = 1)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path output;
+
+    @Parameter(names = {"--working-directory", "-w"},
+               description = "The working directory. Defaults to the current directory.",
+               converter = Arguments.WorkingDirectoryOptionConverter.class)
+    @SuppressWarnings("NotNullFieldNotInitialized")
+    @NotNull Path workingDirectory;
+
+    @Parameter(names = {"--threads", "-p"}, description = "The number of threads to parse the JUnit reports.")
+    int threads = 1;
+
+    @Parameter(names = {"--debug", "-d"}, description = "Enables debug logging.")
+    boolean debug = false;
+}
@@ -0,0 +1,84 @@
+package de.donnerbart.split;
+
+import ch.qos.logback.classic.Level;
+import com.beust.jcommander.JCommander;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.function.Consumer;
+
+/**
+ * Compacts JUnit reports into a {@link TimingIndex}, which can be used with {@code --timing-index}.
+ */
+public class TimingIndexMain {
+
+    static final @NotNull String COMMAND = "index";
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(TimingIndexMain.class);
+
+    private TimingIndexMain() {
+    }
+
+    @VisibleForTesting
+    static int run(final @NotNull Consumer<Integer> exitConsumer, final @Nullable String @NotNull [] args)
+            throws Exception {
+        final var arguments = new TimingIndexArguments();
+        final var defaultProvider = new Arguments.DefaultProvider();
+        final var jCommander = JCommander.newBuilder()
+                .programName(COMMAND)
+                .addObject(arguments)
+                .defaultProvider(defaultProvider)
+                .build();
+        jCommander.parse(args);
+        if (arguments.help) {
+            jCommander.usage();
+            exitConsumer.accept(0);
+            return 0;
+        }
+        if (arguments.debug) {
+            final var root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.setLevel(Level.DEBUG);
+        }
+        if (!validateArguments(arguments)) {
+            exitConsumer.accept(1);
+            return 0;
+        }
+        LOG.info("Working directory: {}", arguments.workingDirectory);
+        LOG.info("JUnit glob: {}", arguments.junitGlob);
+
+        final var junitPaths = TestLoader.getPaths(arguments.workingDirectory, arguments.junitGlob, null);
+        LOG.info("Found {} JUnit report files", junitPaths.size());
+        final var testCases = new LinkedHashSet<TestCase>();
+        for (final var junitReport : TestLoader.readJUnitReports(junitPaths, arguments.threads, false)) {
+            final var testCase = junitReport.testSuite();
+            if (!testCases.add(testCase)) {
+                LOG.debug("Skipping duplicate test {} from JUnit report", testCase.name());
+            }
+        }
+        TimingIndex.write(arguments.output, testCases);
+        LOG.info("Wrote {} test classes to timing index {} ({} bytes)",
+                testCases.size(),
+                arguments.output,
+                Files.size(arguments.output));
+        return testCases.size();
+    }
+
+    @VisibleForTesting
+    static boolean validateArguments(final @NotNull TimingIndexArguments arguments) {
+        if (arguments.threads < 1) {
+            LOG.error("--threads must be greater than 0");
+            return false;
+        }
+        if (!Files.exists(arguments.workingDirectory)) {
+            LOG.error("Working directory does not exist: {}", arguments.workingDirectory);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package de.donnerbart.split.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The predicted time of a split, as the recorded test times plus fixed overheads.
+ *
+ * @param testOverhead  the overhead of each test class in seconds, e.g. class loading or Spring context setup
+ * @param splitOverhead the overhead of each split in seconds, e.g. JVM and Gradle startup
+ */
+public record CostModel(double testOverhead, double splitOverhead) {
+
+    public static final @NotNull CostModel NONE = new CostModel(0d, 0d);
+
+    public double predictedTime(final double totalRecordedTime, final int testCount) {
+        return splitOverhead + totalRecordedTime + testOverhead * testCount;
+    }
+}
@@ -5,64 +5,264 @@ import de.donnerbart.split.util.FormatUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
-import java.util.HashSet;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * A split of the tests, which is a view of the ids of its tests in a {@link TestTable}.
+ * <p>
+ * Adding a test by its id doesn't allocate, unless the array of the ids has to grow. The {@link TestCase}s of the
+ * split are only created for {@link #tests()} and {@link #sortedTestCases()}.
+ * <p>
+ * The tests of a split that is part of {@link Splits} are only added and removed by the splits, so they can keep the
+ * splits ordered by their predicted times.
+ */
 public final class Split implements Comparable<Split> {
 
-    private final @NotNull Set<TestCase> tests = new HashSet<>();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final @NotNull TestTable table;
     private final @NotNull FormatOption formatOption;
     private final int index;
+    private final @NotNull CostModel costModel;
+    private final double weight;
+    private final boolean inSplits;
 
+    private int @NotNull [] ids;
+    private int testCount;
     private double totalRecordedTime;
 
     public Split(final @NotNull FormatOption formatOption, final int index) {
+        this(formatOption, index, CostModel.NONE, 1d);
+    }
+
+    /**
+     * @param weight the relative speed of the runner of this split, e.g. {@code 2} for a runner that executes the
+     *               tests twice as fast
+     */
+    public Split(
+            final @NotNull FormatOption formatOption,
+            final int index,
+            final @NotNull CostModel costModel,
+            final double weight) {
+        this(new TestTable(), formatOption, index, costModel, weight, DEFAULT_CAPACITY, false);
+    }
+
+    Split(
+            final @NotNull TestTable table,
+            final @NotNull FormatOption formatOption,
+            final int index,
+            final @NotNull CostModel costModel,
+            final double weight,
+            final int capacity,
+            final boolean inSplits) {
+        this.table = table;
         this.formatOption = formatOption;
         this.index = index;
+        this.costModel = costModel;
+        this.weight = weight;
+        this.inSplits = inSplits;
+        this.ids = new int[Math.max(capacity, 1)];
     }
 
+    /**
+     * Adds the test, if this split has no test with the same name yet.
+     *
+     * @throws IllegalStateException if this split is part of {@link Splits}, which have to add the test
+     */
     public void add(final @NotNull TestCase testCase) {
-        tests.add(testCase);
-        totalRecordedTime += testCase.time();
+        checkNotInSplits();
+        final var tableSize = table.size();
+        final var id = table.add(testCase);
+        // only a test with an existing name can already be in this split
+        if (id == tableSize || !contains(id)) {
+            add(id);
+        }
+    }
+
+    /**
+     * Adds the test with the given id of the table, which must not be in a split of the table yet.
+     */
+    void add(final int id) {
+        if (testCount == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        table.position(id, testCount);
+        ids[testCount++] = id;
+        totalRecordedTime += table.time(id);
+    }
+
+    /**
+     * Removes the test with the same name, if it's in this split.
+     *
+     * @throws IllegalStateException if this split is part of {@link Splits}, which have to remove the test
+     */
+    public void remove(final @NotNull TestCase testCase) {
+        checkNotInSplits();
+        final var id = table.indexOf(testCase.name());
+        if (id != -1) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Removes the test with the given id of the table, if it's in this split.
+     */
+    void remove(final int id) {
+        if (contains(id)) {
+            // the order of the ids doesn't matter, so the last id fills the gap
+            final var position = table.position(id);
+            final var lastId = ids[--testCount];
+            ids[position] = lastId;
+            table.position(lastId, position);
+            totalRecordedTime -= table.time(id);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the test with the given id of the table is in this split.
+     */
+    boolean contains(final int id) {
+        // the position of a test in another split can point to any id of this split
+        final var position = table.position(id);
+        return position < testCount && ids[position] == id;
+    }
+
+    /**
+     * Recomputes the total recorded time from the tests, which discards the rounding errors of adding and removing
+     * many tests.
+     */
+    void recomputeTotalRecordedTime() {
+        var totalRecordedTime = 0d;
+        for (int i = 0; i < testCount; i++) {
+            totalRecordedTime += table.time(ids[i]);
+        }
+        this.totalRecordedTime = totalRecordedTime;
+    }
+
+    private void checkNotInSplits() {
+        if (inSplits) {
+            throw new IllegalStateException("The split #" + formatIndex() + " is part of the splits, which have to " +
+                    "add and remove its tests");
+        }
     }
 
     public int index() {
         return index;
     }
 
+    public @NotNull FormatOption formatOption() {
+        return formatOption;
+    }
+
+    public @NotNull CostModel costModel() {
+        return costModel;
+    }
+
+    public double weight() {
+        return weight;
+    }
+
     public @NotNull String formatIndex() {
         return String.format("%02d", index);
     }
 
-    public @NotNull Set<TestCase> tests() {
-        return tests;
+    public @NotNull TestTable table() {
+        return table;
+    }
+
+    public int testCount() {
+        return testCount;
+    }
+
+    /**
+     * Returns the ids of the tests in the order of the split, i.e. descending by time.
+     */
+    public int @NotNull [] sortedIds() {
+        final var sortedIds = Arrays.copyOf(ids, testCount);
+        table.sort(sortedIds, testCount);
+        return sortedIds;
+    }
+
+    /**
+     * Returns an unmodifiable view of the tests in no particular order.
+     */
+    public @NotNull List<TestCase> tests() {
+        return new AbstractList<>() {
+            @Override
+            public @NotNull TestCase get(final int index) {
+                Objects.checkIndex(index, testCount);
+                return table.testCase(ids[index]);
+            }
+
+            @Override
+            public int size() {
+                return testCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the tests in the order of the split, i.e. descending by time.
+     */
+    public @NotNull List<TestCase> sortedTestCases() {
+        final var sortedTestCases = new ArrayList<TestCase>(testCount);
+        for (final var id : sortedIds()) {
+            sortedTestCases.add(table.testCase(id));
+        }
+        return sortedTestCases;
     }
 
     public @NotNull List<String> sortedTests() {
-        return tests.stream() //
-                .sorted(Comparator.reverseOrder()) //
-                .map(TestCase::name) //
-                .map(test -> switch (formatOption) {
-                    case LIST -> test;
-                    case GRADLE -> "--tests " + test;
-                }).collect(Collectors.toList());
+        final var sortedTests = new ArrayList<String>(testCount);
+        for (final var id : sortedIds()) {
+            for (final var test : table.tests(id)) {
+                sortedTests.add(formatOption.format(test));
+            }
+        }
+        return sortedTests;
     }
 
     public double totalRecordedTime() {
         return totalRecordedTime;
     }
 
+    /**
+     * Returns the predicted wall-clock time of this split, as the total recorded time plus the overheads of the cost
+     * model, divided by the weight.
+     */
+    public double predictedTime() {
+        return predictedTime(totalRecordedTime, testCount);
+    }
+
+    /**
+     * Returns the predicted wall-clock time of this split, if the given test was added.
+     */
+    public double predictedTimeWith(final @NotNull TestCase testCase) {
+        return predictedTime(totalRecordedTime + testCase.time(), testCount + 1);
+    }
+
+    /**
+     * Returns the predicted wall-clock time of this split, if the test with the given id of the table was added.
+     */
+    public double predictedTimeWith(final int id) {
+        return predictedTime(totalRecordedTime + table.time(id), testCount + 1);
+    }
+
+    private double predictedTime(final double totalRecordedTime, final int testCount) {
+        return costModel.predictedTime(totalRecordedTime, testCount) / weight;
+    }
+
     @Override
     public int compareTo(final @NotNull Split o) {
-        final var compareTime = Double.compare(totalRecordedTime, o.totalRecordedTime);
+        final var compareTime = Double.compare(predictedTime(), o.predictedTime());
         if (compareTime != 0) {
             return compareTime;
         }
-        final var compareTestCount = Double.compare(tests.size(), o.tests.size());
+        final var compareTestCount = Double.compare(testCount, o.testCount);
         if (compareTestCount != 0) {
             return compareTestCount;
         }
@@ -89,10 +289,25 @@ public final class Split implements Comparable<Split> {
                 formatIndex() +
                 ", totalRecordedTime=" +
                 FormatUtil.formatTime(totalRecordedTime) +
+                ", predictedTime=" +
+                FormatUtil.formatTime(predictedTime()) +
+                ", weight=" +
+                weight +
                 ", testCount=" +
-                tests.size() +
+                testCount +
                 ", tests=" +
-                tests.stream().map(TestCase::name).collect(Collectors.joining(", ")) +
+                testNames() +
                 '}';
     }
+
+    private @NotNull String testNames() {
+        final var testNames = new StringBuilder();
+        for (int i = 0; i < testCount; i++) {
+            if (i > 0) {
+                testNames.append(", ");
+            }
+            testNames.append(table.name(ids[i]));
+        }
+        return testNames.toString();
+    }
 }
@@ -2,39 +2,252 @@ package de.donnerbart.split.model;
 
 import de.donnerbart.split.FormatOption;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
+/**
+ * The splits of the tests of a {@link TestTable}.
+ * <p>
+ * Adding a test by its id to the fastest split doesn't allocate, unless the array of the ids of a split has to grow.
+ */
 public class Splits {
 
+    private final @NotNull TestTable table;
     private final @NotNull List<Split> splits;
+    /**
+     * Min-heap of the indexes of all splits ordered by {@link Split#compareTo(Split)}, so the head is always the
+     * fastest split.
+     * <p>
+     * The position of each split in the heap is tracked in {@link #positions}, so a split is moved to its new position
+     * in {@code O(log n)} after a test was added to or removed from it.
+     */
+    private final int @NotNull [] heap;
+    private final int @NotNull [] positions;
+    private final boolean weighted;
 
     public Splits(final int splitTotal, final @NotNull FormatOption formatOption) {
+        this(splitTotal, formatOption, CostModel.NONE, null);
+    }
+
+    /**
+     * @param splitWeights the relative speeds of the splits, or {@code null} if all splits are equally fast
+     */
+    public Splits(
+            final int splitTotal,
+            final @NotNull FormatOption formatOption,
+            final @NotNull CostModel costModel,
+            final double @Nullable [] splitWeights) {
+        this(new TestTable(), splitTotal, formatOption, costModel, splitWeights);
+    }
+
+    /**
+     * @param table        the tests to split, which are added by their ids
+     * @param splitWeights the relative speeds of the splits, or {@code null} if all splits are equally fast
+     */
+    public Splits(
+            final @NotNull TestTable table,
+            final int splitTotal,
+            final @NotNull FormatOption formatOption,
+            final @NotNull CostModel costModel,
+            final double @Nullable [] splitWeights) {
+        if (splitWeights != null && splitWeights.length != splitTotal) {
+            throw new IllegalArgumentException("Expected " + splitTotal + " split weights, but got " +
+                    splitWeights.length);
+        }
+        this.table = table;
         this.splits = new ArrayList<>(splitTotal);
+        // with equally fast splits every split gets about the same number of tests
+        final var capacity = table.size() / Math.max(splitTotal, 1) + 1;
+        var weighted = false;
         for (int i = 0; i < splitTotal; i++) {
-            splits.add(new Split(formatOption, i));
+            final var weight = splitWeights != null ? splitWeights[i] : 1d;
+            weighted |= weight != 1d;
+            splits.add(new Split(table, formatOption, i, costModel, weight, capacity, true));
         }
+        this.heap = new int[splitTotal];
+        this.positions = new int[splitTotal];
+        // all splits are empty, so they are ordered by their index
+        for (int i = 0; i < splitTotal; i++) {
+            heap[i] = i;
+            positions[i] = i;
+        }
+        this.weighted = weighted;
     }
 
+    /**
+     * Adds the test to the table and to the split, which finishes it first. If a split already contains a test with
+     * the same name, that split is returned instead.
+     */
     public @NotNull Split add(final @NotNull TestCase testCase) {
-        final var split = splits.stream().sorted().findFirst().orElseThrow();
-        split.add(testCase);
+        final var tableSize = table.size();
+        final var id = table.add(testCase);
+        if (id < tableSize) {
+            // only a test with an existing name can already be in a split
+            for (final var split : splits) {
+                if (split.contains(id)) {
+                    return split;
+                }
+            }
+        }
+        return add(id);
+    }
+
+    /**
+     * Adds the test with the given id of the table, which must not be in a split yet, to the split, which finishes it
+     * first.
+     * <p>
+     * If all splits are equally fast, this is the fastest split. Otherwise, a slow split might be the fastest one, but
+     * a faster split still finishes the test earlier, so all splits have to be checked.
+     */
+    public @NotNull Split add(final int id) {
+        if (heap.length == 0) {
+            throw new NoSuchElementException("No splits");
+        }
+        final var split = weighted ? findFirstFinishing(id) : splits.get(heap[0]);
+        split.add(id);
+        update(split);
         return split;
     }
 
+    private @NotNull Split findFirstFinishing(final int id) {
+        Split firstFinishing = null;
+        var firstFinishingTime = 0d;
+        for (final var split : splits) {
+            final var predictedTime = split.predictedTimeWith(id);
+            if (firstFinishing == null) {
+                firstFinishing = split;
+                firstFinishingTime = predictedTime;
+                continue;
+            }
+            final var compareTime = Double.compare(predictedTime, firstFinishingTime);
+            if (compareTime < 0 || (compareTime == 0 && split.compareTo(firstFinishing) < 0)) {
+                firstFinishing = split;
+                firstFinishingTime = predictedTime;
+            }
+        }
+        if (firstFinishing == null) {
+            throw new NoSuchElementException("No splits");
+        }
+        return firstFinishing;
+    }
+
+    /**
+     * Moves the test with the given id of the table between the splits.
+     */
+    public void move(final int id, final @NotNull Split from, final @NotNull Split to) {
+        from.remove(id);
+        to.add(id);
+        update(from);
+        update(to);
+    }
+
+    /**
+     * Removes the test with the same name from its split, if it's in a split.
+     */
+    public void remove(final @NotNull TestCase testCase) {
+        final var id = table.indexOf(testCase.name());
+        if (id == -1) {
+            return;
+        }
+        for (final var split : splits) {
+            if (split.contains(id)) {
+                split.remove(id);
+                update(split);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the total recorded times of the splits from their tests, which discards the rounding errors of many
+     * moves between the splits.
+     */
+    public void recomputeTotalRecordedTimes() {
+        splits.forEach(Split::recomputeTotalRecordedTime);
+        for (int position = heap.length / 2 - 1; position >= 0; position--) {
+            siftDown(position);
+        }
+    }
+
+    private void update(final @NotNull Split split) {
+        final var position = positions[split.index()];
+        if (!siftUp(position)) {
+            siftDown(position);
+        }
+    }
+
+    private boolean siftUp(int position) {
+        final var start = position;
+        final var index = heap[position];
+        final var split = splits.get(index);
+        while (position > 0) {
+            final var parent = (position - 1) >>> 1;
+            if (split.compareTo(splits.get(heap[parent])) >= 0) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(index, position);
+        return position != start;
+    }
+
+    private void siftDown(int position) {
+        final var index = heap[position];
+        final var split = splits.get(index);
+        while (true) {
+            var child = 2 * position + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && splits.get(heap[child + 1]).compareTo(splits.get(heap[child])) < 0) {
+                child++;
+            }
+            if (split.compareTo(splits.get(heap[child])) <= 0) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(index, position);
+    }
+
+    private void place(final int index, final int position) {
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    public @NotNull TestTable table() {
+        return table;
+    }
+
     public @NotNull Split get(final int index) {
         return splits.get(index);
     }
 
     public @NotNull Split getFastest() {
-        return splits.stream().min(Comparator.naturalOrder()).orElseThrow();
+        var fastest = splits.getFirst();
+        for (final var split : splits) {
+            if (split.compareTo(fastest) < 0) {
+                fastest = split;
+            }
+        }
+        return fastest;
     }
 
     public @NotNull Split getSlowest() {
-        return splits.stream().max(Comparator.naturalOrder()).orElseThrow();
+        var slowest = splits.getFirst();
+        for (final var split : splits) {
+            if (split.compareTo(slowest) > 0) {
+                slowest = split;
+            }
+        }
+        return slowest;
     }
 
     public void forEach(final @NotNull Consumer<Split> consumer) {
@@ -3,9 +3,30 @@ package de.donnerbart.split.model;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Objects;
 
-public record TestCase(@NotNull String name, double time) implements Comparable<TestCase> {
+/**
+ * A test class or a group of test methods of a test class.
+ *
+ * @param name        the name of the test class, or a unique name of the group of test methods
+ * @param time        the recorded or estimated time
+ * @param testFilters the fully qualified test methods of a group (e.g. {@code com.example.FooTest.testBar}), or an
+ *                    empty list for the whole test class
+ */
+public record TestCase(@NotNull String name, double time, @NotNull List<String> testFilters)
+        implements Comparable<TestCase> {
+
+    public TestCase(final @NotNull String name, final double time) {
+        this(name, time, List.of());
+    }
+
+    /**
+     * Returns the tests to run, i.e. the test filters of a group of test methods or the name of the test class.
+     */
+    public @NotNull List<String> tests() {
+        return testFilters.isEmpty() ? List.of(name) : testFilters;
+    }
 
     @Override
     public int compareTo(final @NotNull TestCase o) {
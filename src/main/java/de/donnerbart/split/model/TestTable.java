@@ -0,0 +1,226 @@
+package de.donnerbart.split.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A table of tests, where each test is identified by an {@code int} id and its name and time are stored in arrays.
+ * <p>
+ * The names are interned, so adding a test with the name of an existing test returns the id of the existing test. A
+ * {@link TestCase} is only created on demand, e.g. for the output, so the {@link Split}s can store their tests as
+ * {@code int} arrays.
+ * <p>
+ * If the tests are added in the order of their split (descending by time, see {@link TestCase#compareTo(TestCase)}),
+ * the order of the ids is the order of the tests and sorting ids doesn't need the table.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class TestTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private @NotNull String @NotNull [] names;
+    private double @NotNull [] times;
+    /**
+     * The test filters of the groups of test methods, or {@code null} for a whole test class.
+     */
+    private @Nullable List<String> @NotNull [] testFilters;
+    /**
+     * The position of each test in the ids of its {@link Split}. A test is in at most one split of the table, so the
+     * splits share the positions.
+     */
+    private int @NotNull [] positions;
+    /**
+     * Open addressing hash table of the names, with {@code id + 1} as entries and {@code 0} as empty slot.
+     */
+    private int @NotNull [] slots;
+    private int size;
+    private boolean sorted = true;
+
+    public TestTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TestTable(final int capacity) {
+        final var initialCapacity = Math.max(capacity, 1);
+        this.names = new String[initialCapacity];
+        this.times = new double[initialCapacity];
+        this.testFilters = new List[initialCapacity];
+        this.positions = new int[initialCapacity];
+        this.slots = new int[slotCount(initialCapacity)];
+    }
+
+    /**
+     * Returns a table of the given tests, where the ids are in the order of the split.
+     */
+    public static @NotNull TestTable of(final @NotNull Collection<TestCase> testCases) {
+        final var sortedTestCases = testCases.toArray(TestCase[]::new);
+        Arrays.sort(sortedTestCases, Comparator.reverseOrder());
+        final var table = new TestTable(sortedTestCases.length);
+        for (final var testCase : sortedTestCases) {
+            table.add(testCase);
+        }
+        return table;
+    }
+
+    /**
+     * Adds the test, or returns the id of the test with the same name.
+     */
+    public int add(final @NotNull TestCase testCase) {
+        final var name = testCase.name();
+        var slot = slot(name);
+        while (slots[slot] != 0) {
+            if (names[slots[slot] - 1].equals(name)) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        if (size == names.length) {
+            grow();
+            slot = slot(name);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+        }
+        final var id = size++;
+        names[id] = name;
+        times[id] = testCase.time();
+        testFilters[id] = testCase.testFilters().isEmpty() ? null : testCase.testFilters();
+        slots[slot] = id + 1;
+        if (id > 0 && sorted) {
+            sorted = compare(id - 1, id) > 0;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the test with the given name, or {@code -1} if there is no such test.
+     */
+    public int indexOf(final @NotNull String name) {
+        var slot = slot(name);
+        while (slots[slot] != 0) {
+            if (names[slots[slot] - 1].equals(name)) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public @NotNull String name(final int id) {
+        return names[id];
+    }
+
+    public double time(final int id) {
+        return times[id];
+    }
+
+    /**
+     * Returns the tests to run, see {@link TestCase#tests()}.
+     */
+    public @NotNull List<String> tests(final int id) {
+        final var filters = testFilters[id];
+        return filters != null ? filters : List.of(names[id]);
+    }
+
+    /**
+     * Creates the test with the given id.
+     */
+    public @NotNull TestCase testCase(final int id) {
+        final var filters = testFilters[id];
+        return new TestCase(names[id], times[id], filters != null ? filters : List.of());
+    }
+
+    /**
+     * Compares the tests with the given ids like {@link TestCase#compareTo(TestCase)}.
+     */
+    public int compare(final int id, final int otherId) {
+        final var compareTime = Double.compare(times[id], times[otherId]);
+        if (compareTime != 0) {
+            return compareTime;
+        }
+        return names[otherId].compareTo(names[id]);
+    }
+
+    /**
+     * Sorts the ids in the order of the split, i.e. descending by time.
+     * <p>
+     * The ids are merge sorted as {@code int}s with {@link #compare(int, int)}, so they are not boxed.
+     */
+    public void sort(final int @NotNull [] ids, final int length) {
+        if (sorted) {
+            Arrays.sort(ids, 0, length);
+            return;
+        }
+        mergeSort(ids, Arrays.copyOf(ids, length), 0, length);
+    }
+
+    /**
+     * Sorts the ids from the buffer into the ids, where both contain the same ids in the given range.
+     */
+    private void mergeSort(final int @NotNull [] ids, final int @NotNull [] buffer, final int from, final int to) {
+        if (to - from < 2) {
+            return;
+        }
+        final var middle = (from + to) >>> 1;
+        // sort both halves into the buffer, so they can be merged into the ids
+        mergeSort(buffer, ids, from, middle);
+        mergeSort(buffer, ids, middle, to);
+        var left = from;
+        var right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || (left < middle && compare(buffer[left], buffer[right]) >= 0)) {
+                ids[i] = buffer[left++];
+            } else {
+                ids[i] = buffer[right++];
+            }
+        }
+    }
+
+    int position(final int id) {
+        return positions[id];
+    }
+
+    void position(final int id, final int position) {
+        positions[id] = position;
+    }
+
+    private int slot(final @NotNull String name) {
+        // spread the higher bits like HashMap
+        final var hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & (slots.length - 1);
+    }
+
+    private void grow() {
+        final var capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        times = Arrays.copyOf(times, capacity);
+        testFilters = Arrays.copyOf(testFilters, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        slots = new int[slotCount(capacity)];
+        for (int id = 0; id < size; id++) {
+            var slot = slot(names[id]);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Returns a power of two with a load factor of at most 0.5 for the given capacity.
+     */
+    private static int slotCount(final int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) * 2;
+    }
+}
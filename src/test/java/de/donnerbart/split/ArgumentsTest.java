@@ -17,6 +17,15 @@ class ArgumentsTest {
         assertThatThrownBy(() -> converter.convert("unknown")).isInstanceOf(NoSuchElementException.class);
     }
 
+    @Test
+    void outputFileOptionConvert() {
+        final var converter = new Arguments.OutputFileOptionConverter();
+        assertThat(converter.convert("list")).isEqualTo(OutputFileOption.LIST);
+        assertThat(converter.convert("gradle")).isEqualTo(OutputFileOption.GRADLE);
+        assertThat(converter.convert("junit")).isEqualTo(OutputFileOption.JUNIT);
+        assertThatThrownBy(() -> converter.convert("unknown")).isInstanceOf(NoSuchElementException.class);
+    }
+
     @Test
     void newTestTimeOptionConvert() {
         final var converter = new Arguments.NewTestTimeOptionConverter();
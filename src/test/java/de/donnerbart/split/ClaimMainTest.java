@@ -0,0 +1,113 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaimMainTest {
+
+    private final @NotNull AtomicReference<Integer> exitCode = new AtomicReference<>();
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void run() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        new TailPool(poolDirectory, "run").publish(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d)));
+
+        final var args = new String[]{
+                "-i",
+                "0",
+                "--pool-directory",
+                poolDirectory.toString(),
+                "--pool-run-id",
+                "run",
+                "-f",
+                "gradle"};
+        assertThat(ClaimMain.run(exitCode::set, args)).containsExactly("--tests de.donnerbart.example.SlowTest");
+        assertThat(ClaimMain.run(exitCode::set, args)).containsExactly("--tests de.donnerbart.example.FastTest");
+        assertThat(ClaimMain.run(exitCode::set, args)).isEmpty();
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withOverloads() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        new TailPool(poolDirectory, "run").publish(List.of(new TestCase("de.donnerbart.example.SlowTest#1",
+                12.386d,
+                List.of("de.donnerbart.example.SlowTest.testOne(int)",
+                        "de.donnerbart.example.SlowTest.testOne(java.lang.String)"))));
+
+        final var args = new String[]{
+                "-i",
+                "0",
+                "--pool-directory",
+                poolDirectory.toString(),
+                "--pool-run-id",
+                "run",
+                "-f",
+                "gradle"};
+        assertThat(ClaimMain.run(exitCode::set, args)).containsExactly(
+                "--tests de.donnerbart.example.SlowTest.testOne");
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withWaitTimeout() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        final var tailPool = new TailPool(poolDirectory, "run");
+        tailPool.publish(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d)));
+        // the tests of split 1 are never acknowledged
+        assertThat(tailPool.claim(1, 1, Duration.ofHours(1))).hasSize(1);
+
+        final var args = new String[]{
+                "-i",
+                "0",
+                "--pool-directory",
+                poolDirectory.toString(),
+                "--pool-run-id",
+                "run",
+                "--wait-timeout",
+                "0"};
+        assertThat(ClaimMain.run(exitCode::set, args)).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+
+    @Test
+    void run_withHelp() throws Exception {
+        assertThat(ClaimMain.run(exitCode::set, new String[]{"-h"})).isNull();
+        assertThat(exitCode).hasValue(0);
+    }
+
+    @Test
+    void run_withInvalidBatchSize() throws Exception {
+        final var args = new String[]{
+                "-i",
+                "0",
+                "--pool-directory",
+                tmp.toString(),
+                "--pool-run-id",
+                "run",
+                "--batch-size",
+                "0"};
+        assertThat(ClaimMain.run(exitCode::set, args)).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+
+    @Test
+    void run_withInvalidRunId() throws Exception {
+        final var args = new String[]{"-i", "0", "--pool-directory", tmp.toString(), "--pool-run-id", ".."};
+        assertThat(ClaimMain.run(exitCode::set, args)).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+}
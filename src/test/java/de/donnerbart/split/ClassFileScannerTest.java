@@ -0,0 +1,179 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static de.donnerbart.split.TestUtil.compile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClassFileScannerTest {
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    private @NotNull Path classes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final var sources = tmp.resolve("src");
+        classes = tmp.resolve("classes");
+        compile(classes,
+                writeSource(sources, "com/example/FooTest.java", """
+                        package com.example;
+
+                        import java.util.List;
+
+                        public class FooTest {
+
+                            private static final long LONG = 1L << 40;
+                            private static final double DOUBLE = 0.5d;
+
+                            @Deprecated(since = "1", forRemoval = true)
+                            private final List<String> names = List.of("foo", "bar");
+
+                            @SuppressWarnings({"unchecked", "rawtypes"})
+                            void testFoo() {
+                                final Runnable runnable = () -> System.out.println(LONG * DOUBLE);
+                                runnable.run();
+                                new Object() {
+                                };
+                            }
+
+                            class NestedTest {
+                            }
+
+                            static class StaticNestedTest {
+                            }
+                        }
+                        """),
+                writeSource(sources, "com/example/AbstractTest.java", """
+                        package com.example;
+
+                        abstract class AbstractTest {
+
+                            abstract void implementableMethod();
+                        }
+                        """),
+                writeSource(sources, "com/example/InterfaceTest.java", """
+                        package com.example;
+
+                        interface InterfaceTest {
+
+                            void implementableMethod();
+                        }
+                        """),
+                writeSource(sources, "com/example/DisabledTest.java", """
+                        package com.example;
+
+                        import org.junit.jupiter.api.Disabled;
+
+                        @Disabled("This test should be skipped")
+                        class DisabledTest {
+                        }
+                        """),
+                writeSource(sources, "com/example/InvisibleAnnotationTest.java", """
+                        package com.example;
+
+                        import java.lang.annotation.ElementType;
+                        import java.lang.annotation.Retention;
+                        import java.lang.annotation.RetentionPolicy;
+                        import java.lang.annotation.Target;
+
+                        @InvisibleAnnotationTest.Invisible(value = {@Deprecated, @Deprecated(since = "2")},
+                                type = ElementType.TYPE,
+                                clazz = String.class)
+                        class InvisibleAnnotationTest {
+
+                            @Retention(RetentionPolicy.CLASS)
+                            @interface Invisible {
+
+                                Deprecated[] value();
+
+                                ElementType type();
+
+                                Class<?> clazz();
+                            }
+                        }
+                        """));
+    }
+
+    @Test
+    void scan() throws Exception {
+        final var header = ClassFileScanner.scan(classes.resolve("com/example/FooTest.class"));
+        assertThat(header.className()).isEqualTo("com.example.FooTest");
+        assertThat(header.isInterface()).isFalse();
+        assertThat(header.isAbstract()).isFalse();
+        assertThat(header.isNested()).isFalse();
+        assertThat(header.annotations()).isEmpty();
+    }
+
+    @Test
+    void scan_nestedClasses() throws Exception {
+        for (final var className : new String[]{"FooTest$NestedTest", "FooTest$StaticNestedTest", "FooTest$1"}) {
+            final var header = ClassFileScanner.scan(classes.resolve("com/example/" + className + ".class"));
+            assertThat(header.className()).isEqualTo("com.example." + className);
+            assertThat(header.isNested()).isTrue();
+        }
+    }
+
+    @Test
+    void scan_abstractClass() throws Exception {
+        final var header = ClassFileScanner.scan(classes.resolve("com/example/AbstractTest.class"));
+        assertThat(header.className()).isEqualTo("com.example.AbstractTest");
+        assertThat(header.isInterface()).isFalse();
+        assertThat(header.isAbstract()).isTrue();
+    }
+
+    @Test
+    void scan_interface() throws Exception {
+        final var header = ClassFileScanner.scan(classes.resolve("com/example/InterfaceTest.class"));
+        assertThat(header.className()).isEqualTo("com.example.InterfaceTest");
+        assertThat(header.isInterface()).isTrue();
+    }
+
+    @Test
+    void scan_visibleAnnotation() throws Exception {
+        final var header = ClassFileScanner.scan(classes.resolve("com/example/DisabledTest.class"));
+        assertThat(header.className()).isEqualTo("com.example.DisabledTest");
+        assertThat(header.annotations()).containsExactly("org.junit.jupiter.api.Disabled");
+    }
+
+    @Test
+    void scan_invisibleAnnotation() throws Exception {
+        final var header = ClassFileScanner.scan(classes.resolve("com/example/InvisibleAnnotationTest.class"));
+        assertThat(header.className()).isEqualTo("com.example.InvisibleAnnotationTest");
+        assertThat(header.isNested()).isFalse();
+        assertThat(header.annotations()).containsExactly("com.example.InvisibleAnnotationTest$Invisible");
+    }
+
+    @Test
+    void scan_invalidClassFile() throws Exception {
+        final var classFile = Files.writeString(tmp.resolve("Invalid.class"), "not a class file");
+        assertThatThrownBy(() -> ClassFileScanner.scan(classFile)) //
+                .isInstanceOf(IOException.class).hasMessageContaining("Invalid class file");
+    }
+
+    @Test
+    void scan_truncatedClassFile() throws Exception {
+        final var bytes = Files.readAllBytes(classes.resolve("com/example/FooTest.class"));
+        final var classFile = Files.write(tmp.resolve("Truncated.class"), Arrays.copyOf(bytes, bytes.length / 2));
+        assertThatThrownBy(() -> ClassFileScanner.scan(classFile)).isInstanceOf(IOException.class);
+    }
+
+    private static @NotNull Path writeSource(
+            final @NotNull Path sources,
+            final @NotNull String fileName,
+            final @NotNull String source) throws IOException {
+        final var path = sources.resolve(fileName);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, source);
+    }
+}
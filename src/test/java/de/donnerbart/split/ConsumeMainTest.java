@@ -0,0 +1,50 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.CostModel;
+import de.donnerbart.split.model.Splits;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumeMainTest {
+
+    private final @NotNull AtomicReference<Integer> exitCode = new AtomicReference<>();
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void run() throws Exception {
+        final var splits = new Splits(2, FormatOption.LIST);
+        splits.add(new TestCase("de.donnerbart.example.SlowestTest", 153.457d));
+        splits.add(new TestCase("de.donnerbart.example.SlowTest", 12.386d));
+        splits.add(new TestCase("de.donnerbart.example.FastTest", 2.374d));
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.LIST, CostModel.NONE);
+
+        final var split = ConsumeMain.run(exitCode::set, new String[]{"-i", "1", "--plan", planFile.toString()});
+        assertThat(exitCode).hasNullValue();
+        assertThat(split).isNotNull();
+        assertThat(split.sortedTests()).containsExactly("de.donnerbart.example.SlowTest",
+                "de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void run_withHelp() throws Exception {
+        assertThat(ConsumeMain.run(exitCode::set, new String[]{"-h"})).isNull();
+        assertThat(exitCode).hasValue(0);
+    }
+
+    @Test
+    void run_withMissingPlan() throws Exception {
+        final var planFile = tmp.resolve("missing.plan");
+        assertThat(ConsumeMain.run(exitCode::set, new String[]{"-i", "0", "--plan", planFile.toString()})).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+}
@@ -0,0 +1,169 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoordinatorTest {
+
+    @Test
+    void nextBatch() throws Exception {
+        final var coordinator = new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowestTest", 153.457d),
+                new TestCase("de.donnerbart.example.NoTimingTest", 0d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d)), 3, Duration.ofHours(1));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isFalse();
+        final var first = coordinator.nextBatch(null);
+        assertThat(first).isNotNull();
+        assertThat(first.tests()).extracting(TestCase::name)
+                .containsExactly("de.donnerbart.example.SlowestTest",
+                        "de.donnerbart.example.SlowTest",
+                        "de.donnerbart.example.FastTest");
+        assertThat(coordinator.remaining()).isEqualTo(1);
+        final var second = coordinator.nextBatch(first.leaseId());
+        assertThat(second).isNotNull();
+        assertThat(second.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.NoTimingTest");
+        assertThat(second.leaseId()).isNotEqualTo(first.leaseId());
+        assertThat(coordinator.leased()).isEqualTo(1);
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isFalse();
+        assertThat(coordinator.nextBatch(second.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nextBatch_noTests() throws Exception {
+        final var coordinator = new Coordinator(List.of(), 1, Duration.ofHours(1));
+        assertThat(coordinator.nextBatch(null)).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nextBatch_waitsForLeasedTests() throws Exception {
+        final var coordinator = new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d)), 1, Duration.ofHours(1));
+        final var first = coordinator.nextBatch(null);
+        assertThat(first).isNotNull();
+        assertThat(first.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.SlowTest");
+        final var second = coordinator.nextBatch(null);
+        assertThat(second).isNotNull();
+        assertThat(second.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.FastTest");
+        // the first runner has to wait until the second runner acknowledged its batch
+        assertThat(coordinator.nextBatch(first.leaseId())).isNull();
+        assertThat(coordinator.leased()).isEqualTo(1);
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isFalse();
+        assertThat(coordinator.nextBatch(second.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.nextBatch(first.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nextBatch_withRetry() throws Exception {
+        final var coordinator = new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d),
+                new TestCase("de.donnerbart.example.SlowestTest", 153.457d)), 1, Duration.ofHours(1));
+        final var first = coordinator.nextBatch(null);
+        assertThat(first).isNotNull();
+        final var second = coordinator.nextBatch(first.leaseId());
+        assertThat(second).isNotNull();
+        assertThat(second.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.SlowTest");
+        // the response of the second batch was lost, so the runner acknowledges the first batch again
+        assertThat(coordinator.nextBatch(first.leaseId())).isEqualTo(second);
+        assertThat(coordinator.leased()).isEqualTo(1);
+        assertThat(coordinator.remaining()).isEqualTo(1);
+        final var third = coordinator.nextBatch(second.leaseId());
+        assertThat(third).isNotNull();
+        assertThat(third.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.FastTest");
+        assertThat(coordinator.nextBatch(third.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nextBatch_withUnknownLease() throws Exception {
+        final var coordinator = new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d)), 1, Duration.ofHours(1));
+        final var first = coordinator.nextBatch(null);
+        assertThat(first).isNotNull();
+        // an unknown lease id doesn't acknowledge the lease of another runner
+        final var second = coordinator.nextBatch("unknown");
+        assertThat(second).isNotNull();
+        assertThat(second.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.FastTest");
+        assertThat(coordinator.leased()).isEqualTo(2);
+        assertThat(coordinator.nextBatch(second.leaseId())).isNull();
+        assertThat(coordinator.nextBatch(first.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+    }
+
+    @Test
+    void nextBatch_withExpiredLease() throws Exception {
+        final var nanoTime = new AtomicLong();
+        final var coordinator = new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d)), 1, Duration.ofSeconds(10), nanoTime::get);
+        final var dead = coordinator.nextBatch(null);
+        assertThat(dead).isNotNull();
+        assertThat(dead.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.SlowTest");
+        final var alive = coordinator.nextBatch(null);
+        assertThat(alive).isNotNull();
+        assertThat(alive.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.FastTest");
+        nanoTime.set(TimeUnit.SECONDS.toNanos(9));
+        assertThat(coordinator.nextBatch(alive.leaseId())).isNull();
+        // the batch of the dead runner is served again after its lease expired
+        nanoTime.set(TimeUnit.SECONDS.toNanos(10));
+        final var expired = coordinator.nextBatch(alive.leaseId());
+        assertThat(expired).isNotNull();
+        assertThat(expired.tests()).extracting(TestCase::name).containsExactly("de.donnerbart.example.SlowTest");
+        assertThat(expired.leaseId()).isNotEqualTo(dead.leaseId());
+        assertThat(coordinator.nextBatch(expired.leaseId())).isEqualTo(new Coordinator.Batch(null, List.of()));
+        assertThat(coordinator.awaitDrained(0, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void start() throws Exception {
+        final var testCases = List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest#1",
+                        12.386d,
+                        List.of("de.donnerbart.example.SlowTest.testOne", "de.donnerbart.example.SlowTest.testTwo")));
+        try (final var coordinator = new Coordinator(testCases, 1, Duration.ofHours(1));
+             final var client = HttpClient.newHttpClient()) {
+            coordinator.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            final var uri = "http://localhost:" + coordinator.port() + Coordinator.NEXT_PATH;
+            final var request = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+
+            final var first = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(first.statusCode()).isEqualTo(200);
+            assertThat(first.body().lines()).containsExactly("de.donnerbart.example.SlowTest.testOne",
+                    "de.donnerbart.example.SlowTest.testTwo");
+            final var firstLeaseId = first.headers().firstValue(Coordinator.LEASE_HEADER).orElseThrow();
+
+            final var second = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(second.statusCode()).isEqualTo(200);
+            assertThat(second.body().lines()).containsExactly("de.donnerbart.example.FastTest");
+            final var secondLeaseId = second.headers().firstValue(Coordinator.LEASE_HEADER).orElseThrow();
+            assertThat(secondLeaseId).isNotEqualTo(firstLeaseId);
+
+            final var firstAcknowledgement =
+                    HttpRequest.newBuilder(URI.create(uri + "?ack=" + firstLeaseId)).GET().build();
+            final var third = client.send(firstAcknowledgement, HttpResponse.BodyHandlers.ofString());
+            assertThat(third.statusCode()).isEqualTo(503);
+            assertThat(third.headers().firstValue("Retry-After")).hasValue("1");
+
+            final var secondAcknowledgement =
+                    HttpRequest.newBuilder(URI.create(uri + "?ack=" + secondLeaseId)).GET().build();
+            assertThat(client.send(secondAcknowledgement, HttpResponse.BodyHandlers.ofString())
+                    .statusCode()).isEqualTo(204);
+            final var fourth = client.send(firstAcknowledgement, HttpResponse.BodyHandlers.ofString());
+            assertThat(fourth.statusCode()).isEqualTo(204);
+            assertThat(fourth.body()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileWalkerTest {
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (final var file : List.of("project/src/test/java/FooTest.java",
+                "project/src/test/java/com/example/BarTest.java",
+                "project/src/main/java/Foo.java",
+                "project/build/test-results/TEST-FooTest.xml",
+                "project/build/test-results/TEST-BarTest.xml",
+                "project/build/generated/GeneratedTest.java",
+                "other/BazTest.java",
+                "RootTest.java")) {
+            final var path = tmp.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, "");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void walk(final int threads) throws Exception {
+        final var fileWalker = new FileWalker(tmp);
+        final var listenedPaths = ConcurrentHashMap.<Path>newKeySet();
+        final var testGlobFilter = new GlobFilter(List.of("**/*Test.java"), List.of("**/build/**"));
+        final var testPaths = fileWalker.register(testGlobFilter, listenedPaths::add);
+        final var junitPaths = fileWalker.register(new GlobFilter(List.of("**/test-results/*.xml"), List.of()));
+        fileWalker.walk(threads);
+        assertThat(testPaths).containsExactlyInAnyOrder(tmp.resolve("project/src/test/java/FooTest.java"),
+                tmp.resolve("project/src/test/java/com/example/BarTest.java"),
+                tmp.resolve("other/BazTest.java"),
+                tmp.resolve("RootTest.java"));
+        assertThat(listenedPaths).isEqualTo(testPaths);
+        assertThat(junitPaths).containsExactlyInAnyOrder(tmp.resolve("project/build/test-results/TEST-FooTest.xml"),
+                tmp.resolve("project/build/test-results/TEST-BarTest.xml"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void walk_withSkippedDirectories(final int threads) throws Exception {
+        final var fileWalker = new FileWalker(tmp);
+        final var testPaths = fileWalker.register(new GlobFilter(List.of(tmp + "/project/src/test/**/*Test.java"),
+                List.of()));
+        fileWalker.walk(threads);
+        assertThat(testPaths).containsExactlyInAnyOrder(tmp.resolve("project/src/test/java/FooTest.java"),
+                tmp.resolve("project/src/test/java/com/example/BarTest.java"));
+    }
+
+    @Test
+    void visit() {
+        final var fileWalker = new FileWalker(tmp.resolve("project"));
+        final var testPaths = fileWalker.register(new GlobFilter(List.of("**/*Test.java"), List.of("**/build/**")));
+        fileWalker.visit(List.of(tmp.resolve("project/src/test/java/FooTest.java").toAbsolutePath(),
+                tmp.resolve("project/src/main/java/Foo.java").toAbsolutePath(),
+                tmp.resolve("project/build/generated/GeneratedTest.java").toAbsolutePath(),
+                tmp.resolve("other/BazTest.java").toAbsolutePath()));
+        assertThat(testPaths).containsExactly(tmp.resolve("project/src/test/java/FooTest.java"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void walk_withoutMatches(final int threads) throws Exception {
+        final var fileWalker = new FileWalker(tmp);
+        final Set<Path> testPaths = fileWalker.register(new GlobFilter(List.of("**/*IT.java"), List.of()));
+        fileWalker.walk(threads);
+        assertThat(testPaths).isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package de.donnerbart.split;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormatOptionTest {
+
+    @Test
+    void format_list() {
+        assertThat(FormatOption.LIST.format("com.example.FooTest")).isEqualTo("com.example.FooTest");
+        assertThat(FormatOption.LIST.format("com.example.FooTest.testBar(int)")).isEqualTo(
+                "com.example.FooTest.testBar");
+        assertThat(FormatOption.LIST.format("com.example.*")).isEqualTo("com.example.*");
+    }
+
+    @Test
+    void format_gradle() {
+        assertThat(FormatOption.GRADLE.format("com.example.FooTest")).isEqualTo("--tests com.example.FooTest");
+        assertThat(FormatOption.GRADLE.format("com.example.FooTest.testBar(int)")).isEqualTo(
+                "--tests com.example.FooTest.testBar");
+        assertThat(FormatOption.GRADLE.format("com.example.*")).isEqualTo("--tests 'com.example.*'");
+    }
+
+    @Test
+    void format_surefire() {
+        assertThat(FormatOption.SUREFIRE.format("com.example.FooTest")).isEqualTo("com.example.FooTest");
+        assertThat(FormatOption.SUREFIRE.format("NoPackageTest")).isEqualTo("NoPackageTest");
+        assertThat(FormatOption.SUREFIRE.format("com.example.FooTest.testBar")).isEqualTo(
+                "com.example.FooTest#testBar");
+        assertThat(FormatOption.SUREFIRE.format("com.example.FooTest.testBar(int,java.lang.String)")).isEqualTo(
+                "com.example.FooTest#testBar");
+        assertThat(FormatOption.SUREFIRE.format("com.example.*")).isEqualTo("com/example/**/*");
+    }
+
+    @Test
+    void delimiter() {
+        assertThat(FormatOption.LIST.delimiter()).isEqualTo(" ");
+        assertThat(FormatOption.GRADLE.delimiter()).isEqualTo(" ");
+        assertThat(FormatOption.SUREFIRE.delimiter()).isEqualTo(",");
+    }
+}
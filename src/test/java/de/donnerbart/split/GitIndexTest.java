@@ -0,0 +1,270 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitIndexTest {
+
+    private static final int REGULAR_FILE = 0100644;
+    private static final int GITLINK = 0160000;
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void find_withoutRepository() throws Exception {
+        assertThat(GitIndex.find(tmp)).isNull();
+    }
+
+    @Test
+    void find_withoutIndex() throws Exception {
+        Files.createDirectories(tmp.resolve(".git"));
+        assertThat(GitIndex.find(tmp)).isNull();
+    }
+
+    @Test
+    void find_fromSubdirectory() throws Exception {
+        final var indexFile = tmp.resolve(".git/index");
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, new IndexWriter(2).write());
+        final var directory = Files.createDirectories(tmp.resolve("src/test/java"));
+        final var gitIndex = GitIndex.find(directory);
+        assertThat(gitIndex).isNotNull();
+        assertThat(gitIndex.indexFile()).isEqualTo(indexFile.toAbsolutePath().normalize());
+    }
+
+    @Test
+    void find_withGitDirFile() throws Exception {
+        final var indexFile = tmp.resolve("repository/.git/worktrees/worktree/index");
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, new IndexWriter(2).entry("FooTest.java").write());
+        final var worktree = Files.createDirectories(tmp.resolve("worktree"));
+        Files.writeString(worktree.resolve(".git"), "gitdir: " + indexFile.getParent() + "\n");
+        final var gitIndex = GitIndex.find(worktree);
+        assertThat(gitIndex).isNotNull();
+        assertThat(gitIndex.read()).containsExactly(worktree.toAbsolutePath().normalize().resolve("FooTest.java"));
+    }
+
+    @Test
+    void find_withSha256() throws Exception {
+        final var indexFile = tmp.resolve(".git/index");
+        Files.createDirectories(indexFile.getParent());
+        Files.writeString(tmp.resolve(".git/config"), """
+                [core]
+                \trepositoryformatversion = 1
+                [extensions]
+                \tobjectformat = sha256
+                """);
+        Files.write(indexFile, new IndexWriter(2, 32).entry("FooTest.java").write());
+        final var gitIndex = GitIndex.find(tmp);
+        assertThat(gitIndex).isNotNull();
+        assertThat(gitIndex.read()).containsExactly(tmp.toAbsolutePath().normalize().resolve("FooTest.java"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    void read(final int version) throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile,
+                new IndexWriter(version).entry("build.gradle.kts")
+                        .entry("src/test/java/com/example/BarTest.java")
+                        .entry("src/test/java/com/example/FooTest.java")
+                        .entry("src/test/java/com/example/foo/FooBarTest.java")
+                        .entry("src/test/java/com/example/foo/very/long/name/of/a/package/FooBazTest.java")
+                        .entry("src/test/java/FooTest.java")
+                        .extension("TREE", new byte[16])
+                        .write());
+        assertThat(new GitIndex(tmp, indexFile, 20).read()).containsExactly(tmp.resolve("build.gradle.kts"),
+                tmp.resolve("src/test/java/com/example/BarTest.java"),
+                tmp.resolve("src/test/java/com/example/FooTest.java"),
+                tmp.resolve("src/test/java/com/example/foo/FooBarTest.java"),
+                tmp.resolve("src/test/java/com/example/foo/very/long/name/of/a/package/FooBazTest.java"),
+                tmp.resolve("src/test/java/FooTest.java"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 4})
+    void read_withSkipWorktree(final int version) throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile,
+                new IndexWriter(version).entry("BarTest.java")
+                        .entry("FooTest.java", REGULAR_FILE, 0, true)
+                        .entry("src/BazTest.java")
+                        .write());
+        assertThat(new GitIndex(tmp, indexFile, 20).read()).containsExactly(tmp.resolve("BarTest.java"),
+                tmp.resolve("src/BazTest.java"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4})
+    void read_withSubmodule(final int version) throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile,
+                new IndexWriter(version).entry("FooTest.java")
+                        .entry("submodule", GITLINK, 0, false)
+                        .entry("submodule.txt")
+                        .write());
+        assertThat(new GitIndex(tmp, indexFile, 20).read()).containsExactly(tmp.resolve("FooTest.java"),
+                tmp.resolve("submodule.txt"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4})
+    void read_withConflict(final int version) throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile,
+                new IndexWriter(version).entry("BarTest.java")
+                        .entry("FooTest.java", REGULAR_FILE, 1, false)
+                        .entry("FooTest.java", REGULAR_FILE, 2, false)
+                        .entry("FooTest.java", REGULAR_FILE, 3, false)
+                        .write());
+        assertThat(new GitIndex(tmp, indexFile, 20).read()).containsExactly(tmp.resolve("BarTest.java"),
+                tmp.resolve("FooTest.java"));
+    }
+
+    @Test
+    void read_withSplitIndex() throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile, new IndexWriter(2).entry("FooTest.java").extension("link", new byte[20]).write());
+        assertThatThrownBy(() -> new GitIndex(tmp, indexFile, 20).read()) //
+                .isInstanceOf(IOException.class).hasMessageContaining("split git index");
+    }
+
+    @Test
+    void read_withUnsupportedVersion() throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.write(indexFile, new IndexWriter(5).write());
+        assertThatThrownBy(() -> new GitIndex(tmp, indexFile, 20).read()) //
+                .isInstanceOf(IOException.class).hasMessageContaining("version 5");
+    }
+
+    @Test
+    void read_withInvalidSignature() throws Exception {
+        final var indexFile = tmp.resolve("index");
+        Files.writeString(indexFile, "not a git index");
+        assertThatThrownBy(() -> new GitIndex(tmp, indexFile, 20).read()) //
+                .isInstanceOf(IOException.class).hasMessageContaining("signature");
+    }
+
+    @Test
+    void read_withTruncatedIndex() throws Exception {
+        final var indexFile = tmp.resolve("index");
+        final var bytes = new IndexWriter(2).entry("FooTest.java").entry("BarTest.java").write();
+        Files.write(indexFile, Arrays.copyOf(bytes, 80));
+        assertThatThrownBy(() -> new GitIndex(tmp, indexFile, 20).read()).isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Writes a git index with the given entries, see
+     * <a href="https://git-scm.com/docs/index-format">index-format</a>.
+     */
+    static class IndexWriter {
+
+        private final int version;
+        private final int hashSize;
+        private final @NotNull ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final @NotNull ByteArrayOutputStream extensions = new ByteArrayOutputStream();
+        private int entryCount;
+        private @NotNull String previousName = "";
+
+        IndexWriter(final int version) {
+            this(version, 20);
+        }
+
+        private IndexWriter(final int version, final int hashSize) {
+            this.version = version;
+            this.hashSize = hashSize;
+        }
+
+        @NotNull IndexWriter entry(final @NotNull String name) throws IOException {
+            return entry(name, REGULAR_FILE, 0, false);
+        }
+
+        private @NotNull IndexWriter entry(
+                final @NotNull String name,
+                final int mode,
+                final int stage,
+                final boolean skipWorktree) throws IOException {
+            final var entry = new ByteArrayOutputStream();
+            final var out = new DataOutputStream(entry);
+            // ctime, mtime, dev, ino
+            out.write(new byte[24]);
+            out.writeInt(mode);
+            // uid, gid, size
+            out.write(new byte[12]);
+            out.write(new byte[hashSize]);
+            final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeShort((skipWorktree ? 0x4000 : 0) | (stage << 12) | Math.min(nameBytes.length, 0xfff));
+            if (skipWorktree) {
+                out.writeShort(0x4000);
+            }
+            if (version == 4) {
+                var prefixLength = 0;
+                while (prefixLength < previousName.length() &&
+                        prefixLength < name.length() &&
+                        previousName.charAt(prefixLength) == name.charAt(prefixLength)) {
+                    prefixLength++;
+                }
+                writeVarInt(out, previousName.length() - prefixLength);
+                out.write(name.substring(prefixLength).getBytes(StandardCharsets.UTF_8));
+                out.write(0);
+            } else {
+                out.write(nameBytes);
+                do {
+                    out.write(0);
+                } while (entry.size() % 8 != 0);
+            }
+            entries.write(entry.toByteArray());
+            entryCount++;
+            previousName = name;
+            return this;
+        }
+
+        private @NotNull IndexWriter extension(final @NotNull String signature, final byte @NotNull [] data)
+                throws IOException {
+            final var out = new DataOutputStream(extensions);
+            out.write(signature.getBytes(StandardCharsets.US_ASCII));
+            out.writeInt(data.length);
+            out.write(data);
+            return this;
+        }
+
+        byte @NotNull [] write() throws IOException {
+            final var index = new ByteArrayOutputStream();
+            final var out = new DataOutputStream(index);
+            out.write("DIRC".getBytes(StandardCharsets.US_ASCII));
+            out.writeInt(version);
+            out.writeInt(entryCount);
+            out.write(entries.toByteArray());
+            out.write(extensions.toByteArray());
+            // the checksum is not verified
+            out.write(new byte[hashSize]);
+            return index.toByteArray();
+        }
+
+        private static void writeVarInt(final @NotNull DataOutputStream out, final int value) throws IOException {
+            final var bytes = new byte[5];
+            var position = bytes.length - 1;
+            var remaining = value;
+            bytes[position] = (byte) (remaining & 0x7f);
+            while ((remaining >>= 7) != 0) {
+                bytes[--position] = (byte) (0x80 | (--remaining & 0x7f));
+            }
+            out.write(bytes, position, bytes.length - position);
+        }
+    }
+}
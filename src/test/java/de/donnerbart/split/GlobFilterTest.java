@@ -0,0 +1,72 @@
+package de.donnerbart.split;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobFilterTest {
+
+    @Test
+    void canSkip_withLiteralPrefix() {
+        final var globFilter = new GlobFilter(List.of("/repo/src/test/**/*Test.java", "/repo/it/*.java"), List.of());
+        assertThat(globFilter.canSkip(Path.of("/"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/src/test"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/src/test/java/com/example"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/it"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/src/main"))).isTrue();
+        assertThat(globFilter.canSkip(Path.of("/repo/it/nested"))).isTrue();
+        assertThat(globFilter.canSkip(Path.of("/repo/.git"))).isTrue();
+        assertThat(globFilter.canSkip(Path.of("/other"))).isTrue();
+    }
+
+    @Test
+    void canSkip_withWildcards() {
+        final var globFilter = new GlobFilter(List.of("**/src/test/java/**/*Test.java"), List.of());
+        assertThat(globFilter.canSkip(Path.of("/repo"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/.git"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/src/main"))).isFalse();
+    }
+
+    @Test
+    void canSkip_withExcludeGlob() {
+        final var globFilter =
+                new GlobFilter(List.of("**/src/test/java/**/*Test.java"), List.of("**/build/**", "**/.git/**"));
+        assertThat(globFilter.canSkip(Path.of("/repo"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/src/test/java"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/repo/build"))).isTrue();
+        assertThat(globFilter.canSkip(Path.of("/repo/module/build/generated"))).isTrue();
+        assertThat(globFilter.canSkip(Path.of("/repo/.git"))).isTrue();
+    }
+
+    @Test
+    void canSkip_withBraces() {
+        final var globFilter =
+                new GlobFilter(List.of("/repo/{src/test,it}/**/*.java", "/repo/{a,b}/*.java"), List.of());
+        assertThat(globFilter.canSkip(Path.of("/repo/other"))).isFalse();
+        assertThat(globFilter.canSkip(Path.of("/other"))).isTrue();
+    }
+
+    @Test
+    void childStates() {
+        final var globFilter = new GlobFilter(List.of("/repo/src/test/**/*Test.java"), List.of());
+        final var repoStates = globFilter.rootStates(Path.of("/repo"));
+        final var srcStates = globFilter.childStates(repoStates, Path.of("src"));
+        assertThat(globFilter.canSkip(srcStates)).isFalse();
+        assertThat(globFilter.canSkip(globFilter.childStates(srcStates, Path.of("test")))).isFalse();
+        assertThat(globFilter.canSkip(globFilter.childStates(srcStates, Path.of("main")))).isTrue();
+    }
+
+    @Test
+    void isIncluded() {
+        final var globFilter = new GlobFilter(List.of("**/*Test.java", "**/*IT.java"), List.of("**/Abstract*.java"));
+        assertThat(globFilter.isIncluded(Path.of("/repo/FooTest.java"))).isTrue();
+        assertThat(globFilter.isIncluded(Path.of("/repo/FooIT.java"))).isTrue();
+        assertThat(globFilter.isIncluded(Path.of("/repo/Foo.java"))).isFalse();
+        assertThat(globFilter.isExcluded(Path.of("/repo/AbstractTest.java"))).isTrue();
+        assertThat(globFilter.isExcluded(Path.of("/repo/FooTest.java"))).isFalse();
+    }
+}
@@ -0,0 +1,137 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import static de.donnerbart.split.TestUtil.copyResourceToTarget;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JUnitReportReaderTest {
+
+    private static final @NotNull Set<PosixFilePermission> PERMISSIONS = Set.of(OWNER_READ, OWNER_WRITE);
+
+    private final @NotNull JUnitReportReader junitReportReader = new JUnitReportReader();
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void read() throws Exception {
+        final var path = copyResourceToTarget(tmp,
+                "reports/TEST-de.donnerbart.example.SlowestTest.xml",
+                "TEST-de.donnerbart.example.SlowestTest.xml",
+                PERMISSIONS);
+        final var testCase = junitReportReader.read(path);
+        assertThat(testCase.name()).isEqualTo("de.donnerbart.example.SlowestTest");
+        assertThat(testCase.time()).isEqualTo(153.457d);
+    }
+
+    @Test
+    void read_withHugeSystemOut() throws Exception {
+        final var path = tmp.resolve("TEST-de.donnerbart.example.HugeTest.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite name="de.donnerbart.example.HugeTest" tests="1" time="42.5">
+                  <testcase name="testHugeMethod()" classname="de.donnerbart.example.HugeTest" time="42.5"/>
+                  <system-out><![CDATA[%s]]></system-out>
+                </testsuite>
+                """.formatted("log output\n".repeat(100_000)));
+        final var testCase = junitReportReader.read(path);
+        assertThat(testCase.name()).isEqualTo("de.donnerbart.example.HugeTest");
+        assertThat(testCase.time()).isEqualTo(42.5d);
+    }
+
+    @Test
+    void read_withFallback() throws Exception {
+        final var path = tmp.resolve("TEST-de.donnerbart.example.ElementTest.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite>
+                  <name>de.donnerbart.example.ElementTest</name>
+                  <time>1.25</time>
+                </testsuite>
+                """);
+        final var testCase = junitReportReader.read(path);
+        assertThat(testCase).isEqualTo(new TestCase("de.donnerbart.example.ElementTest", 1.25d));
+        assertThat(testCase.time()).isEqualTo(1.25d);
+    }
+
+    @Test
+    void readReport_withTestMethods() throws Exception {
+        final var path = tmp.resolve("TEST-de.donnerbart.example.MethodTest.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite name="de.donnerbart.example.MethodTest" tests="4" time="10.5">
+                  <properties/>
+                  <testcase name="testOne()" classname="de.donnerbart.example.MethodTest" time="1.5">
+                    <system-out><![CDATA[<testcase name="fake()"/>]]></system-out>
+                  </testcase>
+                  <testcase name="testTwo(int)[1]" classname="de.donnerbart.example.MethodTest" time="2"/>
+                  <testcase name="testTwo(int)[2]" classname="de.donnerbart.example.MethodTest" time="3"/>
+                  <testcase name="testThree" classname="de.donnerbart.example.MethodTest" time="4"/>
+                  <system-out><![CDATA[log output]]></system-out>
+                </testsuite>
+                """);
+        final var junitReport = new JUnitReportReader(true).readReport(path);
+        assertThat(junitReport.testSuite()).isEqualTo(new TestCase("de.donnerbart.example.MethodTest", 10.5d));
+        assertThat(junitReport.testMethods()).containsExactly(new TestCase("testOne", 1.5d),
+                new TestCase("testTwo", 5d),
+                new TestCase("testThree", 4d));
+        assertThat(junitReport.testMethods()).extracting(TestCase::time).containsExactly(1.5d, 5d, 4d);
+    }
+
+    @Test
+    void readReport_withoutTestMethods() throws Exception {
+        final var path = copyResourceToTarget(tmp,
+                "reports/TEST-de.donnerbart.example.SlowestTest.xml",
+                "TEST-de.donnerbart.example.SlowestTest.xml",
+                PERMISSIONS);
+        assertThat(junitReportReader.readReport(path).testMethods()).isEmpty();
+        assertThat(new JUnitReportReader(true).readReport(path).testMethods()).containsExactly( //
+                new TestCase("testFastMethod", 153.457d));
+    }
+
+    @Test
+    void readReport_withDisplayNames() throws Exception {
+        final var path = tmp.resolve("TEST-de.donnerbart.example.DisplayNameTest.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite name="de.donnerbart.example.DisplayNameTest" tests="2" time="3">
+                  <testcase name="testOne()" classname="de.donnerbart.example.DisplayNameTest" time="1"/>
+                  <testcase name="a nice test" classname="de.donnerbart.example.DisplayNameTest" time="2"/>
+                </testsuite>
+                """);
+        final var junitReport = new JUnitReportReader(true).readReport(path);
+        assertThat(junitReport.testSuite()).isEqualTo(new TestCase("de.donnerbart.example.DisplayNameTest", 3d));
+        assertThat(junitReport.testMethods()).isEmpty();
+    }
+
+    @Test
+    void toMethodName() {
+        assertThat(JUnitReportReader.toMethodName("testMethod")).isEqualTo("testMethod");
+        assertThat(JUnitReportReader.toMethodName("testMethod()")).isEqualTo("testMethod");
+        assertThat(JUnitReportReader.toMethodName("testMethod(String, int)[3]")).isEqualTo("testMethod");
+        assertThat(JUnitReportReader.toMethodName("testMethod[1]")).isEqualTo("testMethod");
+        assertThat(JUnitReportReader.toMethodName("[1] value")).isNull();
+        assertThat(JUnitReportReader.toMethodName("a nice test")).isNull();
+        assertThat(JUnitReportReader.toMethodName("")).isNull();
+        assertThat(JUnitReportReader.toMethodName(null)).isNull();
+    }
+
+    @Test
+    void read_withInvalidReport() throws Exception {
+        final var path = tmp.resolve("TEST-invalid.xml");
+        Files.writeString(path, "this is not XML");
+        assertThatThrownBy(() -> junitReportReader.read(path)).isInstanceOf(Exception.class);
+    }
+}
@@ -0,0 +1,61 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsTest {
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void phase() {
+        final var metrics = new Metrics();
+        try (final var phase = metrics.phase("walk")) {
+            phase.files(3);
+        }
+        try (final var phase = metrics.phase("parse")) {
+            phase.files(2).bytesRead(1024);
+        }
+        final var phases = metrics.phases();
+        assertThat(phases).extracting(Metrics.PhaseMetrics::name).containsExactly("walk", "parse");
+        assertThat(phases).extracting(Metrics.PhaseMetrics::files).containsExactly(3L, 2L);
+        assertThat(phases).extracting(Metrics.PhaseMetrics::bytesRead).containsExactly(0L, 1024L);
+        assertThat(phases).allSatisfy(phase -> assertThat(phase.durationMillis()).isNotNegative());
+    }
+
+    @Test
+    void phase_withWorkerThread() throws Exception {
+        final var metrics = new Metrics();
+        final var allocations = new ArrayList<byte[]>();
+        try (final var ignored = metrics.phase("parse")) {
+            final var thread = new Thread(() -> allocations.add(new byte[16 * 1024 * 1024]));
+            thread.start();
+            thread.join();
+        }
+        assertThat(allocations).hasSize(1);
+        assertThat(metrics.phases().getFirst().allocatedBytes()).isGreaterThanOrEqualTo(16L * 1024 * 1024);
+    }
+
+    @Test
+    void write() throws Exception {
+        final var metrics = new Metrics();
+        try (final var phase = metrics.phase("walk")) {
+            phase.files(3);
+        }
+        final var metricsFile = tmp.resolve("build").resolve("metrics.json");
+        metrics.write(metricsFile);
+        assertThat(Files.readString(metricsFile)).contains("\"totalDurationMillis\"",
+                "\"name\" : \"walk\"",
+                "\"files\" : 3",
+                "\"bytesRead\" : 0",
+                "\"allocatedBytes\"");
+    }
+}
@@ -0,0 +1,148 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NextMainTest {
+
+    private final @NotNull AtomicReference<Integer> exitCode = new AtomicReference<>();
+    private final @NotNull Coordinator coordinator =
+            new Coordinator(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                    new TestCase("de.donnerbart.example.SlowTest", 12.386d),
+                    new TestCase("de.donnerbart.example.SlowestTest", 153.457d)), 2, Duration.ofHours(1));
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    private @NotNull Path leaseFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leaseFile = tmp.resolve("runner").resolve("lease");
+        coordinator.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.close();
+    }
+
+    @Test
+    void run() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        final var args = new String[]{"--coordinator", url, "--lease-file", leaseFile.toString()};
+        assertThat(NextMain.run(exitCode::set, args)).containsExactly("de.donnerbart.example.SlowestTest",
+                "de.donnerbart.example.SlowTest");
+        assertThat(leaseFile).exists();
+        assertThat(NextMain.run(exitCode::set,
+                new String[]{"--coordinator", url + "/", "--lease-file", leaseFile.toString()})).containsExactly(
+                "de.donnerbart.example.FastTest");
+        assertThat(NextMain.run(exitCode::set, args)).isEmpty();
+        assertThat(leaseFile).doesNotExist();
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withGradleFormat() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        final var args = new String[]{"--coordinator", url, "--lease-file", leaseFile.toString(), "-f", "gradle"};
+        assertThat(NextMain.run(exitCode::set, args)).containsExactly("--tests de.donnerbart.example.SlowestTest",
+                "--tests de.donnerbart.example.SlowTest");
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withHelp() throws Exception {
+        assertThat(NextMain.run(exitCode::set, new String[]{"-h"})).isNull();
+        assertThat(exitCode).hasValue(0);
+    }
+
+    @Test
+    void run_withRunners() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        final var firstArgs = new String[]{"--coordinator", url, "--lease-file", tmp.resolve("first").toString()};
+        final var secondLeaseFile = tmp.resolve("second");
+        assertThat(NextMain.run(exitCode::set, firstArgs)).containsExactly("de.donnerbart.example.SlowestTest",
+                "de.donnerbart.example.SlowTest");
+        assertThat(NextMain.run(exitCode::set,
+                new String[]{"--coordinator", url, "--lease-file", secondLeaseFile.toString()})).containsExactly(
+                "de.donnerbart.example.FastTest");
+        // the first runner waits until the second runner acknowledged its batch
+        final var secondLeaseId = Files.readString(secondLeaseFile);
+        final var acknowledge = CompletableFuture.runAsync(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(500);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            coordinator.nextBatch(secondLeaseId);
+        });
+        assertThat(NextMain.run(exitCode::set, firstArgs)).isEmpty();
+        acknowledge.get();
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withLostResponse() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        final var args = new String[]{"--coordinator", url, "--lease-file", leaseFile.toString()};
+        assertThat(NextMain.run(exitCode::set, args)).containsExactly("de.donnerbart.example.SlowestTest",
+                "de.donnerbart.example.SlowTest");
+        final var leaseId = Files.readString(leaseFile);
+        assertThat(NextMain.run(exitCode::set, args)).containsExactly("de.donnerbart.example.FastTest");
+        // the runner didn't receive the last batch, so it acknowledges the previous lease again
+        Files.writeString(leaseFile, leaseId);
+        assertThat(NextMain.run(exitCode::set, args)).containsExactly("de.donnerbart.example.FastTest");
+        assertThat(NextMain.run(exitCode::set, args)).isEmpty();
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withWaitTimeout() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        assertThat(coordinator.nextBatch(null)).isNotNull();
+        assertThat(coordinator.nextBatch(null)).isNotNull();
+        // the batches of the other runners are never acknowledged
+        final var args =
+                new String[]{"--coordinator", url, "--lease-file", leaseFile.toString(), "--wait-timeout", "0"};
+        assertThat(NextMain.run(exitCode::set, args)).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+
+    @Test
+    void run_withUnresponsiveCoordinator() throws Exception {
+        // the connection is accepted by the backlog of the socket, but never answered
+        try (final var socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final var url = "http://localhost:" + socket.getLocalPort();
+            final var args = new String[]{"--coordinator", url, "--lease-file", leaseFile.toString(), "--timeout", "1"};
+            assertThat(NextMain.run(exitCode::set, args)).isNull();
+            assertThat(exitCode).hasValue(1);
+        }
+    }
+
+    @Test
+    void run_withUnreachableCoordinator() throws Exception {
+        final var url = "http://localhost:" + coordinator.port();
+        coordinator.close();
+        assertThat(NextMain.run(exitCode::set,
+                new String[]{"--coordinator", url, "--lease-file", leaseFile.toString()})).isNull();
+        assertThat(exitCode).hasValue(1);
+    }
+}
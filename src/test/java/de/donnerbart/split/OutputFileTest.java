@@ -0,0 +1,88 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputFileTest {
+
+    private final @NotNull List<TestCase> sortedTests = List.of(new TestCase("de.donnerbart.example.SlowTest#1",
+                    12.386d,
+                    List.of("de.donnerbart.example.SlowTest.testOne", "de.donnerbart.example.SlowTest.testTwo")),
+            new TestCase("de.donnerbart.example.SlowTest#2",
+                    8.1d,
+                    List.of("de.donnerbart.example.SlowTest.testThree(int,java.lang.String)",
+                            "de.donnerbart.example.SlowTest.testFour(java.util.concurrent.TimeUnit[])")),
+            new TestCase("de.donnerbart.example.fast.*", 5d),
+            new TestCase("de.donnerbart.example.FastTest", 2.374d));
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void write_list() throws Exception {
+        final var outputFile = tmp.resolve("output").resolve("tests.txt");
+        assertThat(OutputFile.write(outputFile, sortedTests, OutputFileOption.LIST)).isEqualTo(6);
+        assertThat(Files.readAllLines(outputFile)).containsExactly("de.donnerbart.example.SlowTest.testOne",
+                "de.donnerbart.example.SlowTest.testTwo",
+                "de.donnerbart.example.SlowTest.testThree",
+                "de.donnerbart.example.SlowTest.testFour",
+                "de.donnerbart.example.fast.*",
+                "de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void write_gradle() throws Exception {
+        final var outputFile = tmp.resolve("tests.txt");
+        assertThat(OutputFile.write(outputFile, sortedTests, OutputFileOption.GRADLE)).isEqualTo(6);
+        assertThat(Files.readAllLines(outputFile)).containsExactly("--tests de.donnerbart.example.SlowTest.testOne",
+                "--tests de.donnerbart.example.SlowTest.testTwo",
+                "--tests de.donnerbart.example.SlowTest.testThree",
+                "--tests de.donnerbart.example.SlowTest.testFour",
+                "--tests 'de.donnerbart.example.fast.*'",
+                "--tests de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void write_junit() throws Exception {
+        final var outputFile = tmp.resolve("tests.txt");
+        assertThat(OutputFile.write(outputFile, sortedTests, OutputFileOption.JUNIT)).isEqualTo(6);
+        assertThat(Files.readAllLines(outputFile)).containsExactly(
+                "--select-method=de.donnerbart.example.SlowTest#testOne",
+                "--select-method=de.donnerbart.example.SlowTest#testTwo",
+                "--select-method=de.donnerbart.example.SlowTest#testThree(int,java.lang.String)",
+                "--select-method=de.donnerbart.example.SlowTest#testFour(java.util.concurrent.TimeUnit[])",
+                "--select-package=de.donnerbart.example.fast",
+                "--select-class=de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void write_withOverloads() throws Exception {
+        final var sortedTests = List.of(new TestCase("de.donnerbart.example.SlowTest#1",
+                12.386d,
+                List.of("de.donnerbart.example.SlowTest.testOne(int)",
+                        "de.donnerbart.example.SlowTest.testOne(java.lang.String)",
+                        "de.donnerbart.example.SlowTest.testTwo")));
+        final var outputFile = tmp.resolve("tests.txt");
+        assertThat(OutputFile.write(outputFile, sortedTests, OutputFileOption.GRADLE)).isEqualTo(2);
+        assertThat(Files.readAllLines(outputFile)).containsExactly("--tests de.donnerbart.example.SlowTest.testOne",
+                "--tests de.donnerbart.example.SlowTest.testTwo");
+        // the junit format selects the overloads by their parameter types
+        assertThat(OutputFile.write(outputFile, sortedTests, OutputFileOption.JUNIT)).isEqualTo(3);
+    }
+
+    @Test
+    void write_overwritesExistingFile() throws Exception {
+        final var outputFile = tmp.resolve("tests.txt");
+        Files.writeString(outputFile, "de.donnerbart.example.OldTest\n".repeat(10));
+        assertThat(OutputFile.write(outputFile, List.of(), OutputFileOption.LIST)).isZero();
+        assertThat(outputFile).isEmptyFile();
+    }
+}
@@ -0,0 +1,65 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackageCompactorTest {
+
+    private final @NotNull Set<TestCase> allTests = Set.of(new TestCase("com.example.a.OneTest", 1d),
+            new TestCase("com.example.a.TwoTest", 2d),
+            new TestCase("com.example.a.sub.ThreeTest", 3d),
+            new TestCase("com.example.b.FourTest", 4d),
+            new TestCase("com.example.b.FiveTest", 5d),
+            new TestCase("com.example.c.SixTest", 6d),
+            new TestCase("com.example.d.SevenTest#1", 7d, List.of("com.example.d.SevenTest.testOne")),
+            new TestCase("com.example.d.SevenTest#2", 8d, List.of("com.example.d.SevenTest.testTwo")),
+            new TestCase("NoPackageTest", 9d));
+
+    @Test
+    void compact() {
+        final var splitTests = Set.of(new TestCase("com.example.a.OneTest", 1d),
+                new TestCase("com.example.a.TwoTest", 2d),
+                new TestCase("com.example.a.sub.ThreeTest", 3d),
+                new TestCase("com.example.b.FourTest", 4d),
+                new TestCase("com.example.c.SixTest", 6d),
+                new TestCase("com.example.d.SevenTest#1", 7d, List.of("com.example.d.SevenTest.testOne")),
+                new TestCase("com.example.d.SevenTest#2", 8d, List.of("com.example.d.SevenTest.testTwo")),
+                new TestCase("NoPackageTest", 9d));
+        assertThat(PackageCompactor.compact(splitTests, allTests)).containsExactly( //
+                new TestCase("com.example.d.*", 15d),
+                new TestCase("NoPackageTest", 9d),
+                new TestCase("com.example.a.*", 6d),
+                new TestCase("com.example.c.SixTest", 6d),
+                new TestCase("com.example.b.FourTest", 4d));
+    }
+
+    @Test
+    void compact_withIncompleteSubPackage() {
+        final var splitTests = Set.of(new TestCase("com.example.a.OneTest", 1d),
+                new TestCase("com.example.a.TwoTest", 2d));
+        assertThat(PackageCompactor.compact(splitTests, allTests)).containsExactly( //
+                new TestCase("com.example.a.TwoTest", 2d),
+                new TestCase("com.example.a.OneTest", 1d));
+    }
+
+    @Test
+    void compact_withAllTests() {
+        assertThat(PackageCompactor.compact(allTests, allTests)).containsExactly( //
+                new TestCase("com.*", 36d),
+                new TestCase("NoPackageTest", 9d));
+    }
+
+    @Test
+    void className() {
+        assertThat(PackageCompactor.className(new TestCase("com.example.FooTest", 1d))) //
+                .isEqualTo("com.example.FooTest");
+        assertThat(PackageCompactor.className(new TestCase("com.example.FooTest#2", 1d))) //
+                .isEqualTo("com.example.FooTest");
+    }
+}
@@ -0,0 +1,241 @@
+package de.donnerbart.split;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import static de.donnerbart.split.TestUtil.copyResourceToTarget;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceHeaderScannerTest {
+
+    private static final @NotNull Set<PosixFilePermission> PERMISSIONS = Set.of(OWNER_READ, OWNER_WRITE);
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void scan() throws Exception {
+        final var header = scanResource("FastTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.FastTest");
+        assertThat(header.isInterface()).isFalse();
+        assertThat(header.isAbstract()).isFalse();
+        assertThat(header.imports()).containsExactly("org.junit.jupiter.api.Test");
+        assertThat(header.annotations()).isEmpty();
+    }
+
+    @Test
+    void scan_disabled() throws Exception {
+        final var header = scanResource("DisabledTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.DisabledTest");
+        assertThat(header.imports()).containsExactlyInAnyOrder("org.junit.jupiter.api.Disabled",
+                "org.junit.jupiter.api.Test");
+        assertThat(header.annotations()).containsExactly("Disabled");
+    }
+
+    @Test
+    void scan_abstract() throws Exception {
+        final var header = scanResource("AbstractTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.AbstractTest");
+        assertThat(header.isAbstract()).isTrue();
+    }
+
+    @Test
+    void scan_interface() throws Exception {
+        final var header = scanResource("InterfaceTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.BaseTest");
+        assertThat(header.isInterface()).isTrue();
+    }
+
+    @Test
+    void scan_whitespaceClassDefinition() throws Exception {
+        final var header = scanResource("WhitespaceClassDefinitionTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.WhitespaceClassDefinitionTest");
+    }
+
+    @Test
+    void scan_noPackage() throws Exception {
+        final var header = scanResource("NoPackageTest.java");
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("NoPackageTest");
+    }
+
+    @Test
+    void scan_record() throws Exception {
+        assertThat(scanResource("NoClassNameTest.java")).isNull();
+    }
+
+    @Test
+    void scan_withCommentsAndAnnotationArguments() throws Exception {
+        final var header = scanSource("""
+                /* license */
+                package de.donnerbart . example; // comment
+
+                import static org.junit.Assert.*;;
+                import org.junit.Ignore;
+
+                @Ignore("not a class ) declaration")
+                @SuppressWarnings({"unchecked", /* ) */ "rawtypes"})
+                @org.junit.jupiter.api.Tag('x')
+                @ExtendWith(Extension.class)
+                public non-sealed abstract class CommentTest<T> extends BaseTest {
+                }
+                """);
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.CommentTest");
+        assertThat(header.isInterface()).isFalse();
+        assertThat(header.isAbstract()).isTrue();
+        assertThat(header.imports()).containsExactlyInAnyOrder("org.junit.Assert", "org.junit.Ignore");
+        assertThat(header.annotations()).containsExactly("Ignore",
+                "SuppressWarnings",
+                "org.junit.jupiter.api.Tag",
+                "ExtendWith");
+    }
+
+    @Test
+    void scan_withTextBlockArgument() throws Exception {
+        final var header = scanSource("""
+                package de.donnerbart.example;
+
+                @DisplayName(\"""
+                        class ) "Foo" ""\")
+                class TextBlockTest {
+                }
+                """);
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.TextBlockTest");
+        assertThat(header.annotations()).containsExactly("DisplayName");
+    }
+
+    @Test
+    void scan_enum() throws Exception {
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                enum EnumTest {
+                    A;
+
+                    class InnerTest {
+                    }
+                }
+                """)).isNull();
+    }
+
+    @Test
+    void scan_annotation() throws Exception {
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                @interface AnnotationTest {
+                }
+                """)).isNull();
+    }
+
+    @Test
+    void scan_unicodeEscape() throws Exception {
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                class Unicode\\u0054est {
+                }
+                """)).isNull();
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                // \\u000a class OtherTest {}
+                class UnicodeTest {
+                }
+                """)).isNull();
+    }
+
+    @Test
+    void scan_withBody() throws Exception {
+        final var header = scanSource("""
+                package de.donnerbart.example;
+
+                class BodyTest {
+
+                    private static final char BRACE = '}';
+                    private static final String TEXT = \"""
+                            ) ] } "\\"" \""";
+
+                    @Test
+                    void test() {
+                        // }
+                        assertThat(new int[]{1, 2}[0] / 2).isEqualTo(BRACE == '\\'' ? 0 : "{".length()); /* ( */
+                    }
+                }
+                """);
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.BodyTest");
+    }
+
+    @Test
+    void scan_withBrokenBody() throws Exception {
+        // the body is not read, so its syntax errors are left to the compiler
+        final var header = scanSource("""
+                package de.donnerbart.example;
+
+                class MissingBraceTest {
+
+                    private static final String TEXT = "foo;
+
+                    @Test
+                    void test(] {
+                } /*
+                """);
+        assertThat(header).isNotNull();
+        assertThat(header.className()).isEqualTo("de.donnerbart.example.MissingBraceTest");
+    }
+
+    @Test
+    void scan_withBrokenHeader() throws Exception {
+        assertThat(scanSource("""
+                package de.donnerbart.example
+
+                class MissingSemicolonTest {
+                }
+                """)).isNull();
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                import org.junit.jupiter.api.Test
+
+                class MissingSemicolonTest {
+                }
+                """)).isNull();
+        assertThat(scanSource("""
+                package de.donnerbart.example;
+
+                class NoBodyTest
+                """)).isNull();
+    }
+
+    @Test
+    void scan_empty() throws Exception {
+        assertThat(scanSource("")).isNull();
+    }
+
+    private @Nullable SourceHeaderScanner.Header scanResource(final @NotNull String fileName) throws Exception {
+        return SourceHeaderScanner.scan(copyResourceToTarget(tmp, "tests/" + fileName, fileName, PERMISSIONS));
+    }
+
+    private @Nullable SourceHeaderScanner.Header scanSource(final @NotNull String source) throws Exception {
+        final var path = tmp.resolve("Source.java");
+        Files.writeString(path, source);
+        return SourceHeaderScanner.scan(path);
+    }
+}
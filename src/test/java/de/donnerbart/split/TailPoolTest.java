@@ -0,0 +1,180 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.CostModel;
+import de.donnerbart.split.model.Split;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailPoolTest {
+
+    private static final @NotNull Duration LEASE_TIMEOUT = Duration.ofHours(1);
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void tail() {
+        final var split = new Split(FormatOption.LIST, 0);
+        for (int i = 1; i <= 10; i++) {
+            split.add(new TestCase("de.donnerbart.example.Test" + i, i));
+        }
+        // the slowest tests up to 44s of 55s stay in the split
+        assertThat(TailPool.tail(split, 0.8d)).extracting(TestCase::name)
+                .containsExactly("de.donnerbart.example.Test4",
+                        "de.donnerbart.example.Test3",
+                        "de.donnerbart.example.Test2",
+                        "de.donnerbart.example.Test1");
+        assertThat(TailPool.tail(split, 1d)).isEmpty();
+    }
+
+    @Test
+    void tail_withSingleSlowTest() {
+        final var split = new Split(FormatOption.LIST, 0);
+        split.add(new TestCase("de.donnerbart.example.SlowestTest", 153.457d));
+        split.add(new TestCase("de.donnerbart.example.FastTest", 2.374d));
+        assertThat(TailPool.tail(split, 0.5d)).containsExactly(new TestCase("de.donnerbart.example.FastTest", 2.374d));
+    }
+
+    @Test
+    void tail_withCostModel() {
+        // the split overhead of 45s and the test overhead of 1s per test are part of the static share
+        final var split = new Split(FormatOption.LIST, 0, new CostModel(1d, 45d), 2d);
+        for (int i = 1; i <= 10; i++) {
+            split.add(new TestCase("de.donnerbart.example.Test" + i, i));
+        }
+        // the slowest tests up to 44s of the predicted 55s of the twice as fast runner stay in the split
+        assertThat(TailPool.tail(split, 0.8d)).extracting(TestCase::name)
+                .containsExactly("de.donnerbart.example.Test5",
+                        "de.donnerbart.example.Test4",
+                        "de.donnerbart.example.Test3",
+                        "de.donnerbart.example.Test2",
+                        "de.donnerbart.example.Test1");
+    }
+
+    @Test
+    void isValidRunId() {
+        assertThat(TailPool.isValidRunId("1234")).isTrue();
+        assertThat(TailPool.isValidRunId("pipeline-1234_attempt.2")).isTrue();
+        assertThat(TailPool.isValidRunId("")).isFalse();
+        assertThat(TailPool.isValidRunId(".")).isFalse();
+        assertThat(TailPool.isValidRunId("..")).isFalse();
+        assertThat(TailPool.isValidRunId("../run")).isFalse();
+        assertThat(TailPool.isValidRunId("run/1")).isFalse();
+    }
+
+    @Test
+    void publishAndClaim() throws Exception {
+        final var tailPool = new TailPool(tmp.resolve("pool"), "run");
+        assertThat(tailPool.claim(0, 1, LEASE_TIMEOUT)).isEmpty();
+
+        tailPool.publish(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest#1",
+                        12.386d,
+                        List.of("de.donnerbart.example.SlowTest.testOne", "de.donnerbart.example.SlowTest.testTwo")),
+                new TestCase("de.donnerbart.example.NoTimingTest", 0d)));
+
+        final var claimed = tailPool.claim(1, 2, LEASE_TIMEOUT);
+        assertThat(claimed).extracting(TestCase::name)
+                .containsExactly("de.donnerbart.example.SlowTest#1", "de.donnerbart.example.FastTest");
+        assertThat(claimed.getFirst().time()).isEqualTo(12.386d);
+        assertThat(claimed.getFirst().testFilters()).containsExactly("de.donnerbart.example.SlowTest.testOne",
+                "de.donnerbart.example.SlowTest.testTwo");
+        final var noTimingTest = new TestCase("de.donnerbart.example.NoTimingTest", 0d);
+        assertThat(tailPool.claim(0, 2, LEASE_TIMEOUT)).containsExactly(noTimingTest);
+        // the pool is empty, but split 1 didn't acknowledge its tests yet
+        assertThat(tailPool.claim(0, 2, LEASE_TIMEOUT)).isNull();
+        assertThat(tailPool.claim(1, 2, LEASE_TIMEOUT)).isEmpty();
+        assertThat(tailPool.claim(0, 2, LEASE_TIMEOUT)).isEmpty();
+        assertThat(tmp.resolve("pool").resolve("run").resolve("done").resolve("1")) //
+                .isDirectoryContaining("glob:**-de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void claim_withExpiredLease() throws Exception {
+        final var tailPool = new TailPool(tmp.resolve("pool"), "run");
+        final var fastTest = new TestCase("de.donnerbart.example.FastTest", 2.374d);
+        final var slowTest = new TestCase("de.donnerbart.example.SlowTest", 12.386d);
+        tailPool.publish(List.of(fastTest, slowTest));
+        assertThat(tailPool.claim(0, 1, LEASE_TIMEOUT)).containsExactly(slowTest);
+
+        // split 0 died, so its lease expires
+        final var leaseDirectory = tmp.resolve("pool").resolve("run").resolve("leased").resolve("0");
+        try (final var stream = Files.list(leaseDirectory)) {
+            for (final var leasedFile : stream.toList()) {
+                Files.setLastModifiedTime(leasedFile, FileTime.from(Instant.now().minus(LEASE_TIMEOUT)));
+            }
+        }
+        assertThat(tailPool.claim(1, 2, LEASE_TIMEOUT)).containsExactly(slowTest, fastTest);
+        assertThat(leaseDirectory).isEmptyDirectory();
+        assertThat(tailPool.claim(1, 2, LEASE_TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void claim_withStaleRun() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        new TailPool(poolDirectory, "first").publish(List.of(new TestCase("de.donnerbart.example.StaleTest", 1d)));
+
+        final var tailPool = new TailPool(poolDirectory, "second");
+        tailPool.publish(List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d)));
+        final var fastTest = new TestCase("de.donnerbart.example.FastTest", 2.374d);
+        assertThat(tailPool.claim(0, 2, LEASE_TIMEOUT)).containsExactly(fastTest);
+        assertThat(tailPool.claim(0, 2, LEASE_TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void claim_concurrently() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        final var testCases = new ArrayList<TestCase>();
+        for (int i = 0; i < 200; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Test" + i, i / 7d));
+        }
+        new TailPool(poolDirectory, "run").publish(testCases);
+
+        final var claimed = ConcurrentHashMap.<TestCase>newKeySet();
+        final var duplicates = ConcurrentHashMap.<TestCase>newKeySet();
+        try (final var executor = Executors.newFixedThreadPool(4)) {
+            final var futures = new ArrayList<Future<?>>();
+            for (int splitIndex = 0; splitIndex < 4; splitIndex++) {
+                final var index = splitIndex;
+                futures.add(executor.submit(() -> {
+                    final var tailPool = new TailPool(poolDirectory, "run");
+                    List<TestCase> batch;
+                    while ((batch = tailPool.claim(index, 3, LEASE_TIMEOUT)) == null || !batch.isEmpty()) {
+                        if (batch == null) {
+                            // the tests of other splits are not acknowledged yet
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        for (final var testCase : batch) {
+                            if (!claimed.add(testCase)) {
+                                duplicates.add(testCase);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (final var future : futures) {
+                future.get();
+            }
+        }
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(Set.copyOf(testCases));
+        assertThat(duplicates).isEmpty();
+    }
+}
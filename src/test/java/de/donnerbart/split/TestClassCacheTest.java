@@ -0,0 +1,119 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.TestClassFile.SkipReason;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestClassCacheTest {
+
+    private final @NotNull AtomicInteger parseCount = new AtomicInteger();
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    private @NotNull Path cacheFile;
+    private @NotNull Path testPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cacheFile = tmp.resolve("cache").resolve("test-classes.cache");
+        testPath = tmp.resolve("FastTest.java");
+        Files.writeString(testPath, "class FastTest {}");
+    }
+
+    @Test
+    void get_withCacheHit() throws Exception {
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        assertThat(testClassCache.get(testPath, this::parse)).isEqualTo(new TestClassFile("FastTest", null));
+        testClassCache.save();
+        assertThat(cacheFile).exists();
+
+        final var loadedTestClassCache = TestClassCache.load(cacheFile, false);
+        assertThat(loadedTestClassCache.get(testPath, this::parse)).isEqualTo(new TestClassFile("FastTest", null));
+        assertThat(parseCount).hasValue(1);
+    }
+
+    @Test
+    void get_withSkipReason() throws Exception {
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        testClassCache.get(testPath, path -> new TestClassFile("FastTest", SkipReason.DISABLED));
+        testClassCache.save();
+
+        final var loadedTestClassCache = TestClassCache.load(cacheFile, false);
+        assertThat(loadedTestClassCache.get(testPath, this::parse)).isEqualTo(new TestClassFile("FastTest",
+                SkipReason.DISABLED));
+        assertThat(parseCount).hasValue(0);
+    }
+
+    @Test
+    void get_withModifiedFile() throws Exception {
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        testClassCache.get(testPath, this::parse);
+        testClassCache.save();
+
+        Files.setLastModifiedTime(testPath, FileTime.fromMillis(0));
+        final var loadedTestClassCache = TestClassCache.load(cacheFile, false);
+        loadedTestClassCache.get(testPath, this::parse);
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    void get_withContentHash() throws Exception {
+        final var testClassCache = TestClassCache.load(cacheFile, true);
+        testClassCache.get(testPath, this::parse);
+        testClassCache.save();
+
+        // the modification time is ignored
+        Files.setLastModifiedTime(testPath, FileTime.fromMillis(0));
+        final var loadedTestClassCache = TestClassCache.load(cacheFile, true);
+        loadedTestClassCache.get(testPath, this::parse);
+        assertThat(parseCount).hasValue(1);
+        loadedTestClassCache.save();
+
+        // the content has changed with the same size
+        Files.writeString(testPath, "class SlowTest {}");
+        final var changedTestClassCache = TestClassCache.load(cacheFile, true);
+        changedTestClassCache.get(testPath, this::parse);
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    void save_evictsUnusedEntries() throws Exception {
+        final var otherTestPath = tmp.resolve("SlowTest.java");
+        Files.writeString(otherTestPath, "class SlowTest {}");
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        testClassCache.get(testPath, this::parse);
+        testClassCache.get(otherTestPath, this::parse);
+        testClassCache.save();
+        assertThat(Files.readAllLines(cacheFile)).hasSize(3);
+
+        final var loadedTestClassCache = TestClassCache.load(cacheFile, false);
+        loadedTestClassCache.get(testPath, this::parse);
+        loadedTestClassCache.save();
+        assertThat(Files.readAllLines(cacheFile)).hasSize(2);
+    }
+
+    @Test
+    void load_withInvalidCacheFile() throws Exception {
+        Files.createDirectories(cacheFile.getParent());
+        Files.writeString(cacheFile, "invalid");
+        final var testClassCache = TestClassCache.load(cacheFile, false);
+        testClassCache.get(testPath, this::parse);
+        assertThat(parseCount).hasValue(1);
+    }
+
+    private @NotNull TestClassFile parse(final @NotNull Path path) {
+        parseCount.incrementAndGet();
+        final var fileName = path.getFileName().toString();
+        return new TestClassFile(fileName.substring(0, fileName.length() - ".java".length()), null);
+    }
+}
@@ -0,0 +1,217 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestClassSplitterTest {
+
+    private static final @NotNull TestCase SLOW_TEST = new TestCase("de.donnerbart.example.SlowTest", 100d);
+    private static final @NotNull TestCase FAST_TEST = new TestCase("de.donnerbart.example.FastTest", 10d);
+    private static final @NotNull List<TestCase> SLOW_TEST_METHODS = List.of(new TestCase("testOne", 40d),
+            new TestCase("testTwo", 30d),
+            new TestCase("testThree", 20d),
+            new TestCase("testFour", 6d));
+
+    private final @NotNull TestClassSplitter testClassSplitter = new TestClassSplitter(50d);
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    private @NotNull Path sourceFolder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sourceFolder = tmp.resolve("src").resolve("de").resolve("donnerbart").resolve("example");
+        Files.createDirectories(sourceFolder);
+    }
+
+    @Test
+    void split() throws Exception {
+        final var testPath = writeSlowTest("""
+                @Test
+                void testOne() {
+                }
+
+                @Test
+                void testTwo() {
+                }
+
+                @ParameterizedTest
+                @ValueSource(ints = {1, 2})
+                void testThree(int value) {
+                }
+
+                @Test
+                void testFour() {
+                }
+
+                private void helper() {
+                }
+                """);
+        final var testCases = testClassSplitter.split(Set.of(SLOW_TEST, FAST_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of(testPath));
+        // the 4s of the class setup are added to both groups
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertThat(testCase).isEqualTo(FAST_TEST),
+                testCase -> {
+                    assertThat(testCase.name()).isEqualTo("de.donnerbart.example.SlowTest#1");
+                    assertThat(testCase.time()).isEqualTo(50d);
+                    assertThat(testCase.testFilters()).containsExactly("de.donnerbart.example.SlowTest.testFour",
+                            "de.donnerbart.example.SlowTest.testOne");
+                },
+                testCase -> {
+                    assertThat(testCase.name()).isEqualTo("de.donnerbart.example.SlowTest#2");
+                    assertThat(testCase.time()).isEqualTo(54d);
+                    assertThat(testCase.testFilters()).containsExactly("de.donnerbart.example.SlowTest.testThree(int)",
+                            "de.donnerbart.example.SlowTest.testTwo");
+                });
+    }
+
+    @Test
+    void split_withParameterizedTestMethods() throws Exception {
+        final var testPath = writeSlowTest("""
+                @ParameterizedTest
+                @ValueSource(strings = {"a", "b"})
+                void testOne(String value) {
+                }
+
+                @Test
+                void testTwo() {
+                }
+
+                @ParameterizedTest
+                @EnumSource(TimeUnit.class)
+                void testTwo(final TimeUnit unit) {
+                }
+
+                @ParameterizedTest
+                @MethodSource("values")
+                void testThree(int[] values, java.util.List<Example> examples, Example... more) {
+                }
+
+                @Test
+                void testFour() {
+                }
+                """, "import java.util.concurrent.TimeUnit;");
+        final var testCases = testClassSplitter.split(Set.of(SLOW_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of(testPath));
+        // the overloads of testTwo are in the same group, since their recorded times cannot be told apart
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertThat(testCase.testFilters()).containsExactly(
+                        "de.donnerbart.example.SlowTest.testFour",
+                        "de.donnerbart.example.SlowTest.testOne(java.lang.String)"),
+                testCase -> assertThat(testCase.testFilters()).containsExactly(
+                        "de.donnerbart.example.SlowTest.testThree(int[],java.util.List," +
+                                "de.donnerbart.example.Example[])",
+                        "de.donnerbart.example.SlowTest.testTwo",
+                        "de.donnerbart.example.SlowTest.testTwo(java.util.concurrent.TimeUnit)"));
+    }
+
+    @Test
+    void split_withUnresolvableParameterType() throws Exception {
+        final var testPath = writeSlowTest("""
+                @Test
+                void testOne() {
+                }
+
+                @ParameterizedTest
+                @MethodSource("values")
+                void testTwo(List<String> values) {
+                }
+                """, "import java.util.*;");
+        final var testCases = testClassSplitter.split(Set.of(SLOW_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of(testPath));
+        assertThat(testCases).containsExactly(SLOW_TEST);
+        assertThat(testCases.iterator().next().testFilters()).isEmpty();
+    }
+
+    @Test
+    void split_withUnrecordedTestMethod() throws Exception {
+        final var testPath = writeSlowTest("""
+                @Test
+                void testOne() {
+                }
+
+                @Test
+                void testNew() {
+                }
+                """);
+        final var testCases = testClassSplitter.split(Set.of(SLOW_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of(testPath));
+        assertThat(testCases).containsExactly(SLOW_TEST);
+        assertThat(testCases.iterator().next().testFilters()).isEmpty();
+    }
+
+    @Test
+    void split_withNestedClass() throws Exception {
+        final var testPath = writeSlowTest("""
+                @Test
+                void testOne() {
+                }
+
+                @Nested
+                class InnerTest {
+
+                    @Test
+                    void testInner() {
+                    }
+                }
+                """);
+        final var testCases = testClassSplitter.split(Set.of(SLOW_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of(testPath));
+        assertThat(testCases).containsExactly(SLOW_TEST);
+        assertThat(testCases.iterator().next().testFilters()).isEmpty();
+    }
+
+    @Test
+    void split_withoutTestFile() {
+        final var testCases =
+                testClassSplitter.split(Set.of(SLOW_TEST), Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS), Set.of());
+        assertThat(testCases).containsExactly(SLOW_TEST);
+    }
+
+    @Test
+    void split_belowThreshold() {
+        final var testCases = new TestClassSplitter(100d).split(Set.of(SLOW_TEST),
+                Map.of(SLOW_TEST.name(), SLOW_TEST_METHODS),
+                Set.of());
+        assertThat(testCases).containsExactly(SLOW_TEST);
+    }
+
+    private @NotNull Path writeSlowTest(final @NotNull String body) throws Exception {
+        return writeSlowTest(body, "");
+    }
+
+    private @NotNull Path writeSlowTest(final @NotNull String body, final @NotNull String imports) throws Exception {
+        final var testPath = sourceFolder.resolve("SlowTest.java");
+        Files.writeString(testPath, """
+                package de.donnerbart.example;
+
+                import org.junit.jupiter.api.Nested;
+                import org.junit.jupiter.api.Test;
+                import org.junit.jupiter.params.ParameterizedTest;
+                import org.junit.jupiter.params.provider.ValueSource;
+                %s
+                class SlowTest {
+
+                %s}
+                """.formatted(imports, body.indent(4)));
+        return testPath;
+    }
+}
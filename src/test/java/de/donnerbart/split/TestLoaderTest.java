@@ -7,13 +7,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static de.donnerbart.split.TestUtil.compile;
 import static de.donnerbart.split.TestUtil.copyResourceToTarget;
 import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
 import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
@@ -103,6 +109,20 @@ class TestLoaderTest {
         assertThat(exitCode).hasNullValue();
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void load_withJUnit_withPipeline(final int threads) throws Exception {
+        final var testCases =
+                loadTests(true, NewTestTimeOption.AVERAGE, "**/example-project/**/*Test.java", tmp, threads, true);
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 56.0723d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 56.0723d)));
+        assertThat(exitCode).hasNullValue();
+    }
+
     @Test
     void load_withJUnit_withAverageTestTime() throws Exception {
         final var testCases = loadTests(true, NewTestTimeOption.AVERAGE);
@@ -139,6 +159,248 @@ class TestLoaderTest {
         assertThat(exitCode).hasNullValue();
     }
 
+    @Test
+    void load_withJUnit_withThreads() throws Exception {
+        final var testCases =
+                loadTests(true, NewTestTimeOption.ZERO, "**/example-project/**/*Test.java", tmp, 4);
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 0d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 0d)));
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void load_withGitIndex_withoutRepository(final boolean pipeline) throws Exception {
+        // falls back to walking the working directory
+        final var testLoader = new TestLoader(List.of("**/example-project/**/*Test.java"),
+                List.of("**/example-project/**/*Abstract*.java"),
+                "**/junit-reports/*.xml",
+                NewTestTimeOption.ZERO,
+                tmp,
+                1,
+                null,
+                false,
+                null,
+                0,
+                pipeline,
+                true,
+                exitCode::set);
+        final var testCases = testLoader.load();
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 0d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 0d)));
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void load_withCache() throws Exception {
+        final var cacheFile = tmp.resolve("cache").resolve("test-classes.cache");
+        for (int i = 0; i < 2; i++) {
+            final var testLoader = new TestLoader(List.of("**/example-project/**/*Test.java"),
+                    List.of("**/example-project/**/*Abstract*.java"),
+                    "**/junit-reports/*.xml",
+                    NewTestTimeOption.ZERO,
+                    tmp,
+                    1,
+                    cacheFile,
+                    false,
+                    null,
+                    0,
+                    false,
+                    false,
+                    exitCode::set);
+            final var testCases = testLoader.load();
+            assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                    testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                    testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                    testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                    testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 0d)),
+                    testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 0d)));
+            assertThat(cacheFile).exists();
+        }
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void load_withTimingIndex() throws Exception {
+        final var timingIndex = tmp.resolve("timing.index");
+        TimingIndex.write(timingIndex,
+                List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                        new TestCase("de.donnerbart.example.SlowTest", 12.386d),
+                        new TestCase("de.donnerbart.example.SlowestTest", 153.457d),
+                        new TestCase("de.donnerbart.example.DeletedTest", 1d)));
+        final var testLoader = new TestLoader(List.of("**/example-project/**/*Test.java"),
+                List.of("**/example-project/**/*Abstract*.java"),
+                null,
+                NewTestTimeOption.ZERO,
+                tmp,
+                1,
+                null,
+                false,
+                timingIndex,
+                0,
+                false,
+                false,
+                exitCode::set);
+        final var testCases = testLoader.load();
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 0d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 0d)));
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void load_withMethodSplitThreshold(final boolean pipeline) throws Exception {
+        final var projectFolder = tmp.resolve("method-split-project").resolve("de").resolve("donnerbart");
+        Files.createDirectories(projectFolder);
+        Files.writeString(projectFolder.resolve("HugeTest.java"), """
+                package de.donnerbart;
+
+                import org.junit.jupiter.api.Test;
+
+                class HugeTest {
+
+                    @Test
+                    void testOne() {
+                    }
+
+                    @Test
+                    void testTwo() {
+                    }
+                }
+                """);
+        final var reportFolder = tmp.resolve("method-split-reports");
+        Files.createDirectories(reportFolder);
+        Files.writeString(reportFolder.resolve("TEST-de.donnerbart.HugeTest.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite name="de.donnerbart.HugeTest" tests="2" time="100">
+                  <testcase name="testOne()" classname="de.donnerbart.HugeTest" time="60"/>
+                  <testcase name="testTwo()" classname="de.donnerbart.HugeTest" time="40"/>
+                </testsuite>
+                """);
+
+        final var testLoader = new TestLoader(List.of("**/method-split-project/**/*Test.java"),
+                List.of(),
+                "**/method-split-reports/*.xml",
+                NewTestTimeOption.ZERO,
+                tmp,
+                1,
+                null,
+                false,
+                null,
+                60,
+                pipeline,
+                false,
+                exitCode::set);
+        final var testCases = testLoader.load();
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> {
+                    assertTestCase(testCase, new TestCase("de.donnerbart.HugeTest#1", 60d));
+                    assertThat(testCase.testFilters()).containsExactly("de.donnerbart.HugeTest.testOne");
+                },
+                testCase -> {
+                    assertTestCase(testCase, new TestCase("de.donnerbart.HugeTest#2", 40d));
+                    assertThat(testCase.testFilters()).containsExactly("de.donnerbart.HugeTest.testTwo");
+                });
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void load_withPipeline_sameAsBatch(final int threads) throws Exception {
+        final var projectFolder = tmp.resolve("pipeline-project");
+        final var trackedFiles = new TreeSet<String>();
+        for (int i = 0; i < 30; i++) {
+            final var packageName = "com.example.p" + i % 5;
+            trackedFiles.add(writeTest(projectFolder, packageName, "Pipeline" + i + "Test", "test"));
+            if (i % 3 != 0) {
+                writeReport(projectFolder, packageName + ".Pipeline" + i + "Test", Map.of("test()", i + 1d));
+            }
+        }
+        // excluded test classes with JUnit reports
+        for (int i = 0; i < 3; i++) {
+            trackedFiles.add(writeTest(projectFolder, "com.example.generated", "Generated" + i + "Test", "test"));
+            writeReport(projectFolder, "com.example.generated.Generated" + i + "Test", Map.of("test()", 5d));
+        }
+        // untracked test classes with JUnit reports
+        for (int i = 0; i < 3; i++) {
+            writeTest(projectFolder, "com.example.p0", "Untracked" + i + "Test", "test");
+            writeReport(projectFolder, "com.example.p0.Untracked" + i + "Test", Map.of("test()", 5d));
+        }
+        // a test class that is split into groups of test methods
+        trackedFiles.add(writeTest(projectFolder, "com.example.p1", "HugeTest", "testOne", "testTwo", "testThree"));
+        writeReport(projectFolder,
+                "com.example.p1.HugeTest",
+                Map.of("testOne()", 50d, "testTwo()", 30d, "testThree()", 20d));
+        final var indexWriter = new GitIndexTest.IndexWriter(2);
+        for (final var trackedFile : trackedFiles) {
+            indexWriter.entry(trackedFile);
+        }
+        Files.createDirectories(projectFolder.resolve(".git"));
+        Files.write(projectFolder.resolve(".git").resolve("index"), indexWriter.write());
+
+        final var batchTestCases = toString(loadPipelineProject(projectFolder, threads, false));
+        assertThat(batchTestCases).hasSize(33);
+        assertThat(batchTestCases).contains("com.example.p0.Pipeline0Test 20.000000 []",
+                "com.example.p1.Pipeline1Test 2.000000 []",
+                "com.example.p1.HugeTest#1 50.000000 [com.example.p1.HugeTest.testOne]",
+                "com.example.p1.HugeTest#2 30.000000 [com.example.p1.HugeTest.testTwo]",
+                "com.example.p1.HugeTest#3 20.000000 [com.example.p1.HugeTest.testThree]");
+        assertThat(batchTestCases).noneMatch(testCase -> testCase.contains("Generated") ||
+                testCase.contains("Untracked"));
+        assertThat(toString(loadPipelineProject(projectFolder, threads, true))).isEqualTo(batchTestCases);
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void load_withDuplicateJUnitReports(final boolean pipeline) throws Exception {
+        final var projectFolder = tmp.resolve("duplicate-project");
+        for (int i = 0; i < 20; i++) {
+            writeTest(projectFolder, "com.example", "Duplicate" + i + "Test", "test");
+            writeReport(projectFolder, "com.example.Duplicate" + i + "Test", Map.of("test()", 10d));
+        }
+        // a rerun of the tests with other times, whose JUnit reports are sorted after the first ones
+        final var reportFolder = projectFolder.resolve("build").resolve("test-results");
+        final var rerunFolder = Files.createDirectories(reportFolder.resolve("rerun"));
+        try (final var reports = Files.list(reportFolder).filter(Files::isRegularFile)) {
+            for (final var report : reports.toList()) {
+                Files.writeString(rerunFolder.resolve(report.getFileName()),
+                        Files.readString(report).replace("10.0", "20.0"));
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            final var testLoader = new TestLoader(List.of("**/src/test/java/**/*Test.java"),
+                    List.of(),
+                    "**/*.xml",
+                    NewTestTimeOption.ZERO,
+                    projectFolder,
+                    4,
+                    null,
+                    false,
+                    null,
+                    0,
+                    pipeline,
+                    false,
+                    exitCode::set);
+            final var testCases = testLoader.load();
+            assertThat(testCases).hasSize(20);
+            assertThat(testCases).allSatisfy(testCase -> assertThat(testCase.time()).isEqualTo(10d));
+        }
+        assertThat(exitCode).hasNullValue();
+    }
+
     @Test
     void load_whitespaceClassDefinition() throws Exception {
         final var projectFolder =
@@ -148,11 +410,18 @@ class TestLoaderTest {
                 "WhitespaceClassDefinitionTest.java",
                 PERMISSIONS);
 
-        final var testLoader = new TestLoader("**/multiline-class-definition-project/**/*Test.java",
-                null,
+        final var testLoader = new TestLoader(List.of("**/multiline-class-definition-project/**/*Test.java"),
+                List.of(),
                 null,
                 NewTestTimeOption.ZERO,
                 tmp,
+                1,
+                null,
+                false,
+                null,
+                0,
+                false,
+                false,
                 exitCode::set);
         final var testCases = testLoader.load();
         assertThat(testCases).singleElement().satisfies(testCase -> assertTestCase(testCase, //
@@ -203,6 +472,42 @@ class TestLoaderTest {
         assertThat(exitCode).hasNullValue();
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void load_withClassFiles(final boolean pipeline) throws Exception {
+        final var projectFolder = tmp.resolve("example-project/src/main/java/de/donnerbart/example");
+        compile(tmp.resolve("example-project/build/classes"),
+                projectFolder.resolve("AbstractTest.java"),
+                projectFolder.resolve("DisabledTest.java"),
+                projectFolder.resolve("FastTest.java"),
+                projectFolder.resolve("NoTimingOneTest.java"),
+                projectFolder.resolve("NoTimingTwoTest.java"),
+                projectFolder.resolve("SlowTest.java"),
+                projectFolder.resolve("SlowestTest.java"));
+        final var testCases = loadTests(true,
+                NewTestTimeOption.ZERO,
+                "**/example-project/build/classes/**/*Test.class",
+                tmp,
+                1,
+                pipeline);
+        assertThat(testCases).satisfiesExactlyInAnyOrder( //
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.FastTest", 2.374d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowTest", 12.386d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.SlowestTest", 153.457d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingOneTest", 0d)),
+                testCase -> assertTestCase(testCase, new TestCase("de.donnerbart.example.NoTimingTwoTest", 0d)));
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void getPaths_withMultipleGlobs() throws Exception {
+        final var paths = TestLoader.getPaths(tmp,
+                List.of("**/example-project/**/Slow*Test.java", "**/example-project/**/Fast*.java"),
+                List.of("**/example-project/**/SlowestTest.java", "**/unreadable/**"));
+        assertThat(paths).extracting(path -> path.getFileName().toString())
+                .containsExactlyInAnyOrder("SlowTest.java", "FastTest.java");
+    }
+
     @ParameterizedTest
     @EnumSource(NewTestTimeOption.class)
     void load_noTests(final @NotNull NewTestTimeOption newTestTimeOption) throws Exception {
@@ -225,6 +530,64 @@ class TestLoaderTest {
         assertThat(exitCode).hasValue(1);
     }
 
+    @Test
+    void load_syntaxError() throws Exception {
+        final var projectFolder = tmp.resolve("syntax-error-project").resolve("src").resolve("main").resolve("java");
+        Files.createDirectories(projectFolder);
+        Files.writeString(projectFolder.resolve("SyntaxErrorTest.java"), """
+                package de.donnerbart.example
+
+                class SyntaxErrorTest {
+
+                    void test() {
+                    }
+                }
+                """);
+        copyResourceToTarget(projectFolder, "tests/FastTest.java", "FastTest.java", PERMISSIONS);
+
+        final var testCases =
+                loadTests(false, NewTestTimeOption.ZERO, "**/syntax-error-project/**/*Test.java", projectFolder);
+        assertThat(testCases).singleElement().satisfies(testCase -> assertTestCase(testCase, //
+                new TestCase("de.donnerbart.example.FastTest", 0d)));
+        assertThat(exitCode).hasValue(1);
+    }
+
+    @Test
+    void load_syntaxErrorAfterClassName() throws Exception {
+        final var projectFolder =
+                tmp.resolve("syntax-error-body-project").resolve("src").resolve("main").resolve("java");
+        Files.createDirectories(projectFolder);
+        // only the header is parsed, so the missing brace is left to the compiler
+        Files.writeString(projectFolder.resolve("SyntaxErrorTest.java"), """
+                package de.donnerbart.example;
+
+                class SyntaxErrorTest {
+
+                    void test() {
+                }
+                """);
+        copyResourceToTarget(projectFolder, "tests/FastTest.java", "FastTest.java", PERMISSIONS);
+
+        final var testCases =
+                loadTests(false, NewTestTimeOption.ZERO, "**/syntax-error-body-project/**/*Test.java", projectFolder);
+        assertThat(testCases).extracting(TestCase::name)
+                .containsExactlyInAnyOrder("de.donnerbart.example.FastTest", "de.donnerbart.example.SyntaxErrorTest");
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void load_noClassName_withThreads() throws Exception {
+        final var projectFolder = tmp.resolve("no-classname-project").resolve("src").resolve("main").resolve("java");
+        copyResourceToTarget(projectFolder, "tests/NoClassNameTest.java", "NoClassNameTest.java", PERMISSIONS);
+        copyResourceToTarget(projectFolder, "tests/FastTest.java", "FastTest.java", PERMISSIONS);
+
+        final var testCases =
+                loadTests(false, NewTestTimeOption.ZERO, "**/no-classname-project/**/*Test.java", projectFolder, 4);
+        assertThat(testCases).singleElement().satisfies(testCase -> assertTestCase(testCase, //
+                new TestCase("de.donnerbart.example.FastTest", 0d)));
+        assertThat(exitCode).hasValue(1);
+    }
+
     private @NotNull Set<TestCase> loadTests(
             final boolean withJUnit,
             final @NotNull NewTestTimeOption newTestTimeOption) throws Exception {
@@ -236,15 +599,122 @@ class TestLoaderTest {
             final @NotNull NewTestTimeOption newTestTimeOption,
             final @NotNull String glob,
             final @NotNull Path workingDir) throws Exception {
-        final var testLoader = new TestLoader(glob,
-                "**/example-project/**/*Abstract*.java",
+        return loadTests(withJUnit, newTestTimeOption, glob, workingDir, 1);
+    }
+
+    private @NotNull Set<TestCase> loadTests(
+            final boolean withJUnit,
+            final @NotNull NewTestTimeOption newTestTimeOption,
+            final @NotNull String glob,
+            final @NotNull Path workingDir,
+            final int threads) throws Exception {
+        return loadTests(withJUnit, newTestTimeOption, glob, workingDir, threads, false);
+    }
+
+    private @NotNull Set<TestCase> loadTests(
+            final boolean withJUnit,
+            final @NotNull NewTestTimeOption newTestTimeOption,
+            final @NotNull String glob,
+            final @NotNull Path workingDir,
+            final int threads,
+            final boolean pipeline) throws Exception {
+        final var testLoader = new TestLoader(List.of(glob),
+                List.of("**/example-project/**/*Abstract*.java"),
                 withJUnit ? "**/junit-reports/*.xml" : null,
                 newTestTimeOption,
                 workingDir,
+                threads,
+                null,
+                false,
+                null,
+                0,
+                pipeline,
+                false,
+                exitCode::set);
+        return testLoader.load();
+    }
+
+    private @NotNull Set<TestCase> loadPipelineProject(
+            final @NotNull Path projectFolder,
+            final int threads,
+            final boolean pipeline) throws Exception {
+        final var testLoader = new TestLoader(List.of("**/src/test/java/**/*Test.java"),
+                List.of("**/generated/**"),
+                "**/test-results/*.xml",
+                NewTestTimeOption.AVERAGE,
+                projectFolder,
+                threads,
+                null,
+                false,
+                null,
+                40,
+                pipeline,
+                true,
                 exitCode::set);
         return testLoader.load();
     }
 
+    /**
+     * Writes a test class and returns its path relative to the project folder.
+     */
+    private static @NotNull String writeTest(
+            final @NotNull Path projectFolder,
+            final @NotNull String packageName,
+            final @NotNull String className,
+            final @NotNull String @NotNull ... testMethods) throws Exception {
+        final var testFile = "src/test/java/" + packageName.replace('.', '/') + "/" + className + ".java";
+        final var source = new StringBuilder("package " + packageName + ";\n\n");
+        source.append("import org.junit.jupiter.api.Test;\n\n");
+        source.append("class ").append(className).append(" {\n");
+        for (final var testMethod : testMethods) {
+            source.append("\n    @Test\n    void ").append(testMethod).append("() {\n    }\n");
+        }
+        source.append("}\n");
+        final var path = projectFolder.resolve(testFile);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, source);
+        return testFile;
+    }
+
+    private static void writeReport(
+            final @NotNull Path projectFolder,
+            final @NotNull String className,
+            final @NotNull Map<String, Double> testMethods) throws Exception {
+        final var report = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        report.append("<testsuite name=\"")
+                .append(className)
+                .append("\" tests=\"")
+                .append(testMethods.size())
+                .append("\" time=\"")
+                .append(testMethods.values().stream().mapToDouble(Double::doubleValue).sum())
+                .append("\">\n");
+        testMethods.forEach((testMethod, time) -> report.append("  <testcase name=\"")
+                .append(testMethod)
+                .append("\" classname=\"")
+                .append(className)
+                .append("\" time=\"")
+                .append(time)
+                .append("\"/>\n"));
+        report.append("</testsuite>\n");
+        final var path = projectFolder.resolve("build").resolve("test-results").resolve("TEST-" + className + ".xml");
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, report);
+    }
+
+    /**
+     * Returns the test cases as sorted strings, since {@link TestCase#equals(Object)} only compares the names.
+     */
+    private static @NotNull List<String> toString(final @NotNull Set<TestCase> testCases) {
+        return testCases.stream()
+                .map(testCase -> String.format(Locale.ROOT,
+                        "%s %.6f %s",
+                        testCase.name(),
+                        testCase.time(),
+                        testCase.testFilters()))
+                .sorted()
+                .toList();
+    }
+
     private static void assertTestCase(final @NotNull TestCase actual, final @NotNull TestCase expected) {
         assertThat(actual.name()).isEqualTo(expected.name());
         assertThat(actual.time()).isEqualTo(expected.time(), byLessThan(0.0001d));
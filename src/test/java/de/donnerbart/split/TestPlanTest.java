@@ -0,0 +1,121 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.CostModel;
+import de.donnerbart.split.model.Splits;
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestPlanTest {
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void writeAndRead() throws Exception {
+        final var splits = new TestSplit(Set.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowTest", 12.386d),
+                new TestCase("de.donnerbart.example.SlowestTest", 153.457d),
+                new TestCase("de.donnerbart.example.NoTimingTest", 0d)), 3, FormatOption.GRADLE, false).split();
+        final var planFile = tmp.resolve("plans").resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.GRADLE, CostModel.NONE);
+
+        for (int i = 0; i < splits.size(); i++) {
+            final var expected = splits.get(i);
+            final var split = TestPlan.read(planFile, i);
+            assertThat(split.index()).isEqualTo(i);
+            assertThat(split.tests()).containsExactlyInAnyOrderElementsOf(expected.tests());
+            assertThat(split.totalRecordedTime()).isEqualTo(expected.totalRecordedTime());
+            assertThat(split.sortedTests()).isEqualTo(expected.sortedTests());
+        }
+        assertThat(TestPlan.read(planFile, 0).sortedTests()).containsExactly(
+                "--tests de.donnerbart.example.SlowestTest");
+    }
+
+    @Test
+    void writeAndRead_emptySplit() throws Exception {
+        final var splits = new Splits(2, FormatOption.LIST);
+        splits.add(new TestCase("de.donnerbart.example.FastTest", 1d));
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.LIST, CostModel.NONE);
+        assertThat(TestPlan.read(planFile, 0).sortedTests()).containsExactly("de.donnerbart.example.FastTest");
+        assertThat(TestPlan.read(planFile, 1).tests()).isEmpty();
+    }
+
+    @Test
+    void writeAndRead_withTestFilters() throws Exception {
+        final var testFilters = List.of("de.donnerbart.example.SlowTest.testOne",
+                "de.donnerbart.example.SlowTest.testTwo(int,java.lang.String)");
+        final var splits = new Splits(1, FormatOption.LIST);
+        splits.add(new TestCase("de.donnerbart.example.SlowTest#1", 10d, testFilters));
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.LIST, CostModel.NONE);
+        assertThat(TestPlan.read(planFile, 0).tests()).containsExactly(new TestCase("de.donnerbart.example.SlowTest#1",
+                10d,
+                testFilters));
+    }
+
+    @Test
+    void writeAndRead_withCostModel() throws Exception {
+        final var costModel = new CostModel(2d, 30d);
+        final var splits = new Splits(2, FormatOption.LIST, costModel, null);
+        splits.add(new TestCase("de.donnerbart.example.SlowTest", 10d));
+        splits.add(new TestCase("de.donnerbart.example.FastOneTest", 1d));
+        splits.add(new TestCase("de.donnerbart.example.FastTwoTest", 1d));
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.LIST, costModel);
+        assertThat(TestPlan.read(planFile, 0).predictedTime()).isEqualTo(42d);
+        assertThat(TestPlan.read(planFile, 1).predictedTime()).isEqualTo(36d);
+    }
+
+    @Test
+    void writeAndRead_withSplitWeights() throws Exception {
+        final var splits = new Splits(2, FormatOption.LIST, CostModel.NONE, new double[]{1d, 4d});
+        splits.add(new TestCase("de.donnerbart.example.SlowTest", 20d));
+        splits.add(new TestCase("de.donnerbart.example.FastTest", 4d));
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, splits, FormatOption.LIST, CostModel.NONE);
+        assertThat(TestPlan.read(planFile, 1).weight()).isEqualTo(4d);
+        assertThat(TestPlan.read(planFile, 1).predictedTime()).isEqualTo(5d);
+        assertThat(TestPlan.read(planFile, 0).predictedTime()).isEqualTo(4d);
+    }
+
+    @Test
+    void read_invalidSplitIndex() throws Exception {
+        final var planFile = tmp.resolve("test.plan");
+        TestPlan.write(planFile, new Splits(2, FormatOption.LIST), FormatOption.LIST, CostModel.NONE);
+        assertThatThrownBy(() -> TestPlan.read(planFile, 2)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Split index 2 is not in the test plan with 2 splits");
+    }
+
+    @Test
+    void read_invalidFile() throws Exception {
+        final var planFile = tmp.resolve("test.plan");
+        Files.writeString(planFile, "this is not a test plan");
+        assertThatThrownBy(() -> TestPlan.read(planFile, 0)).isInstanceOf(IOException.class)
+                .hasMessageContaining("unknown format");
+    }
+
+    @Test
+    void read_truncatedFile() throws Exception {
+        final var planFile = tmp.resolve("test.plan");
+        Files.writeString(planFile, """
+                split-tests-java-plan 1
+                1\tlist\t0.0\t0.0
+                split\t0\t2\t3.0\t1.0
+                1.0\tde.donnerbart.example.FastTest
+                """);
+        assertThatThrownBy(() -> TestPlan.read(planFile, 0)).isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+    }
+}
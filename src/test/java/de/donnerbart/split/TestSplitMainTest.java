@@ -98,6 +98,113 @@ class TestSplitMainTest {
                 .containsExactly("de.donnerbart.example.SlowTest", "de.donnerbart.example.FastTest");
     }
 
+    @Test
+    void run_withPlanOutput() throws Exception {
+        final var planFile = tmp.resolve("test.plan");
+        final var args = new String[]{
+                "-i",
+                "0",
+                "-t",
+                "2",
+                "-g",
+                "**/example-project/**/*Test.java",
+                "-j",
+                "**/junit-reports/*.xml",
+                "-w",
+                tmp.toString(),
+                "--plan-output",
+                planFile.toString()};
+        final var splits = TestSplitMain.run(exitCode::set, args);
+        assertThat(exitCode).hasNullValue();
+        assertThat(planFile).exists();
+
+        final var consumedSplit =
+                ConsumeMain.run(exitCode::set, new String[]{"-i", "1", "--plan", planFile.toString()});
+        assertThat(exitCode).hasNullValue();
+        assertThat(consumedSplit).isNotNull();
+        assertThat(consumedSplit.sortedTests()).isEqualTo(splits.get(1).sortedTests());
+    }
+
+    @Test
+    void run_withOutputFile() throws Exception {
+        final var outputFile = tmp.resolve("tests.args");
+        final var args = new String[]{
+                "-i",
+                "1",
+                "-t",
+                "2",
+                "-g",
+                "**/example-project/**/*Test.java",
+                "-j",
+                "**/junit-reports/*.xml",
+                "-w",
+                tmp.toString(),
+                "-o",
+                outputFile.toString(),
+                "--output-file-format",
+                "gradle"};
+        TestSplitMain.run(exitCode::set, args);
+        assertThat(exitCode).hasNullValue();
+        assertThat(Files.readAllLines(outputFile)).containsExactly("--tests de.donnerbart.example.SlowTest",
+                "--tests de.donnerbart.example.FastTest");
+    }
+
+    @Test
+    void run_withMetrics() throws Exception {
+        final var metricsFile = tmp.resolve("metrics.json");
+        final var args = new String[]{
+                "-i",
+                "0",
+                "-t",
+                "2",
+                "-g",
+                "**/example-project/**/*Test.java",
+                "-j",
+                "**/junit-reports/*.xml",
+                "-w",
+                tmp.toString(),
+                "--metrics",
+                metricsFile.toString()};
+        TestSplitMain.run(exitCode::set, args);
+        assertThat(exitCode).hasNullValue();
+        assertThat(metricsFile).exists();
+        assertThat(Files.readString(metricsFile)).contains("\"walk\"",
+                "\"source parse\"",
+                "\"report parse\"",
+                "\"new test estimation\"",
+                "\"split\"",
+                "\"output\"");
+    }
+
+    @Test
+    void run_withPoolDirectory() throws Exception {
+        final var poolDirectory = tmp.resolve("pool");
+        final var args = new String[]{
+                "-i",
+                "1",
+                "-t",
+                "2",
+                "-g",
+                "**/example-project/**/*Test.java",
+                "-j",
+                "**/junit-reports/*.xml",
+                "-w",
+                tmp.toString(),
+                "--pool-directory",
+                poolDirectory.toString(),
+                "--pool-run-id",
+                "run"};
+        final var splits = TestSplitMain.run(exitCode::set, args);
+        assertThat(exitCode).hasNullValue();
+        assertThat(splits.get(1).sortedTests()).containsExactly("de.donnerbart.example.SlowTest");
+
+        final var claimedTests =
+                ClaimMain.run(exitCode::set,
+                        new String[]{"-i", "0", "--pool-directory", poolDirectory.toString(), "--pool-run-id", "run"});
+        assertThat(exitCode).hasNullValue();
+        assertThat(claimedTests).containsExactly("de.donnerbart.example.FastTest");
+    }
+
     @Test
     void init() throws Exception {
         TestSplitMain.init(exitCode::set, new String[]{"-i", "0", "-t", "1", "-g", "**/*Test.java"});
@@ -140,6 +247,68 @@ class TestSplitMainTest {
         assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
     }
 
+    @Test
+    void validateArguments_withZeroThreads() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-p", "0", "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withSplitWeights() {
+        jCommander.parse("-i", "0", "-t", "2", "-g", "**/*Test.java", "--split-weights", "1,2.5", //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isTrue();
+    }
+
+    @Test
+    void validateArguments_withSplitWeightsMismatch() {
+        jCommander.parse("-i", "0", "-t", "3", "-g", "**/*Test.java", "--split-weights", "1,2", //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withZeroSplitWeight() {
+        jCommander.parse("-i", "0", "-t", "2", "-g", "**/*Test.java", "--split-weights", "1,0", //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withInvalidPoolShare() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "--pool-share", "0", //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withCompactPackagesAndExcludeGlob() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-e", "**/Abstract*.java", //
+                "--compact-packages", "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withCompactPackagesAndGitIndex() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "--git-index", "--compact-packages", //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withPoolDirectoryWithoutRunId() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "--pool-directory", tmp.toString(), //
+                "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
+    @Test
+    void validateArguments_withInvalidPoolRunId() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "--pool-directory", tmp.toString(), //
+                "--pool-run-id", "../run", "-w", tmp.toAbsolutePath().toString());
+        assertThat(TestSplitMain.validateArguments(arguments)).isFalse();
+    }
+
     @Test
     void validateArguments_withInvalidWorkingDirectory() {
         jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-w", tmp.resolve("does-not-exist").toString());
@@ -211,6 +380,40 @@ class TestSplitMainTest {
         assertThat(TestSplitMain.calculateOptimalTotalSplit(arguments, getTestCases())).isEqualTo(0);
     }
 
+    @Test
+    void calculateOptimalTotalSplit_withPlateauBeforeSlowestTest() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-j", "**/junit-reports/*.xml", "-m", "4");
+
+        // the slowest split doesn't improve from 3 to 4 splits, although 5 splits would reach the slowest test
+        final var testCases = Set.of( //
+                new TestCase("de.donnerbart.example.SlowestTest", 10),
+                new TestCase("de.donnerbart.example.FastOneTest", 6),
+                new TestCase("de.donnerbart.example.FastTwoTest", 6),
+                new TestCase("de.donnerbart.example.FastThreeTest", 6),
+                new TestCase("de.donnerbart.example.FastFourTest", 6));
+
+        assertThat(TestSplitMain.calculateOptimalTotalSplit(arguments, testCases)).isEqualTo(3);
+        arguments.maxOptimalTotalSplitCalculations = 3;
+        assertThat(TestSplitMain.calculateOptimalTotalSplit(arguments, testCases)).isEqualTo(0);
+    }
+
+    @Test
+    void calculateOptimalTotalSplit_withMoreCalculationsThanTests() {
+        jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-j", "**/junit-reports/*.xml", "-m", "1000");
+
+        // one split per test is the slowest test, so the calculations stop after one more split
+        final var testCases = Set.of( //
+                new TestCase("de.donnerbart.example.SlowestTest", 5),
+                new TestCase("de.donnerbart.example.SlowTest", 4),
+                new TestCase("de.donnerbart.example.FastOneTest", 3),
+                new TestCase("de.donnerbart.example.FastTwoTest", 3),
+                new TestCase("de.donnerbart.example.FastThreeTest", 3));
+
+        assertThat(TestSplitMain.calculateOptimalTotalSplit(arguments, testCases)).isEqualTo(5);
+        arguments.maxOptimalTotalSplitCalculations = 5;
+        assertThat(TestSplitMain.calculateOptimalTotalSplit(arguments, testCases)).isEqualTo(0);
+    }
+
     @Test
     void calculateOptimalTotalSplit_withTotalSplitMismatch() throws Exception {
         jCommander.parse("-i", "0", "-t", "1", "-g", "**/*Test.java", "-j", "**/junit-reports/*.xml");
@@ -258,11 +461,18 @@ class TestSplitMainTest {
     }
 
     private @NotNull Set<TestCase> getTestCases() throws Exception {
-        return new TestLoader(arguments.glob,
-                arguments.excludeGlob,
+        return new TestLoader(arguments.globs,
+                arguments.excludeGlobs,
                 arguments.junitGlob,
                 arguments.newTestTimeOption,
                 tmp,
+                arguments.threads,
+                arguments.cacheFile,
+                arguments.cacheContentHash,
+                arguments.timingIndex,
+                arguments.methodSplitThreshold,
+                arguments.pipeline,
+                arguments.gitIndex,
                 exitCode::set).load();
     }
 }
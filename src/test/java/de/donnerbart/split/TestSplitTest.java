@@ -1,19 +1,24 @@
 package de.donnerbart.split;
 
+import de.donnerbart.split.model.CostModel;
 import de.donnerbart.split.model.TestCase;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TestSplitTest {
 
+    private final @NotNull AtomicReference<Integer> exitCode = new AtomicReference<>();
     private final @NotNull Set<TestCase> testCasesWithoutTiming = new HashSet<>();
     private final @NotNull Set<TestCase> testCasesWithTiming = new HashSet<>();
 
@@ -256,6 +261,212 @@ class TestSplitTest {
                 List.of("de.donnerbart.example.SlowTest", "de.donnerbart.example.FastTest"));
     }
 
+    @Test
+    void split_withRefinement() {
+        // the greedy split puts three tests of 2s into the first split (7s), while 6s are possible
+        final var testCases = Set.of(new TestCase("de.donnerbart.example.SlowOneTest", 3d),
+                new TestCase("de.donnerbart.example.SlowTwoTest", 3d),
+                new TestCase("de.donnerbart.example.FastOneTest", 2d),
+                new TestCase("de.donnerbart.example.FastTwoTest", 2d),
+                new TestCase("de.donnerbart.example.FastThreeTest", 2d));
+        final var greedySplits = new TestSplit(testCases, 2, FormatOption.LIST, false).split();
+        assertThat(greedySplits.getSlowest().totalRecordedTime()).isEqualTo(7d);
+
+        final var splits = new TestSplit(testCases,
+                2,
+                FormatOption.LIST,
+                CostModel.NONE,
+                null,
+                1000,
+                Duration.ZERO,
+                0,
+                true,
+                exitCode::set).split();
+        assertThat(splits.getSlowest().totalRecordedTime()).isEqualTo(6d);
+        assertThat(splits.getFastest().totalRecordedTime()).isEqualTo(6d);
+        assertThat(splits.get(0).sortedTests()).containsExactlyInAnyOrder("de.donnerbart.example.FastOneTest",
+                "de.donnerbart.example.FastTwoTest",
+                "de.donnerbart.example.FastThreeTest");
+        assertThat(splits.get(1).sortedTests()).containsExactlyInAnyOrder("de.donnerbart.example.SlowOneTest",
+                "de.donnerbart.example.SlowTwoTest");
+    }
+
+    @Test
+    void split_withRefinement_isDeterministic() {
+        final var testCases = new HashSet<TestCase>();
+        for (int i = 0; i < 100; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Test" + i, (i * 7919 % 1000) / 10d));
+        }
+        final var splits = splitTests(testCases, 7, 1000, Duration.ofMinutes(1), 42);
+        assertThat(splitTests(testCases, 7, 1000, Duration.ofMinutes(1), 42)).isEqualTo(splits);
+        // the refinement is bounded by the number of steps, so a shorter refinement is deterministic as well
+        final var shortSplits = splitTests(testCases, 7, 2, Duration.ZERO, 42);
+        assertThat(splitTests(testCases, 7, 2, Duration.ZERO, 42)).isEqualTo(shortSplits);
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void split_withRefinement_exceedsTimeBudget() {
+        final var testCases = new HashSet<TestCase>();
+        for (int i = 0; i < 100; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Test" + i, (i * 7919 % 1000) / 10d));
+        }
+        assertThat(splitTests(testCases, 7, 1000, Duration.ofNanos(1), 42)).hasSize(7);
+        assertThat(exitCode).hasValue(1);
+    }
+
+    @Test
+    void split_withSplitWeights() {
+        // the second runner is three times as fast, so it gets three quarters of the test time
+        final var testCases = new HashSet<TestCase>();
+        for (int i = 0; i < 8; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Test" + i, 10d));
+        }
+        final var splits = new TestSplit(testCases,
+                2,
+                FormatOption.LIST,
+                CostModel.NONE,
+                new double[]{1d, 3d},
+                0,
+                Duration.ZERO,
+                0,
+                false,
+                exitCode::set).split();
+        assertThat(splits.get(0).tests()).hasSize(2);
+        assertThat(splits.get(0).weight()).isEqualTo(1d);
+        assertThat(splits.get(0).totalRecordedTime()).isEqualTo(20d);
+        assertThat(splits.get(0).predictedTime()).isEqualTo(20d);
+        assertThat(splits.get(1).tests()).hasSize(6);
+        assertThat(splits.get(1).weight()).isEqualTo(3d);
+        assertThat(splits.get(1).totalRecordedTime()).isEqualTo(60d);
+        assertThat(splits.get(1).predictedTime()).isEqualTo(20d);
+    }
+
+    @Test
+    void split_withSplitWeightsAndRefinement() {
+        final var testCases = new HashSet<TestCase>();
+        for (int i = 0; i < 60; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Test" + i, (i * 7919 % 1000) / 10d));
+        }
+        final var splitWeights = new double[]{1d, 2d, 0.5d, 1.5d};
+        final var greedySplits = new TestSplit(testCases,
+                4,
+                FormatOption.LIST,
+                CostModel.NONE,
+                splitWeights,
+                0,
+                Duration.ZERO,
+                0,
+                false,
+                exitCode::set).split();
+        final var splits = new TestSplit(testCases,
+                4,
+                FormatOption.LIST,
+                CostModel.NONE,
+                splitWeights,
+                1000,
+                Duration.ZERO,
+                0,
+                false,
+                exitCode::set).split();
+        assertThat(splits.getSlowest().predictedTime()) //
+                .isLessThan(greedySplits.getSlowest().predictedTime());
+        var testCount = 0;
+        for (int i = 0; i < splits.size(); i++) {
+            testCount += splits.get(i).tests().size();
+        }
+        assertThat(testCount).isEqualTo(testCases.size());
+    }
+
+    @Test
+    void calculateSlowestSplitTime() {
+        updateNoTimingTests(testCasesWithTiming, 12.386d);
+        final var sortedTimes = testCasesWithTiming.stream()
+                .sorted(Comparator.reverseOrder())
+                .mapToDouble(TestCase::time)
+                .toArray();
+        for (int splitTotal = 1; splitTotal <= 6; splitTotal++) {
+            final var expected =
+                    new TestSplit(testCasesWithTiming, splitTotal, FormatOption.LIST, false).split().getSlowest();
+            assertThat(TestSplit.calculateSlowestSplitTime(sortedTimes, splitTotal, CostModel.NONE)) //
+                    .as("split total %d", splitTotal).isEqualTo(expected.totalRecordedTime());
+        }
+    }
+
+    @Test
+    void calculateSlowestSplitTime_noTests() {
+        assertThat(TestSplit.calculateSlowestSplitTime(new double[0], 1, CostModel.NONE)).isEqualTo(0d);
+    }
+
+    @Test
+    void calculateMinSlowestSplitTime() {
+        final var costModel = new CostModel(2d, 30d);
+        final var sortedTimes = new double[]{10d, 1d, 1d, 1d};
+        assertThat(TestSplit.calculateMinSlowestSplitTime(sortedTimes, costModel)).isEqualTo(42d);
+        for (int splitTotal = 1; splitTotal <= 5; splitTotal++) {
+            assertThat(TestSplit.calculateSlowestSplitTime(sortedTimes, splitTotal, costModel)) //
+                    .isGreaterThanOrEqualTo(42d);
+        }
+        assertThat(TestSplit.calculateMinSlowestSplitTime(new double[0], costModel)).isEqualTo(30d);
+    }
+
+    @Test
+    void split_withCostModel() {
+        // without overhead the fast tests fill up the second split, with overhead they are spread over both splits
+        final var testCases = new HashSet<TestCase>();
+        testCases.add(new TestCase("de.donnerbart.example.SlowTest", 10d));
+        for (int i = 0; i < 10; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Fast" + i + "Test", 1d));
+        }
+        final var splits = new TestSplit(testCases, 2, FormatOption.LIST, false).split();
+        assertThat(splits.get(0).tests()).hasSize(1);
+        assertThat(splits.get(1).tests()).hasSize(10);
+
+        final var costModel = new CostModel(2d, 30d);
+        final var splitsWithOverhead = new TestSplit(testCases,
+                2,
+                FormatOption.LIST,
+                costModel,
+                null,
+                0,
+                Duration.ZERO,
+                0,
+                false,
+                exitCode::set).split();
+        assertThat(splitsWithOverhead.get(0).tests()).hasSize(4);
+        assertThat(splitsWithOverhead.get(1).tests()).hasSize(7);
+        assertThat(splitsWithOverhead.get(0).predictedTime()).isEqualTo(30d + 13d + 4 * 2d);
+        assertThat(splitsWithOverhead.get(1).predictedTime()).isEqualTo(30d + 7d + 7 * 2d);
+        // equally fast splits are ordered by their test count
+        assertThat(splitsWithOverhead.getSlowest().totalRecordedTime()).isEqualTo(7d);
+    }
+
+    @Test
+    void calculateSlowestSplitTime_withCostModel() {
+        final var costModel = new CostModel(2d, 30d);
+        final var testCases = new HashSet<TestCase>();
+        testCases.add(new TestCase("de.donnerbart.example.SlowTest", 10d));
+        for (int i = 0; i < 10; i++) {
+            testCases.add(new TestCase("de.donnerbart.example.Fast" + i + "Test", 1d));
+        }
+        final var sortedTimes =
+                testCases.stream().sorted(Comparator.reverseOrder()).mapToDouble(TestCase::time).toArray();
+        for (int splitTotal = 1; splitTotal <= 4; splitTotal++) {
+            final var expected = new TestSplit(testCases,
+                    splitTotal,
+                    FormatOption.LIST,
+                    costModel,
+                    null,
+                    0,
+                    Duration.ZERO,
+                    0,
+                    false,
+                    exitCode::set).split().getSlowest();
+            assertThat(TestSplit.calculateSlowestSplitTime(sortedTimes, splitTotal, costModel)) //
+                    .as("split total %d", splitTotal).isEqualTo(expected.predictedTime());
+        }
+    }
+
     private static @NotNull List<List<String>> splitTests(
             final @NotNull Set<TestCase> testCases,
             final int splitTotal,
@@ -269,6 +480,30 @@ class TestSplitTest {
         return result;
     }
 
+    private @NotNull List<List<String>> splitTests(
+            final @NotNull Set<TestCase> testCases,
+            final int splitTotal,
+            final int refineSteps,
+            final @NotNull Duration refineTimeBudget,
+            final long refineSeed) {
+        final var testSplit = new TestSplit(testCases,
+                splitTotal,
+                FormatOption.LIST,
+                CostModel.NONE,
+                null,
+                refineSteps,
+                refineTimeBudget,
+                refineSeed,
+                false,
+                exitCode::set);
+        final var splits = testSplit.split();
+        final var result = new ArrayList<List<String>>(splitTotal);
+        for (int index = 0; index < splitTotal; index++) {
+            result.add(splits.get(index).sortedTests());
+        }
+        return result;
+    }
+
     private static void updateNoTimingTests(final @NotNull Set<TestCase> testCases, final double time) {
         testCases.remove(new TestCase("de.donnerbart.example.NoTimingOneTest", 0d));
         testCases.add(new TestCase("de.donnerbart.example.NoTimingOneTest", time));
@@ -2,9 +2,11 @@ package de.donnerbart.split;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.tools.ToolProvider;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,4 +40,21 @@ class TestUtil {
             throw new AssertionError("Could not copy resource file to target", e);
         }
     }
+
+    /**
+     * Compiles the source files with the test classpath into the output directory.
+     */
+    static void compile(final @NotNull Path outputDir, final @NotNull Path... sourceFiles) {
+        final var compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler).describedAs("System Java compiler").isNotNull();
+        final var args = new ArrayList<String>();
+        args.add("-classpath");
+        args.add(System.getProperty("java.class.path"));
+        args.add("-d");
+        args.add(outputDir.toString());
+        for (final var sourceFile : sourceFiles) {
+            args.add(sourceFile.toString());
+        }
+        assertThat(compiler.run(null, null, null, args.toArray(String[]::new))).isZero();
+    }
 }
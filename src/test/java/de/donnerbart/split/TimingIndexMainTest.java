@@ -0,0 +1,62 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.donnerbart.split.TestUtil.copyResourceToTarget;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingIndexMainTest {
+
+    private static final @NotNull Set<PosixFilePermission> PERMISSIONS = Set.of(OWNER_READ, OWNER_WRITE);
+
+    private final @NotNull AtomicReference<Integer> exitCode = new AtomicReference<>();
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final var reportFolder = tmp.resolve("junit-reports");
+        copyResourceToTarget(reportFolder,
+                "reports/TEST-de.donnerbart.example.FastTest.xml",
+                "TEST-de.donnerbart.example.FastTest.xml",
+                PERMISSIONS);
+        copyResourceToTarget(reportFolder,
+                "reports/TEST-de.donnerbart.example.SlowestTest.xml",
+                "TEST-de.donnerbart.example.SlowestTest.xml",
+                PERMISSIONS);
+    }
+
+    @Test
+    void run() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        final var testCount = TimingIndexMain.run(exitCode::set,
+                new String[]{"-j", "**/junit-reports/*.xml", "-o", indexFile.toString(), "-w", tmp.toString()});
+        assertThat(testCount).isEqualTo(2);
+        assertThat(TimingIndex.read(indexFile)).containsExactlyInAnyOrder( //
+                new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowestTest", 153.457d));
+        assertThat(exitCode).hasNullValue();
+    }
+
+    @Test
+    void run_withZeroThreads() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        TimingIndexMain.run(exitCode::set,
+                new String[]{
+                        "-j", "**/junit-reports/*.xml", "-o", indexFile.toString(), "-w", tmp.toString(), "-p", "0"});
+        assertThat(indexFile).doesNotExist();
+        assertThat(exitCode).hasValue(1);
+    }
+}
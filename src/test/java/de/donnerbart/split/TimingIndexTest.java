@@ -0,0 +1,87 @@
+package de.donnerbart.split;
+
+import de.donnerbart.split.model.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingIndexTest {
+
+    @TempDir
+    private @NotNull Path tmp;
+
+    @Test
+    void writeAndRead() throws Exception {
+        final var indexFile = tmp.resolve("index").resolve("timing.index");
+        final var testCases = List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                new TestCase("de.donnerbart.example.SlowestTest", 153.457d),
+                new TestCase("de.donnerbart.example.ÜmlautTest", 0d));
+        TimingIndex.write(indexFile, testCases);
+        final var readTestCases = TimingIndex.read(indexFile);
+        assertThat(readTestCases).containsExactlyElementsOf(testCases);
+        assertThat(readTestCases).extracting(TestCase::time).containsExactly(2.374d, 153.457d, 0d);
+    }
+
+    @Test
+    void writeAndRead_empty() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        TimingIndex.write(indexFile, List.of());
+        assertThat(TimingIndex.read(indexFile)).isEmpty();
+    }
+
+    @Test
+    void write_overwrite() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        TimingIndex.write(indexFile, List.of(new TestCase("de.donnerbart.example.FastTest", 1d)));
+        TimingIndex.write(indexFile, List.of(new TestCase("de.donnerbart.example.SlowTest", 2d)));
+        assertThat(TimingIndex.read(indexFile)).containsExactly(new TestCase("de.donnerbart.example.SlowTest", 2d));
+        try (final var files = Files.list(tmp)) {
+            assertThat(files).containsExactly(indexFile);
+        }
+    }
+
+    @Test
+    void read_invalidFile() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        Files.writeString(indexFile, "this is not a timing index");
+        assertThatThrownBy(() -> TimingIndex.read(indexFile)).isInstanceOf(IOException.class)
+                .hasMessageContaining("unknown format");
+    }
+
+    @Test
+    void read_truncatedFile() throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        TimingIndex.write(indexFile, List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d)));
+        final var bytes = Files.readAllBytes(indexFile);
+        Files.write(indexFile, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> TimingIndex.read(indexFile)).isInstanceOf(IOException.class)
+                .hasMessageContaining("corrupted");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 1", "1, -1", "1, 100", "2, 10"})
+    void read_corruptedOffsets(final int offsetIndex, final int offset) throws Exception {
+        final var indexFile = tmp.resolve("timing.index");
+        TimingIndex.write(indexFile,
+                List.of(new TestCase("de.donnerbart.example.FastTest", 2.374d),
+                        new TestCase("de.donnerbart.example.SlowTest", 12.386d)));
+        final var bytes = Files.readAllBytes(indexFile);
+        // the offsets are after the header and the two test times
+        ByteBuffer.wrap(bytes).putInt(4 * Integer.BYTES + 2 * Double.BYTES + offsetIndex * Integer.BYTES, offset);
+        Files.write(indexFile, bytes);
+        assertThatThrownBy(() -> TimingIndex.read(indexFile)).isInstanceOf(IOException.class)
+                .hasMessageContaining("corrupted");
+    }
+}
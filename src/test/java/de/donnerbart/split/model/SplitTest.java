@@ -1,12 +1,43 @@
 package de.donnerbart.split.model;
 
+import de.donnerbart.split.FormatOption;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 class SplitTest {
 
     @Test
     void test_equalsAndHashCode() {
         EqualsVerifier.forClass(Split.class).withOnlyTheseFields("index").verify();
     }
+
+    @Test
+    void addAndRemove() {
+        final var split = new Split(FormatOption.LIST, 0);
+        split.add(new TestCase("com.example.FastTest", 1d));
+        split.add(new TestCase("com.example.SlowTest", 10d));
+        split.add(new TestCase("com.example.FooTest#1",
+                5d,
+                List.of("com.example.FooTest.testOne", "com.example.FooTest.testTwo")));
+        split.add(new TestCase("com.example.FastTest", 1d));
+        assertThat(split.testCount()).isEqualTo(3);
+        assertThat(split.totalRecordedTime()).isEqualTo(16d);
+        assertThat(split.sortedTests()).containsExactly("com.example.SlowTest",
+                "com.example.FooTest.testOne",
+                "com.example.FooTest.testTwo",
+                "com.example.FastTest");
+
+        split.remove(new TestCase("com.example.SlowTest", 10d));
+        split.remove(new TestCase("com.example.DeletedTest", 1d));
+        assertThat(split.testCount()).isEqualTo(2);
+        assertThat(split.totalRecordedTime()).isEqualTo(6d);
+        assertThat(split.tests()).containsExactlyInAnyOrder(new TestCase("com.example.FastTest", 1d),
+                new TestCase("com.example.FooTest#1", 5d));
+        assertThat(split.sortedTestCases()).containsExactly(new TestCase("com.example.FooTest#1", 5d),
+                new TestCase("com.example.FastTest", 1d));
+    }
 }
@@ -0,0 +1,83 @@
+package de.donnerbart.split.model;
+
+import de.donnerbart.split.FormatOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SplitsTest {
+
+    @Test
+    void add() {
+        final var splits = new Splits(2, FormatOption.LIST);
+        final var slowSplit = splits.add(new TestCase("com.example.SlowTest", 10d));
+        final var fastSplit = splits.add(new TestCase("com.example.FastTest", 1d));
+        assertThat(slowSplit.index()).isEqualTo(0);
+        assertThat(fastSplit.index()).isEqualTo(1);
+        // a test with the same name stays in its split
+        assertThat(splits.add(new TestCase("com.example.SlowTest", 10d))).isSameAs(slowSplit);
+        assertThat(slowSplit.testCount()).isEqualTo(1);
+        assertThat(splits.add(new TestCase("com.example.OtherTest", 2d))).isSameAs(fastSplit);
+        assertThat(fastSplit.totalRecordedTime()).isEqualTo(3d);
+    }
+
+    @Test
+    void remove() {
+        final var splits = new Splits(2, FormatOption.LIST);
+        splits.add(new TestCase("com.example.SlowTest", 10d));
+        splits.add(new TestCase("com.example.FastTest", 1d));
+        splits.add(new TestCase("com.example.OtherTest", 2d));
+        splits.remove(new TestCase("com.example.SlowTest", 10d));
+        splits.remove(new TestCase("com.example.DeletedTest", 1d));
+        assertThat(splits.get(0).testCount()).isZero();
+        assertThat(splits.get(0).totalRecordedTime()).isZero();
+        assertThat(splits.get(1).sortedTests()).containsExactly("com.example.OtherTest", "com.example.FastTest");
+        // the empty split is the fastest one again
+        assertThat(splits.add(new TestCase("com.example.NewTest", 1d)).index()).isEqualTo(0);
+    }
+
+    @Test
+    void move() {
+        final var splits = new Splits(2, FormatOption.LIST);
+        final var slowSplit = splits.add(new TestCase("com.example.SlowTest", 10d));
+        final var fastSplit = splits.add(new TestCase("com.example.FastTest", 1d));
+        final var id = splits.table().indexOf("com.example.SlowTest");
+        splits.move(id, slowSplit, fastSplit);
+        assertThat(slowSplit.testCount()).isZero();
+        assertThat(fastSplit.sortedTests()).containsExactly("com.example.SlowTest", "com.example.FastTest");
+        assertThat(splits.add(new TestCase("com.example.NewTest", 1d))).isSameAs(slowSplit);
+    }
+
+    @Test
+    void recomputeTotalRecordedTimes() {
+        final var table = TestTable.of(List.of(new TestCase("com.example.Test1", 0.1d),
+                new TestCase("com.example.Test2", 0.2d),
+                new TestCase("com.example.Test3", 0.3d)));
+        final var splits = new Splits(table, 2, FormatOption.LIST, CostModel.NONE, null);
+        for (int id = 0; id < table.size(); id++) {
+            splits.add(id);
+        }
+        final var split = splits.get(0);
+        final var otherSplit = splits.get(1);
+        for (int i = 0; i < 1000; i++) {
+            splits.move(1, otherSplit, split);
+            splits.move(1, split, otherSplit);
+        }
+        splits.recomputeTotalRecordedTimes();
+        assertThat(split.totalRecordedTime()).isEqualTo(0.3d);
+        assertThat(otherSplit.totalRecordedTime()).isEqualTo(0.2d + 0.1d);
+    }
+
+    @Test
+    void split_inSplits() {
+        final var splits = new Splits(1, FormatOption.LIST);
+        final var split = splits.get(0);
+        assertThatThrownBy(() -> split.add(new TestCase("com.example.FastTest", 1d))).isInstanceOf(
+                IllegalStateException.class);
+        assertThatThrownBy(() -> split.remove(new TestCase("com.example.FastTest", 1d))).isInstanceOf(
+                IllegalStateException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package de.donnerbart.split.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestTableTest {
+
+    @Test
+    void of() {
+        final var table = TestTable.of(Set.of(new TestCase("com.example.FastTest", 1d),
+                new TestCase("com.example.SlowTest", 10d),
+                new TestCase("com.example.AnotherFastTest", 1d),
+                new TestCase("com.example.FooTest#1", 5d, List.of("com.example.FooTest.testOne"))));
+        assertThat(table.size()).isEqualTo(4);
+        assertThat(table.name(0)).isEqualTo("com.example.SlowTest");
+        assertThat(table.name(1)).isEqualTo("com.example.FooTest#1");
+        assertThat(table.name(2)).isEqualTo("com.example.AnotherFastTest");
+        assertThat(table.name(3)).isEqualTo("com.example.FastTest");
+        assertThat(table.time(0)).isEqualTo(10d);
+        assertThat(table.tests(0)).containsExactly("com.example.SlowTest");
+        assertThat(table.tests(1)).containsExactly("com.example.FooTest.testOne");
+        assertThat(table.testCase(1)).isEqualTo(new TestCase("com.example.FooTest#1",
+                5d,
+                List.of("com.example.FooTest.testOne")));
+    }
+
+    @Test
+    void add_internsNames() {
+        final var table = new TestTable(1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(table.add(new TestCase("com.example.Test" + i, i))).isEqualTo(i);
+        }
+        assertThat(table.add(new TestCase("com.example.Test42", 1d))).isEqualTo(42);
+        assertThat(table.size()).isEqualTo(100);
+        assertThat(table.time(42)).isEqualTo(42d);
+        assertThat(table.indexOf("com.example.Test99")).isEqualTo(99);
+        assertThat(table.indexOf("com.example.Test100")).isEqualTo(-1);
+    }
+
+    @Test
+    void sort() {
+        final var table = new TestTable();
+        table.add(new TestCase("com.example.FastTest", 1d));
+        table.add(new TestCase("com.example.SlowTest", 10d));
+        table.add(new TestCase("com.example.AnotherFastTest", 1d));
+        final var ids = new int[]{0, 1, 2};
+        table.sort(ids, ids.length);
+        assertThat(ids).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void sort_withManyTests() {
+        final var table = new TestTable();
+        final var random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            table.add(new TestCase("com.example.Test" + i, random.nextInt(10)));
+        }
+        final var ids = IntStream.range(0, table.size()).map(id -> table.size() - 1 - id).toArray();
+        table.sort(ids, ids.length);
+        final var expectedIds = IntStream.range(0, table.size())
+                .boxed()
+                .sorted((id, otherId) -> table.compare(otherId, id))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertThat(ids).containsExactly(expectedIds);
+    }
+
+    @Test
+    void sort_withSortedTable() {
+        final var table = new TestTable();
+        table.add(new TestCase("com.example.SlowTest", 10d));
+        table.add(new TestCase("com.example.AnotherFastTest", 1d));
+        table.add(new TestCase("com.example.FastTest", 1d));
+        final var ids = new int[]{2, 0, 1};
+        table.sort(ids, ids.length);
+        assertThat(ids).containsExactly(0, 1, 2);
+    }
+}